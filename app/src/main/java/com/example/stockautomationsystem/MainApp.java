@@ -1,5 +1,6 @@
 package com.example.stockautomationsystem;
 
+import com.example.stockautomationsystem.controller.MainViewLoader;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -16,6 +17,11 @@ public class MainApp extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        MainViewLoader.discard();
+    }
+
     public static void main(String[] args) {
         launch();
     }
@@ -0,0 +1,126 @@
+package com.example.stockautomationsystem.controller;
+
+import com.example.stockautomationsystem.exception.*;
+import com.example.stockautomationsystem.model.User;
+import com.example.stockautomationsystem.service.AuthService;
+import com.example.stockautomationsystem.service.JsonService;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Cursor;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.stage.Stage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+public class LoginController {
+    @FXML private TextField usernameField;
+    @FXML private PasswordField passwordField;
+    @FXML private Button loginButton;
+    @FXML private Button registerButton;
+
+    // Kullanıcılar users.json'da saklanır; servis tek örnektir, dosya bir kez okunur
+    private static final AuthService authService = new AuthService(new JsonService());
+
+    // Giriş ekranı çizildikten sonra ana görünüm ve envanter arka planda hazırlanmaya başlar
+    @FXML
+    private void initialize() {
+        StartupTrace.onFirstFrame(usernameField, () -> {
+            StartupTrace.loginFrame();
+            MainViewLoader.preload();
+        });
+    }
+
+    @FXML
+    private void handleRegister() {
+        // Parola özeti bilerek yavaştır; FX thread'i beklemesin diye arka planda hesaplanır
+        runAuth(authService.registerAsync(usernameField.getText(), passwordField.getText()), user -> {
+            showAlert(Alert.AlertType.INFORMATION, "Success", "Registration successful!");
+            clearFields();
+        }, e -> {
+            if (e instanceof UserAlreadyExistsException || e instanceof InvalidProductException) {
+                // Birden fazla hatayı aynı blokta yakalama (Multi-catch)
+                showAlert(Alert.AlertType.ERROR, "Registration Error", e.getMessage());
+            } else {
+                showAlert(Alert.AlertType.ERROR, "System Error", "Registration failed: " + e.getMessage());
+            }
+        });
+    }
+
+    @FXML
+    private void handleLogin() {
+        runAuth(authService.authenticateAsync(usernameField.getText(), passwordField.getText()),
+                this::switchToMainApp, e -> {
+            if (e instanceof AuthenticationException) {
+                // Kendi hata sınıfımızdan gelen mesajı gösteriyoruz
+                showAlert(Alert.AlertType.ERROR, "Authentication Failed", e.getMessage());
+            } else {
+                showAlert(Alert.AlertType.ERROR, "System Error", "Login failed: " + e.getMessage());
+            }
+        });
+    }
+
+    // İşlem sürerken butonlar kapalı kalır; sonuç FX thread'inde işlenir
+    private void runAuth(CompletableFuture<User> pending, Consumer<User> onSuccess, Consumer<Throwable> onFailure) {
+        setBusy(true);
+        pending.whenComplete((user, ex) -> Platform.runLater(() -> {
+            setBusy(false);
+            if (ex == null) {
+                onSuccess.accept(user);
+            } else {
+                onFailure.accept(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            }
+        }));
+    }
+
+    private void setBusy(boolean busy) {
+        loginButton.setDisable(busy);
+        registerButton.setDisable(busy);
+        usernameField.getScene().setCursor(busy ? Cursor.WAIT : Cursor.DEFAULT);
+    }
+
+    // Ana görünüm giriş ekranı açıkken hazırlanmıştır; hâlâ yükleniyorsa FX thread'i bloklanmadan beklenir.
+    // Arka planda yüklenemediyse burada yeniden denenir.
+    private void switchToMainApp(User user) {
+        long start = System.nanoTime();
+        setBusy(true);
+        MainViewLoader.take().whenComplete((loader, ex) -> Platform.runLater(() -> {
+            setBusy(false);
+            try {
+                showMainApp(user, ex == null ? loader : MainViewLoader.loadNow(), start);
+            } catch (RuntimeException e) {
+                // Dosya yükleme hatası
+                showAlert(Alert.AlertType.ERROR, "System Error", "Main screen could not be loaded!");
+            }
+        }));
+    }
+
+    private void showMainApp(User user, FXMLLoader fxmlLoader, long loginNanos) {
+        Stage stage = (Stage) usernameField.getScene().getWindow();
+        Scene scene = new Scene(fxmlLoader.getRoot(), 1100, 700);
+
+        MainController mainController = fxmlLoader.getController();
+
+        mainController.setUserInfo(user.getUsername(), user.isAdmin());
+        stage.setOnCloseRequest(e -> mainController.shutdown());
+
+        stage.setScene(scene);
+        stage.setTitle("Stock Automation System - Logged in as: " + user.getUsername());
+        stage.centerOnScreen();
+        StartupTrace.mainFrame(scene, mainController.whenLoaded(), loginNanos);
+    }
+
+    private void clearFields() {
+        usernameField.clear();
+        passwordField.clear();
+    }
+
+    private void showAlert(Alert.AlertType type, String title, String content) {
+        Alert alert = new Alert(type, content);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.showAndWait();
+    }
+}
\ No newline at end of file
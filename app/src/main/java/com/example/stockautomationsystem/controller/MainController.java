@@ -0,0 +1,818 @@
+package com.example.stockautomationsystem.controller;
+
+import com.example.stockautomationsystem.exception.*;
+import com.example.stockautomationsystem.MainApp;
+import com.example.stockautomationsystem.api.ApiServer;
+import com.example.stockautomationsystem.metrics.LatencyHistogram;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.service.CatalogService;
+import com.example.stockautomationsystem.service.CategoryIndex;
+import com.example.stockautomationsystem.service.InventoryRepository;
+import com.example.stockautomationsystem.service.InventoryService;
+import com.example.stockautomationsystem.service.JsonService;
+import com.example.stockautomationsystem.service.LocationStore;
+import com.example.stockautomationsystem.service.LogQuery;
+import com.example.stockautomationsystem.service.LogStore;
+import com.example.stockautomationsystem.service.OrderService;
+import com.example.stockautomationsystem.service.SalesAnalytics;
+import com.example.stockautomationsystem.service.SearchIndex;
+import com.example.stockautomationsystem.service.ThresholdWatcher;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableListBase;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.fxml.FXML;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.Scene;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.util.Callback;
+import javafx.util.Duration;
+import javafx.fxml.FXMLLoader;
+import java.io.File;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+public class MainController {
+    // UI Bileşenleri
+    @FXML private TableView<Product> productTable;
+    @FXML private TableColumn<Product, String> colName, colCategory;
+    @FXML private TableColumn<Product, Integer> colStock;
+    @FXML private TableColumn<Product, Double> colPrice, colVelocity, colCover;
+    @FXML private TableColumn<Product, Integer> colReorder;
+    @FXML private TextField nameField, priceField, stockField, searchField; // searchField eklendi
+    @FXML private ComboBox<String> categoryCombo, locationCombo;
+    @FXML private VBox sidebar;
+    @FXML private Button editButton, deleteButton, logButton, addButton, buyButton, replayButton, importButton, exportButton;
+    @FXML private Label loadStatus, alertLabel;
+    @FXML private MenuButton userMenu;
+
+    // Veri Yönetimi
+    private static final int LOG_PAGE_SIZE = 500;
+    private static final int LOG_WINDOW_PAGES = 4;
+    private static final String ALL_LOCATIONS = "All locations";
+
+    // Arayüz işlemlerinin FX thread'ini meşgul ettiği süre (diyaloglar hariç); diske yazma persistence.* altında
+    private static final LatencyHistogram ADD_TIME = MetricsRegistry.global().timer("ui.add");
+    private static final LatencyHistogram UPDATE_TIME = MetricsRegistry.global().timer("ui.update");
+    private static final LatencyHistogram DELETE_TIME = MetricsRegistry.global().timer("ui.delete");
+    private static final LatencyHistogram BUY_TIME = MetricsRegistry.global().timer("ui.buy");
+    private static final LatencyHistogram REPLAY_TIME = MetricsRegistry.global().timer("ui.replayTill");
+    private static final LatencyHistogram IMPORT_TIME = MetricsRegistry.global().timer("ui.importCatalog");
+    private static final LatencyHistogram EXPORT_TIME = MetricsRegistry.global().timer("ui.exportCatalog");
+    private static final LatencyHistogram FILTER_TIME = MetricsRegistry.global().timer("ui.filter");
+
+    // İş mantığı ve kalıcılık core modülündeki servistedir; controller yalnızca görünümü yönetir
+    private final JsonService jsonService = new JsonService();
+    private InventoryService inventory;
+    private InventoryRepository repository;
+    private SalesAnalytics analytics;
+    private ThresholdWatcher thresholdWatcher;
+    private ApiServer apiServer;
+    private ObservableList<Product> productList;
+    private final Map<Product, ProductRow> rows = new HashMap<>(); // yalnızca FX thread'inde
+    private final ObservableList<String> categories = FXCollections.observableArrayList();
+    private FilteredList<Product> filteredData;
+    private String currentUsername;
+    private boolean inStockOnly;
+    private LocationStore locations;
+    private ToIntFunction<Product> stockView = Product::getStockQuantity; // tablodaki Stock sütununun kaynağı
+    private SearchIndex searchIndex;
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(150));
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>(); // yükleme bitince (başarısız da olsa)
+
+    // Giriş ekranı açıkken MainViewLoader'ın arka plan thread'inde çalışabilir; pencere açan her şey runOnFx ile
+    @FXML
+    public void initialize() {
+        ThresholdWatcher.Rules rules;
+        try {
+            rules = jsonService.loadAlertRules();
+        } catch (DataPersistenceException e) {
+            runOnFx(() -> showError("Alert Rules", e.getMessage()));
+            rules = new ThresholdWatcher.Rules();
+        }
+        inventory = new InventoryService(jsonService, rules);
+        repository = inventory.getRepository();
+        analytics = inventory.getAnalytics();
+        thresholdWatcher = inventory.getThresholdWatcher();
+        searchIndex = inventory.getSearchIndex();
+        locations = inventory.getLocationStore();
+
+        // Tablo Sütun Eşleştirmeleri: her hücre satırın property'sine bağlanır, değer değişince yalnızca o hücre
+        // yeniden çizilir (yansıma ile getter çözümlemesi ve tablonun tamamını yenileme gerekmez)
+        colName.setCellValueFactory(c -> row(c.getValue()).nameProperty());
+        colCategory.setCellValueFactory(c -> row(c.getValue()).categoryProperty());
+        colStock.setCellValueFactory(c -> row(c.getValue()).stockProperty());
+        colPrice.setCellValueFactory(c -> row(c.getValue()).priceProperty());
+        colVelocity.setCellValueFactory(c -> row(c.getValue()).velocityProperty());
+        colVelocity.setCellFactory(formatted(v -> String.format("%.1f", v)));
+        colCover.setCellValueFactory(c -> row(c.getValue()).coverProperty());
+        colCover.setCellFactory(formatted(v -> v.isInfinite() ? "-" : String.format("%.0f", v)));
+        colReorder.setCellValueFactory(c -> row(c.getValue()).reorderProperty());
+
+        productTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+
+        // Tablonun listesi repository'nin bir görünümüdür; değişiklikler dinleyici ile yansıtılır
+        productList = FXCollections.observableArrayList();
+        repository.addListener(new ProductListSync());
+
+        // --- DINAMIK ARAMA (SEARCH) MANTIĞI ---
+        filteredData = new FilteredList<>(productList, p -> true);
+
+        // Stok eşiğinin altına düşen ürünler başlıktaki uyarı etiketinde gösterilir; uyarı kalktığında da sayı güncellenir
+        thresholdWatcher.addListener(alert -> Platform.runLater(this::refreshAlerts));
+        alertLabel.setOnMouseClicked(e -> showAlerts());
+
+        // Her tuşta değil, yazma durduktan kısa süre sonra indeks üzerinden filtrelenir
+        searchDebounce.setOnFinished(e -> applyFilter());
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> searchDebounce.playFromStart());
+
+        SortedList<Product> sortedData = new SortedList<>(filteredData);
+        sortedData.comparatorProperty().bind(productTable.comparatorProperty());
+        productTable.setItems(sortedData);
+        // --------------------------------------
+
+        // Kategori listesi indeksle birlikte güncellenir; her değişiklikte ürünler yeniden taranmaz
+        categoryCombo.setItems(categories);
+        CategoryIndex categoryIndex = inventory.getCategoryIndex();
+        categoryIndex.addListener(new CategoryListSync());
+        categories.setAll(categoryIndex.getCategories());
+        productTable.setPlaceholder(new Label("Loading products..."));
+
+        // Stock sütunu seçili konumu ya da tüm konumların toplamını gösterir; varsayılan ana konumdur
+        locationCombo.getItems().setAll(ALL_LOCATIONS, LocationStore.MAIN);
+        locationCombo.setValue(LocationStore.MAIN);
+        locationCombo.valueProperty().addListener((obs, oldValue, newValue) -> showLocation(newValue));
+
+        // Verileri Yükle: dosyalar arka planda parça parça okunur, tablo ilk parçayla dolmaya başlar.
+        // Yükleme bitene kadar veriyi değiştiren butonlar kapalıdır.
+        setLoading(true);
+        Thread loader = new Thread(this::loadData, "inventory-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void loadData() {
+        JsonService.ProgressListener progress = (read, total) -> runOnFx(() ->
+                loadStatus.setText(String.format("Loading... %d%%", total == 0 ? 100 : read * 100 / total)));
+        try {
+            inventory.open(progress, e -> Platform.runLater(() -> showError("Data Error", e.getMessage())));
+            Platform.runLater(this::finishLoading);
+        } catch (DataPersistenceException e) {
+            // Okunamayan dosyanın üzerine boş envanter yazılmasın diye uygulama salt okunur kalır
+            Platform.runLater(() -> {
+                loadStatus.setText("Load failed - read only");
+                productTable.setPlaceholder(new Label("Inventory could not be loaded."));
+                loaded.complete(null);
+                StartupTrace.mainViewReady();
+                showError("Data Error", e.getMessage());
+            });
+        }
+    }
+
+    private void finishLoading() {
+        // Yükleme sürerken çıkış yapıldıysa servis kaynakları zaten bırakmıştır
+        if (!inventory.isOpen()) {
+            loaded.complete(null);
+            return;
+        }
+        // Metrikler JMX'e ve veri klasöründeki metrics.jsonl dosyasına aktarılmaya başlar
+        MetricsRegistry.global().gauge("ui.rows", () -> filteredData.size());
+        MetricsRegistry.global().startReporting(jsonService.getDataDir());
+        productTable.setPlaceholder(new Label("No products matching your search."));
+        loadStatus.setText(repository.size() + " products");
+        locationCombo.getItems().setAll(ALL_LOCATIONS);
+        locationCombo.getItems().addAll(locations.getLocations());
+        locationCombo.setValue(LocationStore.MAIN);
+        setLoading(false);
+        loaded.complete(null);
+        StartupTrace.mainViewReady();
+
+        // Satış geçmişi loglardan arka planda okunur; bitince hız, yetme süresi ve sipariş noktası güncellenir
+        inventory.loadSalesHistory().whenComplete((v, ex) -> Platform.runLater(() -> {
+            if (ex == null) rows.forEach((p, row) -> row.sync(p, analytics, stockView));
+            else if (!inventory.isClosed()) {
+                showError("Sales History", (ex.getCause() != null ? ex.getCause() : ex).getMessage());
+            }
+        }));
+
+        // -Dstock.api.port verilirse kasa terminalleri ve el okuyucuları için HTTP arayüzü de açılır
+        if (System.getProperty("stock.api.port") != null) {
+            try {
+                apiServer = new ApiServer(inventory, ApiServer.addressFromSystemProperties());
+                apiServer.start();
+            } catch (IllegalStateException e) {
+                showError("HTTP API", e.getMessage());
+            }
+        }
+    }
+
+    private void setLoading(boolean loading) {
+        for (Button b : List.of(addButton, buyButton, editButton, deleteButton, replayButton, logButton, importButton,
+                exportButton)) {
+            b.setDisable(loading);
+        }
+    }
+
+    public void setUserInfo(String username, boolean isAdmin) {
+        this.currentUsername = username;
+        userMenu.setText("👤 " + username);
+
+        if (!isAdmin) {
+            // Admin olmayan kullanıcılar için kısıtlamalar
+            sidebar.setVisible(false); sidebar.setManaged(false);
+            editButton.setVisible(false); editButton.setManaged(false);
+            deleteButton.setVisible(false); deleteButton.setManaged(false);
+            if(logButton != null) { logButton.setVisible(false); logButton.setManaged(false); }
+
+            // Kullanıcı sadece stokta olanları görsün (Search ile birleşik çalışır)
+            inStockOnly = true;
+            applyFilter();
+        }
+    }
+
+    @FXML
+    private void handleAdd() {
+        try {
+            InventoryService.validate(nameField.getText(), priceField.getText(), stockField.getText());
+
+            Product p = new Product(
+                    nameField.getText(),
+                    categoryCombo.getValue(),
+                    Double.parseDouble(priceField.getText()),
+                    Integer.parseInt(stockField.getText())
+            );
+
+            long start = System.nanoTime();
+            try {
+                reportFailure(inventory.addProduct(currentUsername, p));
+            } finally {
+                ADD_TIME.recordSince(start);
+            }
+            clearFields();
+            showInfo("Success", "Product added successfully.");
+
+        } catch (InvalidProductException e) {
+            showError("Validation Error", e.getMessage());
+        } catch (NumberFormatException e) {
+            showError("Format Error", "Please enter valid numeric values for Price and Stock.");
+        }
+    }
+
+    @FXML
+    private void handleUpdate() {
+        Product selected = productTable.getSelectionModel().getSelectedItem();
+        if (selected == null) {
+            showError("Warning", "Please select a product to edit!");
+            return;
+        }
+
+        // Profesyonel Dialog Tasarımı
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Edit Product: " + selected.getName());
+        dialog.getDialogPane().getStylesheets().add(MainApp.class.getResource("style.css").toExternalForm());
+
+        TextField nameIn = new TextField(selected.getName());
+        ComboBox<String> catIn = new ComboBox<>(categoryCombo.getItems());
+        catIn.setEditable(true); catIn.setValue(selected.getCategory());
+        TextField priceIn = new TextField(String.valueOf(selected.getPrice()));
+        TextField stockIn = new TextField(String.valueOf(selected.getStockQuantity()));
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10); grid.setVgap(10); grid.setPadding(new Insets(20));
+        grid.add(new Label("Name:"), 0, 0); grid.add(nameIn, 1, 0);
+        grid.add(new Label("Category:"), 0, 1); grid.add(catIn, 1, 1);
+        grid.add(new Label("Price:"), 0, 2); grid.add(priceIn, 1, 2);
+        grid.add(new Label("Stock:"), 0, 3); grid.add(stockIn, 1, 3);
+
+        dialog.getDialogPane().setContent(grid);
+        ButtonType saveBtn = new ButtonType("Save Changes", ButtonBar.ButtonData.OK_DONE);
+        dialog.getDialogPane().getButtonTypes().addAll(saveBtn, ButtonType.CANCEL);
+
+        Optional<ButtonType> result = dialog.showAndWait();
+        if (result.isPresent() && result.get() == saveBtn) {
+            try {
+                InventoryService.validate(nameIn.getText(), priceIn.getText(), stockIn.getText());
+
+                long start = System.nanoTime();
+                try {
+                    reportFailure(inventory.updateProduct(currentUsername, selected, nameIn.getText(),
+                            catIn.getValue(), Double.parseDouble(priceIn.getText()), Integer.parseInt(stockIn.getText())));
+                } finally {
+                    UPDATE_TIME.recordSince(start);
+                }
+
+            } catch (Exception e) {
+                showError("Update Error", e.getMessage());
+            }
+        }
+    }
+
+    @FXML
+    private void handleDelete() {
+        Product selected = productTable.getSelectionModel().getSelectedItem();
+        if (selected != null) {
+            // PDF raporundaki onay kutusu mantığı [cite: 309, 310]
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+            alert.setTitle("Delete Confirmation");
+            alert.setHeaderText("Deleting: " + selected.getName());
+            alert.setContentText("Are you sure you want to delete this product? This action cannot be undone.");
+
+            // Kullanıcı 'YES' derse silme işlemini yap
+            Optional<ButtonType> result = alert.showAndWait();
+            if (result.isPresent() && result.get() == ButtonType.OK) {
+                long start = System.nanoTime();
+                reportFailure(inventory.deleteProduct(currentUsername, selected));
+                DELETE_TIME.recordSince(start);
+            }
+        }
+    }
+    @FXML
+    private void handleBuy() {
+        Product selected = productTable.getSelectionModel().getSelectedItem();
+        if (selected == null) return;
+
+        TextInputDialog dialog = new TextInputDialog("1");
+        dialog.setTitle("Purchase Product");
+        dialog.setHeaderText("Buying: " + selected.getName());
+        dialog.setContentText("Please enter the quantity:");
+
+        Optional<String> result = dialog.showAndWait();
+        result.ifPresent(qtyStr -> {
+            try {
+                int qty = Integer.parseInt(qtyStr);
+
+                // NEGATİF / 0 KONTROLÜ
+                if (qty <= 0) {
+                    showError("Input Error", "Quantity must be greater than 0.");
+                    return;
+                }
+
+                Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+                confirm.setTitle("Confirm Purchase");
+                confirm.setContentText("Are you sure you want to buy " + qty + " units?");
+
+                if (confirm.showAndWait().get() == ButtonType.OK) {
+                    long start = System.nanoTime();
+                    try {
+                        reportFailure(inventory.purchase(currentUsername, selected, qty));
+                    } finally {
+                        BUY_TIME.recordSince(start);
+                    }
+                }
+            } catch (InsufficientStockException e) {
+                showError("Stock Error", e.getMessage());
+            } catch (NumberFormatException e) {
+                showError("Input Error", "Please enter a valid number.");
+            }
+        });
+    }
+
+    @FXML
+    private void handleViewLogs() {
+        Stage stage = new Stage();
+        stage.setTitle("System Logs");
+
+        TableView<LogEntry> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+
+        TableColumn<LogEntry, String> t1 = new TableColumn<>("Timestamp");
+        t1.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue() == LogWindowList.LOADING
+                ? "Loading..." : c.getValue().getFormattedTimestamp()));
+        TableColumn<LogEntry, String> t2 = new TableColumn<>("User");
+        t2.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getUser()));
+        TableColumn<LogEntry, LogEntry.Action> t3 = new TableColumn<>("Action");
+        t3.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getAction()));
+        TableColumn<LogEntry, String> t4 = new TableColumn<>("Details");
+        t4.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getDetails()));
+
+        table.getColumns().addAll(List.of(t1, t2, t3, t4));
+        // Sıralama depodan gelir (en yeni üstte); tablo kendi içinde sıralamaz
+        table.getColumns().forEach(c -> c.setSortable(false));
+
+        ComboBox<String> filter = new ComboBox<>(FXCollections.observableArrayList("ALL", "PURCHASE", "ADD", "DELETE", "UPDATE", "IMPORT",
+                "RECEIVE", "TRANSFER"));
+        filter.setValue("ALL");
+        ZoneId zone = ZoneId.systemDefault();
+        TextField userFilter = new TextField();
+        userFilter.setPromptText("User");
+        DatePicker fromDate = new DatePicker();
+        DatePicker toDate = new DatePicker();
+        Label count = new Label();
+
+        // Sorgu ve sayfa okumaları bu pencereye ait arka plan thread'inde yapılır; FX thread'i diske inmez
+        ExecutorService pageLoader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "log-page-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        stage.setOnHidden(e -> pageLoader.shutdownNow());
+
+        // Her filtre değişikliğinde depodan yeni bir sorgu açılır; tablo yalnızca görünen sayfaları okur.
+        // Sonucu gelmeden yeni bir sorgu başlatılırsa eskisinin sonucu atılır.
+        long[] latest = new long[1];
+        Runnable runQuery = () -> {
+            LogQuery.Filter f = new LogQuery.Filter(
+                    "ALL".equals(filter.getValue()) ? null : LogEntry.Action.of(filter.getValue()),
+                    userFilter.getText().isBlank() ? null : userFilter.getText().trim(),
+                    fromDate.getValue() == null ? Long.MIN_VALUE
+                            : fromDate.getValue().atStartOfDay(zone).toInstant().toEpochMilli(),
+                    toDate.getValue() == null ? Long.MAX_VALUE
+                            : toDate.getValue().plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1);
+            long id = ++latest[0];
+            LogStore store = inventory.getLogStore();
+            count.setText("Loading...");
+            CompletableFuture.supplyAsync(() -> {
+                        LogQuery query = store.query(f);
+                        return new LogWindowList(query, query.size(), pageLoader,
+                                ex -> showError("System Logs", ex.getMessage()));
+                    }, pageLoader)
+                    .whenComplete((rows, ex) -> Platform.runLater(() -> {
+                        if (id != latest[0]) return;
+                        if (ex != null) {
+                            count.setText("");
+                            showError("System Logs", (ex.getCause() != null ? ex.getCause() : ex).getMessage());
+                            return;
+                        }
+                        table.setItems(rows);
+                        count.setText(rows.size() + " entries");
+                    }));
+        };
+        filter.setOnAction(e -> runQuery.run());
+        userFilter.setOnAction(e -> runQuery.run());
+        fromDate.setOnAction(e -> runQuery.run());
+        toDate.setOnAction(e -> runQuery.run());
+        Button refresh = new Button("Refresh");
+        refresh.setOnAction(e -> runQuery.run());
+        runQuery.run();
+
+        HBox filters = new HBox(10, filter, userFilter, new Label("From:"), fromDate, new Label("To:"), toDate, refresh, count);
+        filters.setAlignment(Pos.CENTER_LEFT);
+        VBox root = new VBox(10, new Label("Filter Logs:"), filters, table);
+        root.setPadding(new Insets(15));
+        root.setStyle("-fx-background-color: #1e1e2f;");
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        Scene scene = new Scene(root, 850, 500);
+        scene.getStylesheets().add(MainApp.class.getResource("style.css").toExternalForm());
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    @FXML
+    private void handleReplayTillExport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Select Till Export");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv", "*.txt"));
+        File file = chooser.showOpenDialog(productTable.getScene().getWindow());
+        if (file == null) return;
+
+        // Dosyanın okunması, siparişler ve diske zorlama arka planda yapılır; bitene kadar butonlar kapalıdır
+        setLoading(true);
+        long start = System.nanoTime();
+        CompletableFuture<OrderService.ReplayResult> replay =
+                CompletableFuture.supplyAsync(() -> inventory.replayTillExport(file.toPath(), currentUsername));
+        replay.whenComplete((result, ex) -> Platform.runLater(() -> {
+            REPLAY_TIME.recordSince(start);
+            setLoading(false);
+            if (ex != null) return;
+            String summary = "Applied orders: " + result.applied() + "\nRejected orders: " + result.rejected();
+            if (!result.errors().isEmpty()) {
+                summary += "\n\n" + String.join("\n", result.errors().subList(0, Math.min(20, result.errors().size())));
+            }
+            showInfo("Till Export", summary);
+        }));
+        reportFailure(replay, "Till Export", null);
+    }
+
+    @FXML
+    private void handleImportCatalog() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Select Catalog");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Catalog files", "*.csv", "*.json", "*.txt"));
+        File file = chooser.showOpenDialog(productTable.getScene().getWindow());
+        if (file == null) return;
+
+        // Büyük kataloglar saniyeler sürebilir; aktarım arka planda yapılır, tablo parça parça dolar
+        setLoading(true);
+        JsonService.ProgressListener progress = (read, total) -> runOnFx(() ->
+                loadStatus.setText(String.format("Importing... %d%%", total == 0 ? 100 : read * 100 / total)));
+        long start = System.nanoTime();
+        CompletableFuture.supplyAsync(() -> inventory.importCatalog(currentUsername, file.toPath(), progress))
+                .whenComplete((result, ex) -> Platform.runLater(() -> {
+                    IMPORT_TIME.recordSince(start);
+                    setLoading(false);
+                    loadStatus.setText(repository.size() + " products");
+                    if (ex != null) {
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        showError("Import Catalog", cause.getMessage());
+                        return;
+                    }
+                    StringBuilder summary = new StringBuilder("Added: " + result.added() + "\nUpdated: "
+                            + result.updated() + "\nRejected: " + result.rejected());
+                    List<CatalogService.Reject> rejects = result.rejects();
+                    if (!rejects.isEmpty()) summary.append("\n");
+                    for (CatalogService.Reject r : rejects.subList(0, Math.min(20, rejects.size()))) {
+                        summary.append("\nLine ").append(r.line()).append(": ").append(r.message());
+                    }
+                    showInfo("Import Catalog", summary.toString());
+                }));
+    }
+
+    @FXML
+    private void handleExportCatalog() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Catalog");
+        chooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("CSV files", "*.csv"),
+                new FileChooser.ExtensionFilter("JSON files", "*.json"));
+        chooser.setInitialFileName("catalog.csv");
+        File file = chooser.showSaveDialog(productTable.getScene().getWindow());
+        if (file == null) return;
+
+        long start = System.nanoTime();
+        CompletableFuture.supplyAsync(() -> inventory.exportCatalog(file.toPath()))
+                .whenComplete((count, ex) -> Platform.runLater(() -> {
+                    EXPORT_TIME.recordSince(start);
+                    if (ex != null) showError("Export Catalog", (ex.getCause() != null ? ex.getCause() : ex).getMessage());
+                    else showInfo("Export Catalog", "Exported " + count + " products.");
+                }));
+    }
+
+    // Yardımcı Metotlar
+    // Süre, indeks sorgusu ve filtrelenmiş listenin yeniden hesaplanmasını birlikte kapsar
+    private void applyFilter() {
+        long start = System.nanoTime();
+        Set<Product> matches = searchIndex.search(searchField.getText());
+        ToIntFunction<Product> view = stockView;
+        filteredData.setPredicate(p -> (matches == null || matches.contains(p))
+                && (!inStockOnly || view.applyAsInt(p) > 0));
+        FILTER_TIME.recordSince(start);
+    }
+
+    // Konum değişince yalnızca stok değeri farklı olan hücreler yeniden çizilir
+    private void showLocation(String location) {
+        if (location == null) return;
+        stockView = location.equals(ALL_LOCATIONS) ? locations::total : p -> locations.stockAt(location, p);
+        colStock.setText(location.equals(LocationStore.MAIN) ? "Stock" : "Stock (" + location + ")");
+        rows.forEach((p, row) -> row.sync(p, analytics, stockView));
+        if (inStockOnly) applyFilter();
+    }
+
+    // Değişiklik ve log kaydı arka plandaki yazıcıya tek bir iş olarak verilir; UI thread'i beklemez
+    private void reportFailure(CompletableFuture<Void> written) {
+        reportFailure(written, "Data Error", "Could not save to JSON file!");
+    }
+
+    // Arka plandaki işin hatası FX thread'inde gösterilir; message null ise hatanın kendi mesajı kullanılır
+    private void reportFailure(CompletableFuture<?> work, String title, String message) {
+        work.whenComplete((v, ex) -> {
+            if (ex == null) return;
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            Platform.runLater(() -> showError(title, message != null ? message : cause.getMessage()));
+        });
+    }
+
+    CompletableFuture<Void> whenLoaded() {
+        return loaded;
+    }
+
+    // Çıkış yapılırken veya pencere kapanırken bekleyen tüm yazımları diske boşaltır
+    public void shutdown() {
+        if (apiServer != null) apiServer.close();
+        if (inventory != null) inventory.close();
+    }
+
+    private void refreshAlerts() {
+        int count = thresholdWatcher.getActiveAlerts().size();
+        alertLabel.setText(count == 0 ? "" : "⚠ " + count + " low stock");
+    }
+
+    private void showAlerts() {
+        StringBuilder sb = new StringBuilder();
+        thresholdWatcher.getActiveAlerts().stream()
+                .sorted(Comparator.comparing(Product::getName))
+                .forEach(p -> sb.append(p.getName()).append(": ").append(p.getStockQuantity())
+                        .append(" left (threshold ").append(thresholdWatcher.thresholdFor(p)).append(")\n"));
+        showInfo("Low Stock", sb.length() == 0 ? "No products below their threshold." : sb.toString());
+        refreshAlerts();
+    }
+
+    private void clearFields() {
+        nameField.clear(); priceField.clear(); stockField.clear();
+        categoryCombo.getSelectionModel().clearSelection();
+    }
+
+    private void showError(String t, String c) { new Alert(Alert.AlertType.ERROR, c).showAndWait(); }
+    private void showInfo(String t, String c) { new Alert(Alert.AlertType.INFORMATION, c).showAndWait(); }
+
+    private ProductRow row(Product p) {
+        return rows.get(p);
+    }
+
+    // Repository'deki değişiklikleri tablonun listesine ve satır property'lerine FX thread'inde uygular
+    private class ProductListSync implements InventoryRepository.Listener {
+        // Arka plandan (API, kasa aktarımı) gelen stok değişiklikleri biriktirilir ve tek bir
+        // runLater ile uygulanır; saniyede yüzlerce değişiklik olsa da FX kuyruğu şişmez
+        private final Set<Product> pendingStock = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+        @Override
+        public void productAdded(Product p) {
+            runOnFx(() -> {
+                rows.put(p, new ProductRow(p, analytics, stockView));
+                productList.add(p);
+                refilterIfActive();
+            });
+        }
+
+        @Override
+        public void productsLoaded(List<Product> products) {
+            runOnFx(() -> {
+                for (Product p : products) rows.put(p, new ProductRow(p, analytics, stockView));
+                productList.addAll(products);
+                refilterIfActive();
+            });
+        }
+
+        @Override
+        public void productUpdated(Product p) {
+            // Aynı nesne listede kaldığı için üyelik değişmez; sadece değişen hücreler güncellenir
+            runOnFx(() -> {
+                ProductRow row = rows.get(p);
+                if (row == null) return;
+                row.sync(p, analytics, stockView);
+                refilterIfActive();
+            });
+        }
+
+        @Override
+        public void stockChanged(Product p) {
+            pendingStock.add(p);
+            if (flushScheduled.compareAndSet(false, true)) Platform.runLater(this::flushStock);
+        }
+
+        @Override
+        public void productRemoved(Product p) {
+            runOnFx(() -> {
+                productList.remove(p);
+                rows.remove(p);
+            });
+        }
+
+        private void flushStock() {
+            flushScheduled.set(false);
+            boolean visibilityChanged = false;
+            for (Iterator<Product> it = pendingStock.iterator(); it.hasNext(); ) {
+                Product p = it.next();
+                it.remove();
+                ProductRow row = rows.get(p);
+                if (row == null) continue; // bu arada silinmiş
+                boolean wasInStock = row.getStock() > 0;
+                row.sync(p, analytics, stockView);
+                visibilityChanged |= wasInStock != (row.getStock() > 0);
+            }
+            // Stok filtresi yalnızca stok sıfıra inip çıktığında yeniden uygulanır
+            if (inStockOnly && visibilityChanged) applyFilter();
+        }
+
+        // Arama veya stok filtresi açıkken değişen ürünün görünürlüğü yeniden değerlendirilir
+        private void refilterIfActive() {
+            if (inStockOnly || !searchField.getText().isEmpty()) applyFilter();
+        }
+    }
+
+    // Kategori indeksindeki eklemeleri/çıkarmaları sıralı listeye ikili aramayla uygular
+    private class CategoryListSync implements CategoryIndex.Listener {
+        @Override
+        public void categoryAdded(String category) {
+            runOnFx(() -> {
+                int i = Collections.binarySearch(categories, category);
+                if (i < 0) categories.add(-i - 1, category);
+            });
+        }
+
+        @Override
+        public void categoryRemoved(String category) {
+            runOnFx(() -> {
+                int i = Collections.binarySearch(categories, category);
+                if (i >= 0) categories.remove(i);
+            });
+        }
+    }
+
+    // TableView yalnızca görünen satırları ister; satırlar sayfa sayfa depodan okunur ve
+    // bellekte en fazla LOG_WINDOW_PAGES sayfa tutulur. Okunmamış bir sayfanın satırları önce LOADING olarak
+    // gösterilir; sayfa arka planda okunup FX thread'inde yerine konunca o satırlar yeniden çizilir.
+    // Yalnızca FX thread'inden kullanılır.
+    private static class LogWindowList extends ObservableListBase<LogEntry> {
+        static final LogEntry LOADING = new LogEntry();
+
+        private final LogQuery query;
+        private final int size;
+        private final ExecutorService loader;
+        private final Consumer<Throwable> onError;
+        private final Set<Integer> requested = new HashSet<>();
+        private boolean failed;
+        private final Map<Integer, List<LogEntry>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<LogEntry>> eldest) {
+                return size() > LOG_WINDOW_PAGES;
+            }
+        };
+
+        LogWindowList(LogQuery query, int size, ExecutorService loader, Consumer<Throwable> onError) {
+            this.query = query;
+            this.size = size;
+            this.loader = loader;
+            this.onError = onError;
+        }
+
+        @Override
+        public LogEntry get(int index) {
+            Objects.checkIndex(index, size);
+            int p = index / LOG_PAGE_SIZE;
+            List<LogEntry> page = pages.get(p);
+            if (page == null) {
+                request(p);
+                return LOADING;
+            }
+            int i = index % LOG_PAGE_SIZE;
+            return i < page.size() ? page.get(i) : LOADING;
+        }
+
+        private void request(int p) {
+            if (failed || !requested.add(p)) return;
+            try {
+                CompletableFuture.supplyAsync(() -> query.page(p * LOG_PAGE_SIZE, LOG_PAGE_SIZE), loader)
+                        .whenComplete((page, ex) -> Platform.runLater(() -> loaded(p, page, ex)));
+            } catch (RejectedExecutionException e) {
+                // Pencere kapandı
+            }
+        }
+
+        private void loaded(int p, List<LogEntry> page, Throwable ex) {
+            requested.remove(p);
+            if (ex != null) {
+                // Aynı hata her kaydırmada tekrar gösterilmesin diye sonraki sayfalar istenmez
+                failed = true;
+                onError.accept(ex.getCause() != null ? ex.getCause() : ex);
+                return;
+            }
+            pages.put(p, page);
+            int from = p * LOG_PAGE_SIZE;
+            int to = Math.min(size, from + LOG_PAGE_SIZE);
+            beginChange();
+            nextReplace(from, to, Collections.nCopies(to - from, LOADING));
+            endChange();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static <T> Callback<TableColumn<Product, T>, TableCell<Product, T>> formatted(Function<T, String> format) {
+        return column -> new TableCell<>() {
+            @Override
+            protected void updateItem(T item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : format.apply(item));
+            }
+        };
+    }
+
+    private static void runOnFx(Runnable r) {
+        if (Platform.isFxApplicationThread()) r.run();
+        else Platform.runLater(r);
+    }
+
+    @FXML private void handleLogout() throws IOException {
+        shutdown();
+        Stage stage = (Stage) productTable.getScene().getWindow();
+        stage.setOnCloseRequest(null);
+        stage.setScene(new Scene(new FXMLLoader(MainApp.class.getResource("login-view.fxml")).load(), 400, 450));
+    }
+}
\ No newline at end of file
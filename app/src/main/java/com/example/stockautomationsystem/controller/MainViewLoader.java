@@ -0,0 +1,53 @@
+package com.example.stockautomationsystem.controller;
+
+import com.example.stockautomationsystem.MainApp;
+import javafx.fxml.FXMLLoader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+
+// Ana pencerenin FXML'i giriş ekranı açıkken arka plan thread'inde yüklenir; MainController.initialize
+// envanteri o sırada yüklemeye başlar, böylece giriş yapıldığında tablo çoğunlukla dolmuş olur.
+// Düğümler bir pencereye bağlanmadan önce herhangi bir thread'de kurulabilir; Scene FX thread'inde oluşturulur.
+// Her girişte hazır görünüm alınır; bir sonraki görünüm çıkış yapılıp giriş ekranı açılınca hazırlanır.
+public final class MainViewLoader {
+    private static CompletableFuture<FXMLLoader> pending;
+
+    private MainViewLoader() {
+    }
+
+    public static synchronized void preload() {
+        if (pending != null) return;
+        pending = CompletableFuture.supplyAsync(MainViewLoader::loadNow, r -> {
+            Thread t = new Thread(r, "main-view-preloader");
+            t.setDaemon(true);
+            t.start();
+        });
+    }
+
+    // Hazırlanan görünümü alır; ön yükleme başlamamışsa şimdi başlatır
+    static synchronized CompletableFuture<FXMLLoader> take() {
+        preload();
+        CompletableFuture<FXMLLoader> view = pending;
+        pending = null;
+        return view;
+    }
+
+    // Giriş yapılmadan uygulama kapanırsa arka planda açılan envanter de kapatılır
+    public static synchronized void discard() {
+        if (pending == null) return;
+        pending.thenAccept(loader -> ((MainController) loader.getController()).shutdown());
+        pending = null;
+    }
+
+    static FXMLLoader loadNow() {
+        FXMLLoader loader = new FXMLLoader(MainApp.class.getResource("main-view.fxml"));
+        try {
+            loader.load();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return loader;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.stockautomationsystem.controller;
+
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.SalesAnalytics;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+// Ürün tablosundaki bir satırın görünür değerleri. Product core modülünde ve JavaFX'ten bağımsız olduğu için
+// değerler sync ile property'lere kopyalanır. Yalnızca değeri gerçekten değişen property olay üretir,
+// böylece tablonun tamamı değil sadece ilgili hücre yeniden çizilir. Sadece FX thread'inde kullanılmalıdır.
+final class ProductRow {
+    private final ReadOnlyObjectWrapper<String> name = new ReadOnlyObjectWrapper<>();
+    private final ReadOnlyObjectWrapper<String> category = new ReadOnlyObjectWrapper<>();
+    private final ReadOnlyObjectWrapper<Double> price = new ReadOnlyObjectWrapper<>();
+    private final ReadOnlyObjectWrapper<Integer> stock = new ReadOnlyObjectWrapper<>();
+    private final ReadOnlyObjectWrapper<Double> velocity = new ReadOnlyObjectWrapper<>();
+    private final ReadOnlyObjectWrapper<Double> cover = new ReadOnlyObjectWrapper<>();
+    private final ReadOnlyObjectWrapper<Integer> reorder = new ReadOnlyObjectWrapper<>();
+
+    ProductRow(Product p, SalesAnalytics analytics, ToIntFunction<Product> stockView) {
+        sync(p, analytics, stockView);
+    }
+
+    // stockView seçili konumdaki ya da tüm konumlardaki stoğu verir
+    void sync(Product p, SalesAnalytics analytics, ToIntFunction<Product> stockView) {
+        set(name, p.getName());
+        set(category, p.getCategory());
+        set(price, p.getPrice());
+        set(stock, stockView.applyAsInt(p));
+        // Satış analitiği sütunları ürün alanı değil, SalesAnalytics'ten hesaplanır
+        set(velocity, analytics.velocity(p, 7));
+        set(cover, analytics.daysOfCover(p));
+        set(reorder, analytics.reorderPoint(p));
+    }
+
+    // Kutulu değerler her seferinde yeni nesne olduğundan eşitlik burada kontrol edilir
+    private static <T> void set(ReadOnlyObjectWrapper<T> property, T value) {
+        if (!Objects.equals(property.get(), value)) property.set(value);
+    }
+
+    int getStock() {
+        return stock.get();
+    }
+
+    ReadOnlyObjectProperty<String> nameProperty() {
+        return name.getReadOnlyProperty();
+    }
+
+    ReadOnlyObjectProperty<String> categoryProperty() {
+        return category.getReadOnlyProperty();
+    }
+
+    ReadOnlyObjectProperty<Double> priceProperty() {
+        return price.getReadOnlyProperty();
+    }
+
+    ReadOnlyObjectProperty<Integer> stockProperty() {
+        return stock.getReadOnlyProperty();
+    }
+
+    ReadOnlyObjectProperty<Double> velocityProperty() {
+        return velocity.getReadOnlyProperty();
+    }
+
+    ReadOnlyObjectProperty<Double> coverProperty() {
+        return cover.getReadOnlyProperty();
+    }
+
+    ReadOnlyObjectProperty<Integer> reorderProperty() {
+        return reorder.getReadOnlyProperty();
+    }
+}
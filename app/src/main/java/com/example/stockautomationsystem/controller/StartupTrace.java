@@ -0,0 +1,90 @@
+package com.example.stockautomationsystem.controller;
+
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+// Açılış süreleri (ms), startup.* metriklerine yazılır; -Dstock.startup.report=true ise stderr'e de basılır:
+//   loginFrame    : JVM başlangıcından giriş ekranının ilk karesine
+//   mainViewReady : JVM başlangıcından ana görünümün (FXML + envanter) arka planda hazır olmasına
+//   mainFrame     : giriş onayından ana pencerenin ürünlerle birlikte ilk karesine
+// -Dstock.startup.exitWhenReady=true ile giriş ekranı çizilip ana görünüm hazır olunca uygulama kapanır;
+// CDS arşivi için eğitim çalıştırması ve açılış ölçümü bunu kullanır. Yalnızca FX thread'inde çağrılır.
+final class StartupTrace {
+    private static final boolean REPORT = Boolean.getBoolean("stock.startup.report");
+    private static final boolean EXIT_WHEN_READY = Boolean.getBoolean("stock.startup.exitWhenReady");
+    private static final long JVM_START = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli).orElse(System.currentTimeMillis());
+
+    private static boolean loginFrameSeen;
+    private static boolean mainViewReadySeen;
+
+    private StartupTrace() {
+    }
+
+    // Sadece uygulamanın ilk giriş ekranı sayılır; çıkış yapıp tekrar gelinen ekran değil
+    static void loginFrame() {
+        if (loginFrameSeen) return;
+        loginFrameSeen = true;
+        record("loginFrame", System.currentTimeMillis() - JVM_START);
+        exitIfReady();
+    }
+
+    static void mainViewReady() {
+        if (mainViewReadySeen) return;
+        mainViewReadySeen = true;
+        record("mainViewReady", System.currentTimeMillis() - JVM_START);
+        exitIfReady();
+    }
+
+    // Envanter hâlâ yükleniyorsa ilk kare, yükleme bittikten sonraki karedir
+    static void mainFrame(Scene scene, CompletableFuture<Void> loaded, long loginNanos) {
+        loaded.whenComplete((v, ex) -> Platform.runLater(() -> onNextFrame(scene,
+                () -> record("mainFrame", (System.nanoTime() - loginNanos) / 1_000_000))));
+    }
+
+    // Düğüm bir sahneye eklendikten sonra çizilen ilk karede bir kez çalışır
+    static void onFirstFrame(Node node, Runnable action) {
+        if (node.getScene() != null) {
+            onNextFrame(node.getScene(), action);
+            return;
+        }
+        node.sceneProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Scene> observable, Scene oldScene, Scene scene) {
+                if (scene == null) return;
+                node.sceneProperty().removeListener(this);
+                onNextFrame(scene, action);
+            }
+        });
+    }
+
+    // Pulse dinleyicisi, sahne yerleşimi bitip kare çizilmeden hemen önce çalışır. Dinleyiciler dolaşılırken
+    // listeden çıkarmamak için kaldırma bir sonraki runLater'a bırakılır.
+    private static void onNextFrame(Scene scene, Runnable action) {
+        boolean[] done = new boolean[1];
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            if (done[0]) return;
+            done[0] = true;
+            Platform.runLater(() -> scene.removePostLayoutPulseListener(listener[0]));
+            action.run();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    private static void record(String name, long millis) {
+        MetricsRegistry.global().timer("startup." + name).record(millis * 1_000_000);
+        if (REPORT) System.err.println("startup " + name + " " + millis + " ms");
+    }
+
+    private static void exitIfReady() {
+        if (EXIT_WHEN_READY && loginFrameSeen && mainViewReadySeen) Platform.exit();
+    }
+}
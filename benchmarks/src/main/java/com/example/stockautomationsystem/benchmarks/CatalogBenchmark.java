@@ -0,0 +1,71 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.CatalogService;
+import com.example.stockautomationsystem.service.InventoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Toplu katalog aktarımı: dosyanın okunması, paralel doğrulama ve boş bir repository'ye toplu ekleme.
+// Snapshot yazımı dahil değildir (PersistenceBenchmark.saveData). Her ölçüm tek seferlik tam bir aktarımdır.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CatalogBenchmark {
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"csv", "json"})
+    String format;
+
+    private List<Product> products;
+    private Path dir;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        products = DataGenerator.products(size, 42);
+        dir = Files.createTempDirectory("stock-bench");
+        file = dir.resolve("catalog." + format);
+        new CatalogService(new InventoryRepository()).exportFile(file, products);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DataGenerator.delete(dir);
+    }
+
+    @Benchmark
+    public CatalogService.ImportResult importFile() {
+        CatalogService.ImportResult result = new CatalogService(new InventoryRepository()).importFile(file, null);
+        if (result.added() != size) {
+            throw new IllegalStateException("imported " + result.added() + " of " + size);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void exportFile() {
+        new CatalogService(new InventoryRepository()).exportFile(dir.resolve("out." + format), products);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.CategoryIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+// Eski MainController.refreshCategories: her ekleme/güncelleme/silmede tüm ürünler gezilip kategori kümesi
+// baştan kurulur (ComboBox'a verilen listeye kopyalama dahil). CategoryIndex aynı değişiklikte sadece
+// eski ve yeni kategorinin sayaçlarını günceller.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategoryBenchmark {
+    @Param({"1000", "100000"})
+    int size;
+
+    private static final String SEASONAL = "Seasonal";
+
+    private List<Product> products;
+    private String[] originalCategories;
+    private CategoryIndex index;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = DataGenerator.products(size, 42);
+        originalCategories = products.stream().map(Product::getCategory).toArray(String[]::new);
+        index = new CategoryIndex(CategoryIndex.DEFAULT_CATEGORIES);
+        products.forEach(index::productAdded);
+    }
+
+    // Bir ürünün kategorisi ve stoğu değişir, indeks bilgilendirilir; kategori özetleri hemen güncel olur
+    @Benchmark
+    public CategoryIndex.Summary incrementalUpdate() {
+        int i = next++ % size;
+        Product p = products.get(i);
+        p.setCategory(SEASONAL.equals(p.getCategory()) ? originalCategories[i] : SEASONAL);
+        p.setStockQuantity(p.getStockQuantity() + 1);
+        index.productUpdated(p);
+        return index.summary(p.getCategory());
+    }
+
+    @Benchmark
+    public List<String> treeSetRebuild() {
+        Set<String> categories = new TreeSet<>(Arrays.asList("Electronics", "Grocery", "Home", "Automotive"));
+        products.forEach(p -> { if (p.getCategory() != null) categories.add(p.getCategory()); });
+        return new ArrayList<>(categories);
+    }
+}
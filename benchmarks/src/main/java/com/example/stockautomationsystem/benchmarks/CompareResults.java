@@ -0,0 +1,85 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// İki JMH JSON sonuç dosyasını (-rf json) karşılaştırır; eşikten fazla kötüleşen ölçümleri işaretler ve
+// bu durumda 1 ile çıkar. Böylece sürümler arası gerilemeler CI'da yakalanabilir:
+//   java -cp benchmarks.jar com.example.stockautomationsystem.benchmarks.CompareResults önceki.json yeni.json [eşik%]
+public class CompareResults {
+    record Score(String mode, double score, double error, String unit) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults BASELINE.json CURRENT.json [THRESHOLD_PERCENT]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> e : new TreeMap<>(current).entrySet()) {
+            Score now = e.getValue();
+            Score before = baseline.get(e.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", e.getKey(), "-", now.score(), "new", now.unit());
+                continue;
+            }
+            // Throughput'ta büyük değer, diğer modlarda küçük değer iyidir
+            double change = (now.score() - before.score()) / before.score() * 100;
+            double worse = "thrpt".equals(now.mode()) ? -change : change;
+            boolean regressed = worse > threshold;
+            if (regressed) regressions++;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", e.getKey(), before.score(), now.score(), change,
+                    now.unit(), regressed ? "  REGRESSION" : "");
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) System.out.printf("%-90s (not in current run)%n", missing);
+        }
+        System.out.println(regressions + " regression(s) above " + threshold + "%");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    // Anahtar: kısa benchmark adı + parametreler; yardımcı sayaçlar (":" ile) ayrı satır olur
+    static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String name = run.get("benchmark").asText();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+            StringBuilder key = new StringBuilder(name);
+            JsonNode params = run.get("params");
+            if (params != null) {
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> p = it.next();
+                    key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText());
+                }
+            }
+            String mode = run.get("mode").asText();
+            scores.put(key.toString(), score(mode, run.get("primaryMetric")));
+            JsonNode secondary = run.get("secondaryMetrics");
+            if (secondary != null) {
+                for (Iterator<Map.Entry<String, JsonNode>> it = secondary.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> m = it.next();
+                    // Boyut/ayak izi sayaçlarında da küçük değer iyidir
+                    scores.put(key + " :" + m.getKey(), score("avgt", m.getValue()));
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static Score score(String mode, JsonNode metric) {
+        double error = metric.get("scoreError").isNumber() ? metric.get("scoreError").asDouble() : Double.NaN;
+        return new Score(mode, metric.get("score").asDouble(), error, metric.get("scoreUnit").asText());
+    }
+}
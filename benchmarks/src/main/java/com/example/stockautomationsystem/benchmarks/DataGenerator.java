@@ -0,0 +1,85 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.JsonService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// inventory.json'daki gerçek kayıtlara benzeyen sentetik veri: "Marka Model" adları, kategoriye göre fiyat
+// aralığı, çoğu üründe orta seviye stok ve bir kısmında azalmış stok. Aynı tohumla hep aynı veri üretilir.
+final class DataGenerator {
+    private static final String[] CATEGORIES = {"Electronics", "Grocery", "Home", "Automotive",
+            "Garden", "Toys", "Sports", "Office", "Beauty", "Books", "Pet", "Health"};
+    private static final double[][] PRICE_RANGES = {{150, 90_000}, {5, 400}, {20, 15_000}, {300, 1_500_000},
+            {10, 5_000}, {15, 3_000}, {25, 20_000}, {5, 8_000}, {10, 2_500}, {20, 600}, {10, 1_200}, {10, 3_000}};
+    private static final String[] BRANDS = {"iPhone", "Galaxy", "Fiat", "Gaming", "Arcelik", "Vestel", "Philips",
+            "Bosch", "Lego", "Nike", "Ulker", "Eti", "Pinar", "Logitech", "Dell", "Tefal", "Karcher", "Renault"};
+    private static final String[] ITEMS = {"Mouse", "Keyboard", "Doblo", "Clio", "Pro", "Max", "Blender", "Kettle",
+            "Chair", "Lamp", "Drill", "Biscuit", "Milk", "Cheese", "Ball", "Shoes", "Monitor", "Headset", "Vacuum"};
+
+    private DataGenerator() {
+    }
+
+    static List<Product> products(int count, long seed) {
+        Random random = new Random(seed);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int c = random.nextInt(CATEGORIES.length);
+            double[] range = PRICE_RANGES[c];
+            // Fiyatlar aralığında logaritmik dağılır; ucuz ürünler daha sık
+            double price = Math.round(range[0] * Math.pow(range[1] / range[0], random.nextDouble()) * 100) / 100.0;
+            int stock = random.nextInt(10) == 0 ? random.nextInt(5) : 5 + random.nextInt(200);
+            products.add(new Product(name(random, i), CATEGORIES[c], price, stock));
+        }
+        return products;
+    }
+
+    static List<LogEntry> logs(List<Product> products, int count, long seed) {
+        Random random = new Random(seed);
+        String[] users = {"admin", "kasa1", "kasa2", "depo", "ayse", "mehmet"};
+        LogEntry.Action[] actions = {LogEntry.Action.PURCHASE, LogEntry.Action.PURCHASE, LogEntry.Action.PURCHASE,
+                LogEntry.Action.UPDATE, LogEntry.Action.ADD, LogEntry.Action.DELETE};
+        List<LogEntry> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LogEntry.Action action = actions[random.nextInt(actions.length)];
+            Product p = products.get(random.nextInt(products.size()));
+            int quantity = action == LogEntry.Action.PURCHASE ? 1 + random.nextInt(5) : 0;
+            logs.add(new LogEntry(users[random.nextInt(users.length)], action, p.getName(), quantity));
+        }
+        return logs;
+    }
+
+    // Adlar benzersizdir; sona eklenen sıra numarası gerçek katalogdaki model numaralarına benzer
+    private static String name(Random random, int i) {
+        return BRANDS[random.nextInt(BRANDS.length)] + " " + ITEMS[random.nextInt(ITEMS.length)] + " " + (i + 1);
+    }
+
+    // Verilen ürünlerle geçici bir veri dizini hazırlar (JSON ya da ikili snapshot)
+    static Path dataDir(List<Product> products, boolean binary) {
+        try {
+            Path dir = Files.createTempDirectory("stock-bench");
+            new JsonService(dir, binary).saveData(products);
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void delete(Path dir) {
+        if (dir == null) return;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
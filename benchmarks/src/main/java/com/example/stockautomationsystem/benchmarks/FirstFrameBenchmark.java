@@ -0,0 +1,138 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JavaFX uygulamasının soğuk açılışı; her ölçüm yeni bir JVM'dir:
+//   loginFrame    : sürecin başlatılmasından giriş ekranının ilk karesine (ilk etkileşimli kare)
+//   mainViewReady : ana görünümün (FXML + envanter) giriş ekranı açıkken arka planda hazır olmasına
+// Süre, uygulamanın -Dstock.startup.report ile stderr'e yazdığı satır okununca durdurulur.
+// cds=on: önce -Dstock.startup.exitWhenReady ile bir eğitim çalıştırması -XX:ArchiveClassesAtExit ile
+// sınıf arşivini yazar (mvn -Pcds-archive ile aynı), ölçümler -XX:SharedArchiveFile ile yapılır.
+// Önce "mvn package" gerekir; uygulama -Dstock.app.dir (varsayılan app/target) altındaki jar ve lib/'den
+// modül yolu ile başlatılır. Ekran gerektirir (Linux'ta DISPLAY; ekransız sunucuda Xvfb ile).
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FirstFrameBenchmark {
+    private static final String MAIN = "com.example.stockautomationsystem/com.example.stockautomationsystem.MainApp";
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"off", "on"})
+    String cds;
+
+    private Path dir;
+    private String modulePath;
+    private String cdsOption;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        if (isLinux() && System.getenv("DISPLAY") == null && System.getenv("WAYLAND_DISPLAY") == null) {
+            throw new IllegalStateException("FirstFrameBenchmark needs a display (DISPLAY is not set)");
+        }
+        Path appDir = Path.of(System.getProperty("stock.app.dir", "app/target"));
+        Path jar;
+        try (var files = Files.list(appDir)) {
+            jar = files.filter(f -> f.getFileName().toString().matches("stock-app-.*\\.jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No stock-app jar in " + appDir.toAbsolutePath()
+                            + "; run mvn package first"));
+        }
+        modulePath = jar + File.pathSeparator + appDir.resolve("lib");
+
+        List<Product> products = DataGenerator.products(size, 42);
+        dir = DataGenerator.dataDir(products, false);
+        if ("on".equals(cds)) {
+            Path archive = dir.resolve("app.jsa");
+            Process training = command("-XX:ArchiveClassesAtExit=" + archive, true)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD).start();
+            if (!training.waitFor(5, TimeUnit.MINUTES) || training.exitValue() != 0 || !Files.exists(archive)) {
+                training.destroyForcibly();
+                throw new IllegalStateException("CDS training run failed");
+            }
+            cdsOption = "-XX:SharedArchiveFile=" + archive;
+        } else {
+            cdsOption = "-Xshare:auto";
+        }
+    }
+
+    // Sonraki ölçüm temiz başlasın diye süreç ve yazdığı kayıtlar beklenmeden kapatılır
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process == null) return;
+        process.destroyForcibly().waitFor();
+        process = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DataGenerator.delete(dir);
+    }
+
+    @Benchmark
+    public long loginFrame() throws IOException {
+        return waitFor("loginFrame");
+    }
+
+    @Benchmark
+    public long mainViewReady() throws IOException {
+        return waitFor("mainViewReady");
+    }
+
+    // Uygulamanın ölçtüğü süreyi (JVM başlangıcından, ms) döner; JMH'nin sonucu dış saat ile ölçümdür
+    private long waitFor(String event) throws IOException {
+        process = command(cdsOption, false).start();
+        String prefix = "startup " + event + " ";
+        try (BufferedReader err = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = err.readLine()) != null) {
+                if (line.startsWith(prefix)) {
+                    return Long.parseLong(line.substring(prefix.length(), line.indexOf(" ms")));
+                }
+            }
+        }
+        throw new IllegalStateException("Application exited before " + event);
+    }
+
+    private ProcessBuilder command(String cdsOption, boolean exitWhenReady) {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(List.of(java, cdsOption, "-Dstock.data.dir=" + dir,
+                "-Dstock.metrics.intervalSec=0", "-Dstock.startup.report=true"));
+        if (exitWhenReady) command.add("-Dstock.startup.exitWhenReady=true");
+        command.addAll(List.of("--module-path", modulePath, "--module", MAIN));
+        return new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD);
+    }
+
+    private static boolean isLinux() {
+        return System.getProperty("os.name").toLowerCase().contains("linux");
+    }
+}
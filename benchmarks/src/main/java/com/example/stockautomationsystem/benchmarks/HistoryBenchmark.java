@@ -0,0 +1,129 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.model.ProductState;
+import com.example.stockautomationsystem.service.InventoryHistory;
+import com.example.stockautomationsystem.service.InventoryRepository;
+import com.example.stockautomationsystem.service.JsonService;
+import com.example.stockautomationsystem.service.LogStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Geçmiş sorgulari: 50.000 alım kaydı yazılmış bir katalogda rastgele bir andaki durum.
+//   productAt    : tek ürün; en yakın checkpoint'te ikili arama + ondan sonraki kayıtlar
+//   viewAt       : aynı, ama tüm ürünlerin listesi (checkpoint'in tamamı okunur)
+//   coldProductAt: yeni açılmış servis; aralığın kayıtları önce log deposundan okunup ayrıştırılır
+//   fullReplay   : karşılaştırma; sadece ilk checkpoint var, o andan sorgu anına kadar tüm kayıtlar uygulanır
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoryBenchmark {
+    @Param({"10000", "100000"})
+    int size;
+
+    private static final int EVENTS = 50_000;
+    private static final int CHECKPOINT_EVERY = 5000;
+    private static final int BATCH = 100;
+
+    private List<Product> products;
+    private Path dir;
+    private LogStore logStore;
+    private InventoryHistory history;
+    private InventoryHistory baseline;
+    private long first;
+    private long last;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        InventoryRepository repository = new InventoryRepository();
+        repository.upsertAll(DataGenerator.products(size, 42), (e, i) -> { });
+        products = repository.findAll();
+        dir = Files.createTempDirectory("stock-bench");
+        logStore = new LogStore(new JsonService(dir, false), dir.resolve("logs"), 1024L * 1024, Long.MAX_VALUE);
+        logStore.open();
+        history = new InventoryHistory(dir.resolve("history"), CHECKPOINT_EVERY, 100, 200_000);
+        history.open(logStore, repository::findAll);
+        baseline = new InventoryHistory(dir.resolve("baseline"), Integer.MAX_VALUE, 1, 200_000);
+        baseline.open(logStore, repository::findAll);
+        first = System.currentTimeMillis();
+
+        // PersistenceExecutor'daki gibi: değişiklik, log, gruplar halinde ekleme, sonra dinleyiciler
+        Random random = new Random(7);
+        List<LogEntry> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < EVENTS; i++) {
+            Product p = products.get(random.nextInt(products.size()));
+            int qty = 1 + random.nextInt(5);
+            p.setStockQuantity(p.getStockQuantity() + qty); // stok tükenmesin diye önce arttırılır
+            ProductState before = ProductState.of(p);
+            p.setStockQuantity(p.getStockQuantity() - qty);
+            batch.add(new LogEntry("bench", LogEntry.Action.PURCHASE, p.getName(), qty)
+                    .withChange(before, ProductState.of(p)));
+            if (batch.size() == BATCH) {
+                logStore.append(batch);
+                history.logged(batch, false);
+                baseline.logged(batch, false);
+                batch = new ArrayList<>(BATCH);
+            }
+        }
+        last = System.currentTimeMillis();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        logStore.close();
+        DataGenerator.delete(dir);
+    }
+
+    @Benchmark
+    public ProductState productAt() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return history.productAt(products.get(random.nextInt(products.size())).getName(), randomTime());
+    }
+
+    @Benchmark
+    public int viewAt() {
+        return history.at(randomTime()).products().size();
+    }
+
+    @Benchmark
+    public ProductState coldProductAt() {
+        InventoryHistory fresh = new InventoryHistory(dir.resolve("history"), CHECKPOINT_EVERY, 100, 200_000);
+        fresh.open(logStore, () -> products);
+        return fresh.productAt(products.get(ThreadLocalRandom.current().nextInt(products.size())).getName(),
+                randomTime());
+    }
+
+    @Benchmark
+    public ProductState fullReplay() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return baseline.productAt(products.get(random.nextInt(products.size())).getName(), randomTime());
+    }
+
+    private long randomTime() {
+        return ThreadLocalRandom.current().nextLong(first, last + 1);
+    }
+}
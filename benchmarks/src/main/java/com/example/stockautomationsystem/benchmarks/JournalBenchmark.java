@@ -0,0 +1,78 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.InventoryJournal;
+import com.example.stockautomationsystem.service.JournalRecord;
+import com.example.stockautomationsystem.service.JsonService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Tek bir stok değişikliğinin kalıcılık maliyeti: eski yol (tüm inventory.json'u yeniden yazmak) ile
+// journal'a tek kayıt eklemek; 1k, 100k ve 1M üründe. 1M'de tam yazım işlem başına saniyeler sürer.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"GROUPED", "EVERY_WRITE"})
+    String fsync;
+
+    private List<Product> products;
+    private Path dir;
+    private JsonService jsonService;
+    private InventoryJournal journal;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = DataGenerator.products(size, 42);
+        dir = DataGenerator.dataDir(products, false);
+        jsonService = new JsonService(dir, false);
+        journal = new InventoryJournal(jsonService, dir.resolve("inventory-journal"),
+                InventoryJournal.FsyncPolicy.valueOf(fsync), 32, 200, 4L * 1024 * 1024, Integer.MAX_VALUE);
+        journal.open();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        journal.close();
+        DataGenerator.delete(dir);
+    }
+
+    private Product mutate() {
+        Product p = products.get(next++ % products.size());
+        p.setStockQuantity(p.getStockQuantity() ^ 1);
+        return p;
+    }
+
+    @Benchmark
+    public void fullRewrite() {
+        mutate();
+        jsonService.saveData(products);
+    }
+
+    @Benchmark
+    public void journalAppend() {
+        journal.append(JournalRecord.stockOf(mutate()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.InventoryRepository;
+import com.example.stockautomationsystem.service.LocationStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Konum bazlı stok: 8 konumda dağıtılmış katalogda konum özetleri ve toplam düşük stok raporu
+// (fork-join paralel) ile her ürün ve konumu tek thread'de gezen toplama karşılaştırılır.
+// transfer, rastgele ürünlerde konumlar arası eş zamanlı transferlerin toplam işlem/sn'sidir.
+// disjointTransfer'da her thread kendi konum çiftinde çalışır; seqlock'lar konum başına olduğu için
+// thread'ler ortak bir sürüm sayacında beklemez ve sonuç transfer ile karşılaştırılabilir.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocationBenchmark {
+    @Param({"10000", "100000"})
+    int size;
+
+    private static final int LOCATIONS = 8;
+
+    private List<Product> products;
+    private List<String> locations;
+    private LocationStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InventoryRepository repository = new InventoryRepository();
+        repository.upsertAll(DataGenerator.products(size, 42), (e, i) -> { });
+        products = repository.findAll();
+        store = new LocationStore(repository, Path.of("locations-bench.json"));
+        repository.addListener(store);
+        for (int i = 1; i < LOCATIONS; i++) store.addLocation("Depot " + i);
+        locations = store.getLocations();
+        Random random = new Random(7);
+        for (Product p : products) {
+            for (int i = 1; i < LOCATIONS; i++) {
+                if (random.nextInt(3) == 0) store.receive(locations.get(i), p, 1 + random.nextInt(50));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<LocationStore.LocationSummary> parallelSummaries() {
+        return store.summaries();
+    }
+
+    // Paralel olmayan karşılaştırma: her konum için tüm ürünler sırayla gezilir
+    @Benchmark
+    public long sequentialSummaries() {
+        long value = 0;
+        for (String location : locations) {
+            for (Product p : products) value += Math.round(p.getPrice() * 100) * store.stockAt(location, p);
+        }
+        return value;
+    }
+
+    @Benchmark
+    public int parallelLowStock() {
+        return store.lowStock(20).size();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Product p = products.get(random.nextInt(products.size()));
+        String from = locations.get(1 + random.nextInt(LOCATIONS - 1));
+        String to = locations.get(1 + random.nextInt(LOCATIONS - 1));
+        if (from.equals(to) || store.stockAt(from, p) == 0) {
+            // Boş kaynaktan transfer yerine mal girişi yapılır; stok tükenmez
+            store.receive(from, p, 1);
+            return;
+        }
+        store.transfer(p, from, to, 1);
+    }
+
+    // Her thread'e ayrı bir konum çifti (1-2, 3-4, 5-6) düşer
+    @State(Scope.Thread)
+    public static class LocationPair {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        String from;
+        String to;
+
+        @Setup(Level.Trial)
+        public void setUp(LocationBenchmark benchmark) {
+            int pair = NEXT.getAndIncrement() % ((LOCATIONS - 1) / 2);
+            from = benchmark.locations.get(1 + 2 * pair);
+            to = benchmark.locations.get(2 + 2 * pair);
+        }
+    }
+
+    @Benchmark
+    @Threads(3)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void disjointTransfer(LocationPair pair) {
+        Product p = products.get(ThreadLocalRandom.current().nextInt(products.size()));
+        if (store.stockAt(pair.from, p) == 0) {
+            store.receive(pair.from, p, 1);
+            return;
+        }
+        store.transfer(p, pair.from, pair.to, 1);
+    }
+}
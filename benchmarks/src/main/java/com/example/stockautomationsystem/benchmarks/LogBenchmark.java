@@ -0,0 +1,91 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.JsonService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JsonService.saveLogs / loadLogs ve yüklenen log kayıtlarının bellekte kapladığı yer.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogBenchmark {
+    @Param({"10000", "100000"})
+    int size;
+
+    private List<LogEntry> logs;
+    private Path dir;
+    private JsonService jsonService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Product> products = DataGenerator.products(1000, 42);
+        logs = DataGenerator.logs(products, size, 43);
+        dir = Files.createTempDirectory("stock-bench");
+        jsonService = new JsonService(dir, false);
+        jsonService.saveLogs(logs);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DataGenerator.delete(dir);
+    }
+
+    @Benchmark
+    public void saveLogs() {
+        jsonService.saveLogs(logs);
+    }
+
+    @Benchmark
+    public List<LogEntry> loadLogs() {
+        return jsonService.loadLogs();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public double retainedBytesPerEntry;
+    }
+
+    // Yüklenen listenin GC sonrası heap'te bıraktığı yer, kayıt başına. EVENTS sayaçları iterasyonlar
+    // boyunca toplandığı için tek ölçüm iterasyonu kullanılır.
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 1)
+    public List<LogEntry> retainedFootprint(Footprint result) {
+        long before = usedAfterGc();
+        List<LogEntry> loaded = jsonService.loadLogs();
+        long after = usedAfterGc();
+        result.retainedBytesPerEntry = (after - before) / (double) loaded.size();
+        return loaded;
+    }
+
+    private static long usedAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.metrics.Counter;
+import com.example.stockautomationsystem.metrics.LatencyHistogram;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Ölçüm noktalarının maliyeti (işlem başına ns). "-prof gc" ile çalıştırıldığında record/increment için
+// gc.alloc.rate.norm 0 B/op olmalıdır.
+//   timerRecord : histograma bir değer (rastgele 1 us - 100 ms)
+//   timedNoop   : ölçüm noktasının tamamı; nanoTime + recordSince
+//   counter     : LongAdder sayaç
+//   lookupRecord: metriği her seferinde adla bulup kaydetme (static final alanda saklamanın karşılığı)
+//   snapshot    : histogramın kopyası ve p99 (raporlayıcı ve JMX okuması)
+// 04 sonekli olanlar aynı metriğe dört thread'den yazar.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private LatencyHistogram timer;
+    private Counter counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        timer = registry.timer("bench.timer");
+        counter = registry.counter("bench.counter");
+        for (int i = 0; i < 100; i++) registry.timer("bench.other" + i);
+        for (int i = 0; i < 100_000; i++) timer.record(sample());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void timerRecord01() {
+        timer.record(sample());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void timerRecord04() {
+        timer.record(sample());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void timedNoop01() {
+        long start = System.nanoTime();
+        timer.recordSince(start);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void counter01() {
+        counter.increment();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void counter04() {
+        counter.increment();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void lookupRecord01() {
+        registry.timer("bench.timer").record(sample());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long snapshot() {
+        return timer.snapshot().percentileNanos(0.99);
+    }
+
+    private static long sample() {
+        return ThreadLocalRandom.current().nextLong(1_000, 100_000_000);
+    }
+}
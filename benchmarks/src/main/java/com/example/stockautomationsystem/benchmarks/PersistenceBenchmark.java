@@ -0,0 +1,63 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.JsonService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JsonService.saveData / loadData, katalog boyutuna ve snapshot formatına göre.
+// loadData açılıştaki yükleme süresinin karşılığıdır (JSON ile ikili snapshot karşılaştırması).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    @Param({"json", "binary"})
+    String format;
+
+    private List<Product> products;
+    private Path dir;
+    private JsonService jsonService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = DataGenerator.products(size, 42);
+        dir = DataGenerator.dataDir(products, "binary".equals(format));
+        jsonService = new JsonService(dir, "binary".equals(format));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DataGenerator.delete(dir);
+    }
+
+    @Benchmark
+    public void saveData() {
+        jsonService.saveData(products);
+    }
+
+    @Benchmark
+    public List<Product> loadData() {
+        return jsonService.loadData();
+    }
+}
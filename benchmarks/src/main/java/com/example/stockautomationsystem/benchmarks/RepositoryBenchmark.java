@@ -0,0 +1,69 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.exception.InvalidProductException;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.InventoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// InventoryRepository indeksleri: ada göre arama, ekleme (+ geri silme), kategori ve düşük stok taraması.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+    @Param({"100000", "1000000"})
+    int size;
+
+    private List<Product> products;
+    private InventoryRepository repository;
+    private Product fresh;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InvalidProductException {
+        products = DataGenerator.products(size, 42);
+        repository = new InventoryRepository();
+        repository.loadAll(products);
+        fresh = new Product("Benchmark Product", "Office", 10.0, 3);
+    }
+
+    @Benchmark
+    public Product findByName() {
+        // Büyük/küçük harf farkı normalize edilerek aranır
+        return repository.findByName(products.get(next++ % size).getName().toUpperCase());
+    }
+
+    @Benchmark
+    public boolean addAndRemove() throws InvalidProductException {
+        repository.add(fresh);
+        return repository.remove(fresh);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Product> findByCategory() {
+        return repository.findByCategory("Grocery");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Product> findLowStock() {
+        return repository.findLowStock(5);
+    }
+}
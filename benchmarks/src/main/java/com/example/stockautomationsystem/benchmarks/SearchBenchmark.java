@@ -0,0 +1,76 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Arama kutusuna yazılan her harfte tablonun yeniden filtrelenmesi. scanPredicate, MainController.initialize
+// içindeki ilk sürümün yüklemidir (her üründe ad ve kategori küçük harfe çevrilip aranır); indexFilter,
+// şimdiki applyFilter gibi önce trigram indeksinden aday kümeyi alır, sonra listeyi bu kümeyle süzer.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    @Param({"10000", "100000"})
+    int size;
+
+    @Param({"drill", "bosch chair 12", "e"})
+    String query;
+
+    private List<Product> products;
+    private SearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = DataGenerator.products(size, 42);
+        index = new SearchIndex();
+        index.rebuild(products);
+    }
+
+    @Benchmark
+    public int scanPredicate() {
+        String lowerCaseFilter = query.toLowerCase();
+        int visible = 0;
+        for (Product product : products) {
+            if (product.getName().toLowerCase().contains(lowerCaseFilter)
+                    || product.getCategory().toLowerCase().contains(lowerCaseFilter)) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    @Benchmark
+    public int indexFilter() {
+        Set<Product> matches = index.search(query);
+        int visible = 0;
+        for (Product product : products) {
+            if (matches == null || matches.contains(product)) visible++;
+        }
+        return visible;
+    }
+
+    // Yalnızca aday kümenin bulunması (listeyi süzme maliyeti hariç)
+    @Benchmark
+    public Set<Product> indexLookup() {
+        return index.search(query);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.JsonService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Kuşaklı, checksum'lı snapshot'ın maliyeti:
+//   atomicWrite       : geçici dosya + .meta + fsync + yeniden adlandırma + dizin fsync (JsonService.saveData)
+//   directWrite       : eski yol, inventory.json'un üzerine doğrudan yazma (fsync yok)
+//   amplification     : atomicWrite ile aynı yazım; sonuç yardımcı sayaçlardadır
+//   recoverNewest     : açılış; en yeni kuşağın CRC'si doğrulanıp okunur
+//   recoverCorrupted  : en yeni kuşak bozuk; bir önceki kuşağa dönülür
+// Yazma amplifikasyonu yardımcı sayaçlardadır: diske yazılan byte / içerik byte'ı (/proc/self/io'dan,
+// yoksa dosya boyutundan) ve saklanan kuşakların toplam boyutu / tek kuşak.
+// Açılış tek seferlik bir iş olduğu için ölçümler tek atımlıktır.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotRecoveryBenchmark {
+    @Param({"10000", "100000"})
+    int size;
+
+    @Param({"json", "binary"})
+    String format;
+
+    private static final int GENERATIONS = 3;
+
+    private List<Product> products;
+    private Path dir;
+    private Path corruptedDir;
+    private JsonService jsonService;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Amplification {
+        public double writeAmplification;
+        public double storageAmplification;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        products = DataGenerator.products(size, 42);
+        boolean binary = "binary".equals(format);
+        dir = Files.createTempDirectory("stock-bench");
+        jsonService = new JsonService(dir, binary, GENERATIONS);
+        for (int i = 0; i < GENERATIONS; i++) jsonService.saveData(products);
+
+        corruptedDir = Files.createTempDirectory("stock-bench");
+        JsonService corrupted = new JsonService(corruptedDir, binary, GENERATIONS);
+        for (int i = 0; i < GENERATIONS; i++) corrupted.saveData(products);
+        // Yarıda kalmış bir yazımı taklit eder: en yeni kuşağın ortasındaki bir byte bozulur
+        Path newest = corruptedDir.resolve(snapshotName());
+        byte[] bytes = Files.readAllBytes(newest);
+        bytes[bytes.length / 2] ^= 0x20;
+        Files.write(newest, bytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DataGenerator.delete(dir);
+        DataGenerator.delete(corruptedDir);
+    }
+
+    @Benchmark
+    public void atomicWrite() {
+        jsonService.saveData(products);
+    }
+
+    // EVENTS sayaçları iterasyonlar boyunca toplandığı için tek ölçüm iterasyonu
+    @Benchmark
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 1)
+    public void amplification(Amplification result) throws IOException {
+        long before = writtenBytes();
+        jsonService.saveData(products);
+        long fileBytes = Files.size(dir.resolve(snapshotName()));
+        long written = before < 0 ? fileBytes : writtenBytes() - before;
+        result.writeAmplification = written / (double) fileBytes;
+        result.storageAmplification = retainedBytes() / (double) fileBytes;
+    }
+
+    @Benchmark
+    public void directWrite() throws IOException {
+        mapper.writeValue(dir.resolve("direct.json").toFile(), products);
+    }
+
+    @Benchmark
+    public int recoverNewest() {
+        return new JsonService(dir, "binary".equals(format), GENERATIONS).loadData().size();
+    }
+
+    @Benchmark
+    public int recoverCorrupted() {
+        return new JsonService(corruptedDir, "binary".equals(format), GENERATIONS).loadData().size();
+    }
+
+    private String snapshotName() {
+        return "binary".equals(format) ? "inventory.snap" : "inventory.json";
+    }
+
+    private long retainedBytes() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(snapshotName()))
+                    .mapToLong(f -> {
+                        try {
+                            return Files.size(f);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }).sum();
+        }
+    }
+
+    // Linux'ta sürecin write sistem çağrılarıyla yazdığı toplam byte; okunamazsa -1
+    private static long writtenBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/io"))) {
+                if (line.startsWith("wchar:")) return Long.parseLong(line.substring(6).trim());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Linux dışı sistemler
+        }
+        return -1;
+    }
+}
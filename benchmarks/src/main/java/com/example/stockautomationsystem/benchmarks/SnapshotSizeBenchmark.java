@@ -0,0 +1,76 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.JsonService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Snapshot dosyasının boyutu (bytes ve ürün başına bytes) JSON ve ikili format için.
+// Ölçüm tek seferlik yazma süresidir; asıl sonuç yardımcı sayaçlardadır. EVENTS sayaçları iterasyonlar
+// boyunca toplandığı için tek ölçüm iterasyonu kullanılır. Süreler için PersistenceBenchmark'a bakın.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotSizeBenchmark {
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"json", "binary"})
+    String format;
+
+    private List<Product> products;
+    private Path dir;
+    private JsonService jsonService;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class FileSize {
+        public long fileBytes;
+        public double bytesPerProduct;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        products = DataGenerator.products(size, 42);
+        dir = Files.createTempDirectory("stock-bench");
+        jsonService = new JsonService(dir, "binary".equals(format));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DataGenerator.delete(dir);
+    }
+
+    @Benchmark
+    public void write(FileSize result) {
+        jsonService.saveData(products);
+        try {
+            result.fileBytes = Files.size(dir.resolve("binary".equals(format) ? "inventory.snap" : "inventory.json"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        result.bytesPerProduct = result.fileBytes / (double) size;
+    }
+}
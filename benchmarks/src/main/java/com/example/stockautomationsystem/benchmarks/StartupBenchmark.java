@@ -0,0 +1,81 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.cli.StockCli;
+import com.example.stockautomationsystem.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Soğuk başlangıç: yeni bir JVM'de komut satırı aracının envanteri yükleyip çıkması (JSON ve ikili snapshot).
+// cds=on: önce aynı komutla bir eğitim çalıştırması -XX:ArchiveClassesAtExit ile sınıf arşivini yazar,
+// ölçümler -XX:SharedArchiveFile ile yapılır. JavaFX arayüzünün açılışı FirstFrameBenchmark'tadır.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"json", "binary"})
+    String format;
+
+    @Param({"off", "on"})
+    String cds;
+
+    private Path dir;
+    private ProcessBuilder command;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        List<Product> products = DataGenerator.products(size, 42);
+        dir = DataGenerator.dataDir(products, "binary".equals(format));
+        if ("on".equals(cds)) {
+            Path archive = dir.resolve("cli.jsa");
+            int status = command("-XX:ArchiveClassesAtExit=" + archive)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD).start().waitFor();
+            if (status != 0) throw new IllegalStateException("CDS training run exited with " + status);
+            command = command("-XX:SharedArchiveFile=" + archive);
+        } else {
+            command = command("-Xshare:auto");
+        }
+    }
+
+    private ProcessBuilder command(String cdsOption) {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, cdsOption, "-cp", System.getProperty("java.class.path"),
+                "-Dstock.data.dir=" + dir, "-Dstock.snapshot.format=" + format,
+                StockCli.class.getName(), "low", "0")
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DataGenerator.delete(dir);
+    }
+
+    @Benchmark
+    public int cliStartup() throws IOException, InterruptedException {
+        int status = command.start().waitFor();
+        if (status != 0) throw new IllegalStateException("CLI exited with " + status);
+        return status;
+    }
+}
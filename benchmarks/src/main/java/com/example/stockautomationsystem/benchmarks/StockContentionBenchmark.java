@@ -0,0 +1,92 @@
+package com.example.stockautomationsystem.benchmarks;
+
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.service.InventoryRepository;
+import com.example.stockautomationsystem.service.StockEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Tek bir "sıcak" üründe eş zamanlı stok düşme: Product.reduceStock (tek CAS döngüsü) ve
+// StockEngine.purchase (reserve + commit). Thread sayısı 1, 4, 16 ve 64; sonuçlar toplam işlem/sn'dir.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StockContentionBenchmark {
+    private Product product;
+    private StockEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        product = new Product("Gaming Mouse 1", "Electronics", 450.0, 0);
+        engine = new StockEngine(new InventoryRepository());
+    }
+
+    // Her iterasyonda stok tükenmeyecek kadar yükseltilir
+    @Setup(Level.Iteration)
+    public void restock() {
+        product.setStockQuantity(Integer.MAX_VALUE - 1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void reduceStock01() {
+        product.reduceStock(1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void reduceStock04() {
+        product.reduceStock(1);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void reduceStock16() {
+        product.reduceStock(1);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void reduceStock64() {
+        product.reduceStock(1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void enginePurchase01() {
+        engine.purchase(product, 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void enginePurchase04() {
+        engine.purchase(product, 1);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void enginePurchase16() {
+        engine.purchase(product, 1);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void enginePurchase64() {
+        engine.purchase(product, 1);
+    }
+}
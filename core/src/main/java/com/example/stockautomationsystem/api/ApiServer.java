@@ -0,0 +1,409 @@
+package com.example.stockautomationsystem.api;
+
+import com.example.stockautomationsystem.exception.InsufficientStockException;
+import com.example.stockautomationsystem.metrics.LatencyHistogram;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.model.ProductState;
+import com.example.stockautomationsystem.service.InventoryHistory;
+import com.example.stockautomationsystem.service.InventoryService;
+import com.example.stockautomationsystem.service.LocationStore;
+import com.example.stockautomationsystem.service.LogQuery;
+import com.example.stockautomationsystem.service.OrderService;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Kasa terminalleri ve depo okuyucuları için yerel HTTP/JSON arayüzü. Arayüzle aynı InventoryService'i kullanır.
+//   GET  /api/health                      durum ve ürün sayısı
+//   GET  /api/products?category=&q=&below=&offset=&limit=
+//   GET  /api/products/{name}
+//   POST /api/products/lookup             ["ad", ...] -> her ad için ürün ya da null
+//   POST /api/orders                      {"user": "...", "lines": [{"product": "...", "quantity": 1}]}
+//   POST /api/orders/batch                [sipariş, ...] -> her sipariş için ayrı sonuç
+//   GET  /api/logs?action=&user=&from=&to=&offset=&limit=
+//   GET  /api/categories                  kategori başına ürün sayısı, toplam stok ve stok değeri
+//   GET  /api/locations                   konum başına ve tüm konumlarda ürün sayısı, stok ve stok değeri
+//   GET  /api/history?at=&product=&offset=&limit=   at anındaki (epoch ms) ürünler ya da tek ürün
+//   GET  /api/metrics                     sayaçlar, gauge'lar ve gecikme özetleri (başlangıçtan beri)
+// Her istek kendi (mümkünse sanal) thread'inde çalışır; sipariş yanıtları kayıt fsync ile diske
+// zorlandıktan sonra döner.
+public class ApiServer implements AutoCloseable {
+    public static final String DEFAULT_HOST = "127.0.0.1";
+    public static final int DEFAULT_PORT = 8085;
+    private static final int MAX_PAGE = 1000;
+    private static final int MAX_BATCH = 10_000;
+    // İsteğin alınmasından yanıtın yazılmasına kadar; siparişlerde diske yazmayı bekleme de dahildir
+    private static final LatencyHistogram REQUEST_TIME = MetricsRegistry.global().timer("api.request");
+
+    public record ProductView(String name, String category, double price, int stockQuantity, int available) {
+        static ProductView of(Product p) {
+            return p == null ? null : new ProductView(p.getName(), p.getCategory(), p.getPrice(),
+                    p.getStockQuantity(), p.getAvailableQuantity());
+        }
+    }
+
+    public record OrderLine(String product, int quantity) {
+    }
+
+    public record LocationsView(List<LocationStore.LocationSummary> locations, LocationStore.LocationSummary total) {
+    }
+
+    // checkpoint: durumun üzerine kurulduğu checkpoint'in zamanı; replayed: uygulanan kayıt sayısı
+    public record HistoryView(long at, long checkpoint, int replayed, int total, List<ProductState> products) {
+    }
+
+    public record Order(String user, List<OrderLine> lines) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record OrderResult(String status, String error) {
+        static final OrderResult OK = new OrderResult("ok", null);
+    }
+
+    private final InventoryService inventory;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public ApiServer(InventoryService inventory, InetSocketAddress address) {
+        // Küçük yanıtların keep-alive bağlantılarda Nagle yüzünden ~40 ms beklememesi için; sunucu sınıfı
+        // bu ayarı ilk yüklendiğinde okur
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        this.inventory = inventory;
+        try {
+            server = HttpServer.create(address, Integer.getInteger("stock.api.backlog", 1024));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not bind API server to " + address + ": " + e.getMessage(), e);
+        }
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    // -Dstock.api.host ve -Dstock.api.port ile ayarlanır (varsayılan 127.0.0.1:8085)
+    public static InetSocketAddress addressFromSystemProperties() {
+        return new InetSocketAddress(System.getProperty("stock.api.host", DEFAULT_HOST),
+                Integer.getInteger("stock.api.port", DEFAULT_PORT));
+    }
+
+    public void start() {
+        MetricsRegistry.global().gauge("api.requests", requests::sum);
+        MetricsRegistry.global().gauge("api.failures", failures::sum);
+        server.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    // Yeni istek kabul edilmez; süren istekler en fazla bir saniye beklenir
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    // JDK 21+ üzerinde istek başına sanal thread; daha eski sürümlerde sınırlı bir platform thread havuzu
+    static ExecutorService newRequestExecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Integer.getInteger("stock.api.threads",
+                    Math.max(64, Runtime.getRuntime().availableProcessors() * 16));
+            AtomicInteger n = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "api-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        requests.increment();
+        int status = 200;
+        Object body;
+        try {
+            if (!inventory.isOpen()) throw new HttpError(503, "Inventory is still loading");
+            body = route(exchange);
+        } catch (HttpError e) {
+            status = e.status;
+            body = Map.of("error", String.valueOf(e.getMessage()));
+        } catch (JsonProcessingException e) {
+            status = 400;
+            body = Map.of("error", "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = Map.of("error", String.valueOf(e.getMessage()));
+        } catch (InsufficientStockException e) {
+            status = 409;
+            body = Map.of("error", String.valueOf(e.getMessage()));
+        } catch (RuntimeException e) {
+            status = 500;
+            body = Map.of("error", String.valueOf(e.getMessage()));
+        }
+        if (status >= 400) failures.increment();
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        REQUEST_TIME.recordSince(start);
+    }
+
+    private Object route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        switch (path) {
+            case "/api/health" -> {
+                requireMethod(method, "GET");
+                return Map.of("status", "ok", "products", inventory.getRepository().size());
+            }
+            case "/api/products" -> {
+                requireMethod(method, "GET");
+                return listProducts(query);
+            }
+            case "/api/products/lookup" -> {
+                requireMethod(method, "POST");
+                List<String> names = mapper.readValue(exchange.getRequestBody(), new TypeReference<List<String>>() {
+                });
+                checkBatchSize(names.size());
+                List<ProductView> result = new ArrayList<>(names.size());
+                for (String name : names) result.add(ProductView.of(inventory.getRepository().findByName(name)));
+                return result;
+            }
+            case "/api/orders" -> {
+                requireMethod(method, "POST");
+                Order order = mapper.readValue(exchange.getRequestBody(), Order.class);
+                await(placeOrder(order, defaultUser(exchange)));
+                return OrderResult.OK;
+            }
+            case "/api/orders/batch" -> {
+                requireMethod(method, "POST");
+                List<Order> orders = mapper.readValue(exchange.getRequestBody(), new TypeReference<List<Order>>() {
+                });
+                checkBatchSize(orders.size());
+                return placeBatch(orders, defaultUser(exchange));
+            }
+            case "/api/logs" -> {
+                requireMethod(method, "GET");
+                return queryLogs(query);
+            }
+            case "/api/categories" -> {
+                requireMethod(method, "GET");
+                return inventory.getCategoryIndex().summaries();
+            }
+            case "/api/locations" -> {
+                requireMethod(method, "GET");
+                LocationStore store = inventory.getLocationStore();
+                return new LocationsView(store.summaries(), store.totalSummary());
+            }
+            case "/api/history" -> {
+                requireMethod(method, "GET");
+                return history(query);
+            }
+            case "/api/metrics" -> {
+                requireMethod(method, "GET");
+                return MetricsRegistry.global().snapshot();
+            }
+            default -> {
+                if (path.startsWith("/api/products/")) {
+                    requireMethod(method, "GET");
+                    String name = path.substring("/api/products/".length());
+                    Product p = inventory.getRepository().findByName(name);
+                    if (p == null) throw new HttpError(404, "No product named " + name);
+                    return ProductView.of(p);
+                }
+                throw new HttpError(404, "Unknown endpoint: " + path);
+            }
+        }
+    }
+
+    private List<ProductView> listProducts(Map<String, String> query) {
+        List<Product> products;
+        if (query.containsKey("below")) {
+            products = inventory.getRepository().findLowStock(intParam(query, "below", 0));
+        } else if (query.containsKey("category")) {
+            products = inventory.getRepository().findByCategory(query.get("category"));
+        } else {
+            products = inventory.getRepository().findAll();
+            products.sort(Comparator.comparing(Product::getName, String.CASE_INSENSITIVE_ORDER));
+        }
+        if (query.containsKey("q")) {
+            Set<Product> matches = inventory.getSearchIndex().search(query.get("q"));
+            // Depodan gelen liste değiştirilemez olabilir (boş kategori: List.of()); kopyalanarak süzülür
+            if (matches != null) products = products.stream().filter(matches::contains).toList();
+        }
+        int offset = Math.max(0, intParam(query, "offset", 0));
+        int limit = Math.min(MAX_PAGE, Math.max(0, intParam(query, "limit", 100)));
+        List<ProductView> page = new ArrayList<>(Math.min(limit, Math.max(0, products.size() - offset)));
+        for (int i = offset; i < products.size() && page.size() < limit; i++) page.add(ProductView.of(products.get(i)));
+        return page;
+    }
+
+    // Tüm siparişler önce uygulanır, sonra birlikte beklenir; yazıcı hepsini tek seferde diske yazar
+    private List<OrderResult> placeBatch(List<Order> orders, String defaultUser) {
+        List<OrderResult> results = new ArrayList<>(orders.size());
+        List<CompletableFuture<Void>> written = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            try {
+                written.add(placeOrder(order, defaultUser));
+                results.add(OrderResult.OK);
+            } catch (HttpError | IllegalArgumentException | InsufficientStockException e) {
+                written.add(null);
+                results.add(new OrderResult("rejected", e.getMessage()));
+            }
+        }
+        for (int i = 0; i < written.size(); i++) {
+            if (written.get(i) == null) continue;
+            try {
+                written.get(i).join();
+            } catch (CompletionException e) {
+                results.set(i, new OrderResult("failed", "Could not save order: " + e.getCause().getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private CompletableFuture<Void> placeOrder(Order order, String defaultUser) {
+        if (order == null || order.lines() == null || order.lines().isEmpty()) {
+            throw new IllegalArgumentException("Order has no line items.");
+        }
+        List<OrderService.OrderLine> lines = new ArrayList<>(order.lines().size());
+        for (OrderLine line : order.lines()) {
+            Product p = line.product() == null ? null : inventory.getRepository().findByName(line.product());
+            if (p == null) throw new HttpError(404, "No product named " + line.product());
+            lines.add(new OrderService.OrderLine(p, line.quantity()));
+        }
+        String user = order.user() == null || order.user().isBlank() ? defaultUser : order.user().trim();
+        return inventory.placeOrder(user, lines);
+    }
+
+    private Object history(Map<String, String> query) {
+        if (!query.containsKey("at")) throw new IllegalArgumentException("Parameter at is required");
+        InventoryHistory.View view = inventory.getHistory().at(longParam(query, "at", 0));
+        if (query.containsKey("product")) {
+            ProductState p = view.product(query.get("product"));
+            if (p == null) throw new HttpError(404, "No product named " + query.get("product") + " at that time");
+            return p;
+        }
+        List<ProductState> products = view.products();
+        int offset = Math.min(products.size(), Math.max(0, intParam(query, "offset", 0)));
+        int limit = Math.min(MAX_PAGE, Math.max(0, intParam(query, "limit", 100)));
+        return new HistoryView(view.getTimestamp(), view.getCheckpoint(), view.getReplayed(), products.size(),
+                products.subList(offset, Math.min(products.size(), offset + limit)));
+    }
+
+    private List<LogEntry> queryLogs(Map<String, String> query) {
+        String action = query.get("action");
+        LogQuery.Filter filter = new LogQuery.Filter(
+                action == null ? null : LogEntry.Action.of(action.toUpperCase()),
+                query.get("user"),
+                longParam(query, "from", Long.MIN_VALUE),
+                longParam(query, "to", Long.MAX_VALUE));
+        int offset = Math.max(0, intParam(query, "offset", 0));
+        int limit = Math.min(MAX_PAGE, Math.max(0, intParam(query, "limit", 100)));
+        return inventory.getLogStore().query(filter).page(offset, limit);
+    }
+
+    private static void await(CompletableFuture<Void> written) {
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            throw new HttpError(500, "Could not save order: " + e.getCause().getMessage());
+        }
+    }
+
+    private static String defaultUser(HttpExchange exchange) {
+        String user = exchange.getRequestHeaders().getFirst("X-User");
+        return user == null || user.isBlank() ? "api" : user.trim();
+    }
+
+    private static void requireMethod(String actual, String expected) {
+        if (!expected.equals(actual)) throw new HttpError(405, "Use " + expected);
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size > MAX_BATCH) throw new HttpError(413, "At most " + MAX_BATCH + " items per batch");
+    }
+
+    private static Map<String, String> parseQuery(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int def) {
+        String v = query.get(name);
+        try {
+            return v == null ? def : Integer.parseInt(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a number");
+        }
+    }
+
+    private static long longParam(Map<String, String> query, String name, long def) {
+        String v = query.get(name);
+        try {
+            return v == null ? def : Long.parseLong(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a number");
+        }
+    }
+
+    private static class HttpError extends RuntimeException {
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
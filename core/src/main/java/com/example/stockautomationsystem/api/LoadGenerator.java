@@ -0,0 +1,188 @@
+package com.example.stockautomationsystem.api;
+
+import com.example.stockautomationsystem.service.InventoryService;
+import com.example.stockautomationsystem.service.JsonService;
+import com.example.stockautomationsystem.service.ThresholdWatcher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Harici servis gerektirmeyen yük testi. --url verilmezse çalışma dizinindeki veriyle aynı JVM'de bir ApiServer
+// açar ve ona istek yollar. Sabit sayıda istek sürekli havada tutulur; sonda istek/s ve gecikme yüzdelikleri basılır.
+//   java -cp stock-core.jar com.example.stockautomationsystem.api.LoadGenerator
+//        [--url http://127.0.0.1:8085] [--concurrency 256] [--seconds 10] [--warmup 2] [--batch 0] [--orders 0.0]
+// --batch N: tekil sorgu yerine N ürünlük /api/products/lookup istekleri
+// --orders R: isteklerin R oranı 1 adetlik sipariş (stok gerçekten düşer)
+public class LoadGenerator {
+    private static final int MAX_SAMPLES = 2_000_000;
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final int batchSize;
+    private final double orderRatio;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client;
+    private List<String> names;
+
+    private final long[] latencies = new long[MAX_SAMPLES];
+    private final AtomicInteger samples = new AtomicInteger();
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public LoadGenerator(String baseUrl, int concurrency, int batchSize, double orderRatio) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.batchSize = batchSize;
+        this.orderRatio = orderRatio;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread t = new Thread(r, "loadgen-client");
+                    t.setDaemon(true);
+                    return t;
+                }))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            opts.put(args[i].substring(2), args[i + 1]);
+        }
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "256"));
+        int seconds = Integer.parseInt(opts.getOrDefault("seconds", "10"));
+        int warmup = Integer.parseInt(opts.getOrDefault("warmup", "2"));
+        int batch = Integer.parseInt(opts.getOrDefault("batch", "0"));
+        double orders = Double.parseDouble(opts.getOrDefault("orders", "0"));
+
+        String url = opts.get("url");
+        InventoryService inventory = null;
+        ApiServer server = null;
+        try {
+            if (url == null) {
+                inventory = new InventoryService(new JsonService(), new ThresholdWatcher.Rules());
+                inventory.open(null, e -> System.err.println("Skipped invalid product: " + e.getMessage()));
+                server = new ApiServer(inventory, new InetSocketAddress("127.0.0.1", 0));
+                server.start();
+                url = "http://127.0.0.1:" + server.getAddress().getPort();
+                System.out.println("Started in-process API server at " + url);
+            }
+            LoadGenerator generator = new LoadGenerator(url, concurrency, batch, orders);
+            generator.loadProductNames();
+            generator.run(Duration.ofSeconds(warmup), false);
+            long start = System.nanoTime();
+            generator.run(Duration.ofSeconds(seconds), true);
+            generator.report(System.nanoTime() - start);
+        } finally {
+            if (server != null) server.close();
+            if (inventory != null) inventory.close();
+        }
+    }
+
+    void loadProductNames() throws Exception {
+        HttpResponse<byte[]> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/products?limit=1000")).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/products returned " + response.statusCode());
+        }
+        List<Map<String, Object>> products = mapper.readValue(response.body(),
+                new TypeReference<List<Map<String, Object>>>() {
+                });
+        names = new ArrayList<>(products.size());
+        for (Map<String, Object> p : products) names.add((String) p.get("name"));
+        if (names.isEmpty()) throw new IllegalStateException("No products to query; add some products first.");
+    }
+
+    // concurrency kadar istek hep havadadır; biri bitince yenisi gönderilir
+    void run(Duration duration, boolean record) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            HttpRequest request = nextRequest();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                if (record) {
+                    int i = samples.getAndIncrement();
+                    if (i < MAX_SAMPLES) latencies[i] = System.nanoTime() - sent;
+                    if (ex != null) errors.increment();
+                    else if (response.statusCode() / 100 == 2) ok.increment();
+                    else if (response.statusCode() == 409) rejected.increment();
+                    else errors.increment();
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(concurrency);
+    }
+
+    private HttpRequest nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String name = names.get(random.nextInt(names.size()));
+        try {
+            if (random.nextDouble() < orderRatio) {
+                byte[] body = mapper.writeValueAsBytes(new ApiServer.Order("loadgen",
+                        List.of(new ApiServer.OrderLine(name, 1))));
+                return post("/api/orders", body);
+            }
+            if (batchSize > 0) {
+                List<String> batch = new ArrayList<>(batchSize);
+                for (int i = 0; i < batchSize; i++) batch.add(names.get(random.nextInt(names.size())));
+                return post("/api/products/lookup", mapper.writeValueAsBytes(batch));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        String encoded = URLEncoder.encode(name, StandardCharsets.UTF_8).replace("+", "%20");
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/" + encoded)).build();
+    }
+
+    private HttpRequest post(String path, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    void report(long elapsedNanos) {
+        int n = Math.min(samples.get(), MAX_SAMPLES);
+        long[] sorted = Arrays.copyOf(latencies, n);
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+        long total = ok.sum() + rejected.sum() + errors.sum();
+        System.out.printf("requests: %d in %.1f s (%.0f req/s", total, seconds, total / seconds);
+        if (batchSize > 0) System.out.printf(", %.0f lookups/s", total * (1 - orderRatio) * batchSize / seconds);
+        System.out.printf(")%nok: %d  rejected (409): %d  errors: %d%n", ok.sum(), rejected.sum(), errors.sum());
+        if (n == 0) return;
+        System.out.printf("latency ms  p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted[n - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double q) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(q * sorted.length) - 1)] / 1e6;
+    }
+}
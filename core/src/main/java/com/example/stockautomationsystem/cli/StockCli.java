@@ -0,0 +1,410 @@
+package com.example.stockautomationsystem.cli;
+
+import com.example.stockautomationsystem.api.ApiServer;
+import com.example.stockautomationsystem.exception.InvalidProductException;
+import com.example.stockautomationsystem.metrics.LatencyHistogram;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.model.ProductState;
+import com.example.stockautomationsystem.service.AuthService;
+import com.example.stockautomationsystem.service.CatalogService;
+import com.example.stockautomationsystem.service.CategoryIndex;
+import com.example.stockautomationsystem.service.InventoryHistory;
+import com.example.stockautomationsystem.service.InventoryService;
+import com.example.stockautomationsystem.service.JsonService;
+import com.example.stockautomationsystem.service.LocationStore;
+import com.example.stockautomationsystem.service.OrderService;
+import com.example.stockautomationsystem.service.ThresholdWatcher;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// JavaFX olmadan çalışan komut satırı aracı. Arayüzle aynı InventoryService'i ve aynı veri dosyalarını kullanır:
+//   java -jar stock-core.jar [--user NAME] <komut> [argümanlar]
+// "batch FILE" her satırda bir komut çalıştırır; hatalı satırlar raporlanır ve atlanır.
+public class StockCli {
+    private final InventoryService inventory;
+    private final String user;
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public StockCli(InventoryService inventory, String user, PrintStream out, PrintStream err) {
+        this.inventory = inventory;
+        this.user = user;
+        this.out = out;
+        this.err = err;
+    }
+
+    public static void main(String[] args) {
+        List<String> rest = new ArrayList<>(Arrays.asList(args));
+        String user = "cli";
+        if (rest.size() >= 2 && rest.get(0).equals("--user")) {
+            user = rest.get(1);
+            rest = rest.subList(2, rest.size());
+        }
+        if (rest.isEmpty() || rest.get(0).equals("help")) {
+            printUsage(System.out);
+            return;
+        }
+
+        JsonService jsonService = new JsonService();
+        int status;
+        try (InventoryService inventory = new InventoryService(jsonService, loadRules(jsonService))) {
+            inventory.open(null, e -> System.err.println("Skipped invalid product: " + e.getMessage()));
+            StockCli cli = new StockCli(inventory, user, System.out, System.err);
+            status = cli.run(rest) ? 0 : 1;
+            inventory.flush().join();
+        } catch (RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+            status = 2;
+        }
+        System.exit(status);
+    }
+
+    // Komut başarılıysa true döner; hata mesajı err'e yazılır
+    public boolean run(List<String> command) {
+        try {
+            execute(command);
+            return true;
+        } catch (InvalidProductException | RuntimeException e) {
+            err.println("Error: " + (e.getMessage() == null ? e.toString() : e.getMessage()));
+            return false;
+        }
+    }
+
+    private void execute(List<String> c) throws InvalidProductException {
+        String name = c.get(0);
+        switch (name) {
+            case "list" -> {
+                expectArgs(c, 0, 1);
+                List<Product> products = c.size() == 2
+                        ? inventory.getRepository().findByCategory(c.get(1))
+                        : inventory.getRepository().findAll();
+                products.sort(Comparator.comparing(Product::getName, String.CASE_INSENSITIVE_ORDER));
+                products.forEach(this::printProduct);
+            }
+            case "low" -> {
+                expectArgs(c, 0, 1);
+                if (c.size() == 2) {
+                    inventory.getRepository().findLowStock(parseInt(c.get(1))).forEach(this::printProduct);
+                } else {
+                    // Eşik verilmezse alert-rules.json'daki kurallar kullanılır
+                    ThresholdWatcher watcher = inventory.getThresholdWatcher();
+                    inventory.getRepository().findAll().stream()
+                            .filter(p -> p.getStockQuantity() < watcher.thresholdFor(p))
+                            .sorted(Comparator.comparingInt(Product::getStockQuantity))
+                            .forEach(this::printProduct);
+                }
+            }
+            case "categories" -> {
+                expectArgs(c, 0, 0);
+                for (CategoryIndex.Summary s : inventory.getCategoryIndex().summaries()) {
+                    out.printf("%-20s %8d %10d %14.2f%n", s.category(), s.products(), s.units(), s.stockValue());
+                }
+            }
+            case "locations" -> {
+                expectArgs(c, 0, 0);
+                LocationStore store = inventory.getLocationStore();
+                for (LocationStore.LocationSummary s : store.summaries()) printLocation(s);
+                printLocation(store.totalSummary());
+            }
+            case "location-add" -> {
+                expectArgs(c, 1, 1);
+                if (!inventory.addLocation(c.get(1))) {
+                    throw new IllegalArgumentException("Location already exists: " + c.get(1));
+                }
+                out.println("Added location " + c.get(1));
+            }
+            case "stock" -> {
+                expectArgs(c, 1, 1);
+                Product p = require(c.get(1));
+                inventory.getLocationStore().breakdown(p).forEach((location, qty) ->
+                        out.printf("%-20s %8d%n", location, qty));
+                out.printf("%-20s %8d%n", "All locations", inventory.getLocationStore().total(p));
+            }
+            case "receive" -> {
+                expectArgs(c, 3, 3);
+                int qty = parseInt(c.get(3));
+                Product p = require(c.get(2));
+                LocationStore store = inventory.getLocationStore();
+                String location = store.canonicalName(c.get(1));
+                inventory.receiveStock(user, location, p, qty);
+                out.println("Received " + qty + " x " + p.getName() + " at " + location + ", "
+                        + store.stockAt(location, p) + " there now");
+            }
+            case "transfer" -> {
+                expectArgs(c, 4, 4);
+                int qty = parseInt(c.get(4));
+                Product p = require(c.get(1));
+                LocationStore store = inventory.getLocationStore();
+                String from = store.canonicalName(c.get(2));
+                String to = store.canonicalName(c.get(3));
+                inventory.transferStock(user, p, from, to, qty);
+                out.println("Moved " + qty + " x " + p.getName() + ": " + from + " " + store.stockAt(from, p)
+                        + ", " + to + " " + store.stockAt(to, p));
+            }
+            case "low-total" -> {
+                expectArgs(c, 1, 1);
+                for (LocationStore.ProductTotal t : inventory.getLocationStore().lowStock(parseInt(c.get(1)))) {
+                    out.printf("%-30s %8d%n", t.product().getName(), t.total());
+                }
+            }
+            case "add" -> {
+                expectArgs(c, 4, 4);
+                InventoryService.validate(c.get(1), c.get(3), c.get(4));
+                Product p = new Product(c.get(1), c.get(2), Double.parseDouble(c.get(3)), Integer.parseInt(c.get(4)));
+                inventory.addProduct(user, p);
+                out.println("Added " + p.getName());
+            }
+            case "delete" -> {
+                expectArgs(c, 1, 1);
+                inventory.deleteProduct(user, require(c.get(1)));
+                out.println("Deleted " + c.get(1));
+            }
+            case "buy" -> {
+                expectArgs(c, 2, 2);
+                int qty = parseInt(c.get(2));
+                if (qty <= 0) throw new IllegalArgumentException("Quantity must be greater than 0.");
+                Product p = require(c.get(1));
+                inventory.purchase(user, p, qty);
+                out.println("Bought " + qty + " x " + p.getName() + ", " + p.getStockQuantity() + " left");
+            }
+            case "replay-till" -> {
+                expectArgs(c, 1, 1);
+                OrderService.ReplayResult result = inventory.replayTillExport(Path.of(c.get(1)), user);
+                out.println("Applied orders: " + result.applied() + ", rejected orders: " + result.rejected());
+                result.errors().forEach(err::println);
+                if (result.rejected() > 0) throw new IllegalStateException(result.rejected() + " orders rejected");
+            }
+            case "import", "import-json" -> {
+                expectArgs(c, 1, 1);
+                long start = System.nanoTime();
+                CatalogService.ImportResult result = inventory.importCatalog(user, Path.of(c.get(1)), null);
+                out.printf("Added %d, updated %d, rejected %d in %.1f s%n", result.added(), result.updated(),
+                        result.rejected(), (System.nanoTime() - start) / 1e9);
+                for (CatalogService.Reject r : result.rejects()) err.println("line " + r.line() + ": " + r.message());
+                if (result.rejected() > result.rejects().size()) {
+                    err.println("... and " + (result.rejected() - result.rejects().size()) + " more");
+                }
+                if (result.rejected() > 0) throw new IllegalStateException(result.rejected() + " products rejected");
+            }
+            case "export", "export-json" -> {
+                expectArgs(c, 1, 1);
+                out.println("Exported " + inventory.exportCatalog(Path.of(c.get(1))) + " products");
+            }
+            case "logs" -> {
+                expectArgs(c, 0, 1);
+                int limit = c.size() == 2 ? parseInt(c.get(1)) : 20;
+                // Aynı batch içindeki önceki komutların logları da görünsün
+                inventory.flush().join();
+                for (LogEntry e : inventory.getLogStore().readNewest(0, limit)) {
+                    out.println(e.getFormattedTimestamp() + "  " + e.getUser() + "  " + e.getAction()
+                            + "  " + e.getDetails());
+                }
+            }
+            case "as-of" -> {
+                expectArgs(c, 1, 2);
+                // Aynı batch içindeki önceki komutlar da geçmişe dahil olsun
+                inventory.flush().join();
+                long start = System.nanoTime();
+                InventoryHistory.View view = inventory.getHistory().at(InventoryHistory.parseTime(c.get(1)));
+                if (c.size() == 3) {
+                    ProductState p = view.product(c.get(2));
+                    if (p == null) throw new IllegalArgumentException("No product named " + c.get(2) + " at that time");
+                    printState(p);
+                } else {
+                    view.products().forEach(this::printState);
+                }
+                err.printf("As of %s: checkpoint %s + %d log entries in %.1f ms%n",
+                        InventoryHistory.format(view.getTimestamp()), InventoryHistory.format(view.getCheckpoint()),
+                        view.getReplayed(), (System.nanoTime() - start) / 1e6);
+            }
+            case "metrics" -> {
+                expectArgs(c, 0, 0);
+                // Bu sürecin ölçümleri; en anlamlısı bir batch dosyasının sonunda
+                inventory.flush().join();
+                MetricsRegistry.global().snapshot().forEach((metric, value) -> {
+                    if (value instanceof LatencyHistogram.Summary s) {
+                        if (s.count() == 0) return;
+                        out.printf("%-26s count=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus%n", metric, s.count(),
+                                s.meanMicros(), s.p50Micros(), s.p99Micros(), s.maxMicros());
+                    } else {
+                        out.printf("%-26s %s%n", metric, value);
+                    }
+                });
+            }
+            case "batch" -> {
+                expectArgs(c, 1, 1);
+                runBatch(Path.of(c.get(1)));
+            }
+            case "serve" -> {
+                expectArgs(c, 0, 1);
+                InetSocketAddress address = ApiServer.addressFromSystemProperties();
+                if (c.size() == 2) address = new InetSocketAddress(address.getHostString(), parseInt(c.get(1)));
+                serve(address);
+            }
+            case "provision-users" -> {
+                expectArgs(c, 1, 1);
+                AuthService auth = new AuthService(inventory.getJsonService());
+                long start = System.nanoTime();
+                AuthService.ProvisionResult result = auth.provisionFromCsv(Path.of(c.get(1)));
+                out.printf("Created %d users, skipped %d in %.1f s (%d users total)%n", result.created(),
+                        result.skipped(), (System.nanoTime() - start) / 1e9, auth.getUserCount());
+                result.errors().forEach(err::println);
+            }
+            case "help" -> printUsage(out);
+            default -> throw new IllegalArgumentException("Unknown command: " + name + " (try 'help')");
+        }
+    }
+
+    // Ctrl+C ile durdurulana kadar çalışır; kapanırken bekleyen yazımlar diske boşaltılır
+    private void serve(InetSocketAddress address) {
+        ApiServer server = new ApiServer(inventory, address);
+        server.start();
+        MetricsRegistry.global().startReporting(inventory.getJsonService().getDataDir());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            inventory.close();
+        }, "api-shutdown"));
+        out.println("Serving " + inventory.getRepository().size() + " products on http://"
+                + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api/");
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Servis bir kez açılır, tüm satırlar sırayla uygulanır; hatalar sayılır ve sonda raporlanır
+    private void runBatch(Path file) {
+        int lineNo = 0, ok = 0, failed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+                List<String> command = tokenize(trimmed);
+                if (command.get(0).equals("batch")) {
+                    err.println("line " + lineNo + ": nested batch is not allowed");
+                    failed++;
+                    continue;
+                }
+                if (run(command)) ok++;
+                else {
+                    err.println("  at line " + lineNo + ": " + trimmed);
+                    failed++;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read batch file: " + file, e);
+        }
+        out.println("Batch finished: " + ok + " succeeded, " + failed + " failed");
+        if (failed > 0) throw new IllegalStateException(failed + " batch commands failed");
+    }
+
+    // Boşluklara göre böler; çift tırnak içindeki boşluklar korunur ("Office Chair")
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false, inToken = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '"') {
+                quoted = !quoted;
+                inToken = true;
+            } else if (Character.isWhitespace(ch) && !quoted) {
+                if (inToken) tokens.add(current.toString());
+                current.setLength(0);
+                inToken = false;
+            } else {
+                current.append(ch);
+                inToken = true;
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quote: " + line);
+        if (inToken) tokens.add(current.toString());
+        return tokens;
+    }
+
+    private Product require(String name) {
+        Product p = inventory.getRepository().findByName(name);
+        if (p == null) throw new IllegalArgumentException("No product named " + name);
+        return p;
+    }
+
+    private void printProduct(Product p) {
+        out.printf("%-30s %-15s %8d %10.2f%n", p.getName(),
+                p.getCategory() == null ? "-" : p.getCategory(), p.getStockQuantity(), p.getPrice());
+    }
+
+    private void printState(ProductState p) {
+        out.printf("%-30s %-15s %8d %10.2f%n", p.name(), p.category() == null ? "-" : p.category(), p.stock(),
+                p.price());
+    }
+
+    private void printLocation(LocationStore.LocationSummary s) {
+        out.printf("%-20s %8d %10d %14.2f%n", s.location(), s.products(), s.units(), s.stockValue());
+    }
+
+    private static void expectArgs(List<String> c, int min, int max) {
+        int n = c.size() - 1;
+        if (n < min || n > max) {
+            throw new IllegalArgumentException("Wrong number of arguments for " + c.get(0) + " (try 'help')");
+        }
+    }
+
+    private static int parseInt(String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + s);
+        }
+    }
+
+    private static ThresholdWatcher.Rules loadRules(JsonService jsonService) {
+        try {
+            return jsonService.loadAlertRules();
+        } catch (RuntimeException e) {
+            System.err.println("Alert rules ignored: " + e.getMessage());
+            return new ThresholdWatcher.Rules();
+        }
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("Usage: stock-cli [--user NAME] <command> [args]");
+        out.println("  list [CATEGORY]                  list products, optionally in one category");
+        out.println("  low [THRESHOLD]                  products below THRESHOLD, or below their alert rule");
+        out.println("  categories                       product count, units and stock value per category");
+        out.println("  locations                        product count, units and stock value per location");
+        out.println("  location-add NAME                add a warehouse or store location");
+        out.println("  stock NAME                       stock of a product at each location");
+        out.println("  receive LOCATION NAME QTY        receive QTY units of a product at a location");
+        out.println("  transfer NAME FROM TO QTY        move QTY units between locations");
+        out.println("  low-total THRESHOLD              products whose stock across all locations is below THRESHOLD");
+        out.println("  add NAME CATEGORY PRICE STOCK    add a product");
+        out.println("  delete NAME                      delete a product");
+        out.println("  buy NAME QTY                     purchase QTY units");
+        out.println("  replay-till FILE                 replay a till export (CSV)");
+        out.println("  import FILE                      add or update products from a .csv or .json catalog");
+        out.println("  export FILE                      write all products as .csv or .json");
+        out.println("  logs [N]                         show the N newest log entries (default 20)");
+        out.println("  as-of TIME [NAME]                products (or one product) as they were at TIME");
+        out.println("                                   (\"yyyy-MM-dd HH:mm:ss\", yyyy-MM-ddTHH:mm or epoch ms)");
+        out.println("  metrics                          counters, gauges and latency percentiles of this run");
+        out.println("  batch FILE                       run one command per line; '#' starts a comment");
+        out.println("  serve [PORT]                     serve the HTTP API until stopped (default port 8085)");
+        out.println("  provision-users FILE             create accounts from CSV lines: username,password[,admin]");
+        out.println("Names containing spaces must be quoted: add \"Office Chair\" Home 99.9 5");
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.stockautomationsystem.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Sadece artan sayaç. Çok thread'den eş zamanlı artırılabilir; artırma nesne üretmez.
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long n) {
+        value.add(n);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.stockautomationsystem.metrics;
+
+import jdk.jfr.EventType;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// HdrHistogram tarzı gecikme histogramı (nanosaniye). 128 ns'ye kadar her değer kendi kovasındadır; üstünde
+// her ikinin kuvveti aralığı 64 kovaya bölünür, yani bir kovanın genişliği değerin en fazla %1,6'sidir.
+// ~2^41 ns'den (yaklaşık 36 dakika) uzun süreler son kovaya düşer. Kaydetme sabit zamanlıdır, kilit almaz
+// ve nesne üretmez; okuma (snapshot) kova dizisinin kopyasını alır.
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF = SUB_COUNT / 2;
+    private static final int MAX_SHIFT = 34;
+    static final int BUCKETS = SUB_COUNT + MAX_SHIFT * HALF;
+
+    // JFR modülü yalnızca istenirse yüklenir; açılışa maliyet eklemez
+    private static final EventType JFR = Boolean.getBoolean("stock.metrics.jfr")
+            ? EventType.getEventType(OperationEvent.class) : null;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(index(v));
+        totalNanos.add(v);
+        long max;
+        while (v > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, v)) {
+            // başka bir thread daha büyük bir değer yazdıysa döngü biter
+        }
+        if (JFR != null && JFR.isEnabled()) emit(v);
+    }
+
+    // long start = System.nanoTime(); ... timer.recordSince(start);
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum(), maxNanos.get());
+    }
+
+    private void emit(long nanos) {
+        OperationEvent e = new OperationEvent();
+        e.operation = name;
+        e.elapsed = nanos;
+        e.commit();
+    }
+
+    static int index(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int shift = 63 - Long.numberOfLeadingZeros(v) - (SUB_BITS - 1);
+        if (shift > MAX_SHIFT) return BUCKETS - 1;
+        return SUB_COUNT + (shift - 1) * HALF + (int) (v >>> shift) - HALF;
+    }
+
+    // Kovadaki en büyük değer
+    static long upperBound(int i) {
+        if (i < SUB_COUNT) return i;
+        int shift = (i - SUB_COUNT) / HALF + 1;
+        long top = (i - SUB_COUNT) % HALF + HALF;
+        return ((top + 1) << shift) - 1;
+    }
+
+    // Bir andaki kova sayıları. İki snapshot'ın farkı (minus) aradaki zaman dilimini verir.
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public double meanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        // q: 0..1 arası; değerin düştüğü kovanın üst sınırı (en fazla görülen en büyük değer)
+        public long percentileNanos(double q) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(upperBound(i), maxNanos);
+            }
+            return maxNanos;
+        }
+
+        public long maxNanos() {
+            if (count == 0) return 0;
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) return Math.min(upperBound(i), maxNanos);
+            }
+            return 0;
+        }
+
+        // Bu snapshot ile daha önceki arasındaki kayıtlar. En büyük değer kovadan bulunur.
+        public Snapshot minus(Snapshot earlier) {
+            long[] diff = new long[counts.length];
+            for (int i = 0; i < diff.length; i++) diff[i] = counts[i] - earlier.counts[i];
+            return new Snapshot(diff, count - earlier.count, totalNanos - earlier.totalNanos, maxNanos);
+        }
+
+        public Summary summary() {
+            return new Summary(count, micros(meanNanos()), micros(percentileNanos(0.5)), micros(percentileNanos(0.9)),
+                    micros(percentileNanos(0.99)), micros(percentileNanos(0.999)), micros(maxNanos()));
+        }
+
+        private static double micros(double nanos) {
+            return Math.round(nanos / 100.0) / 10.0;
+        }
+    }
+
+    // Raporlanan özet; süreler mikrosaniye, bir ondalık
+    public record Summary(long count, double meanMicros, double p50Micros, double p90Micros, double p99Micros,
+                          double p999Micros, double maxMicros) {
+    }
+}
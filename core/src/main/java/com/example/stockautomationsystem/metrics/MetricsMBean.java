@@ -0,0 +1,109 @@
+package com.example.stockautomationsystem.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+// Kayıttaki metrikleri JMX özellikleri olarak gösterir (jconsole, VisualVM, Mission Control):
+//   com.example.stockautomationsystem:type=Metrics
+// Sayaç ve gauge'lar kendi adıyla, timer'lar "<ad>.count", "<ad>.p50Micros" ... "<ad>.maxMicros" olarak.
+// Özellik listesi her istekte kayıttan üretilir; sonradan eklenen metrikler de görünür.
+final class MetricsMBean implements DynamicMBean {
+    static final String OBJECT_NAME = "com.example.stockautomationsystem:type=Metrics";
+    private static final String[] TIMER_FIELDS = {"count", "meanMicros", "p50Micros", "p90Micros", "p99Micros",
+            "p999Micros", "maxMicros"};
+
+    private final MetricsRegistry registry;
+
+    private MetricsMBean(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    static void register(MetricsRegistry registry) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MetricsMBean(registry), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Aynı JVM'de ikinci kez açılan arayüz; mevcut kayıt aynı global kaydı gösterir
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics MBean: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Counter c = registry.getCounters().get(attribute);
+        if (c != null) return c.get();
+        LongSupplier g = registry.getGauges().get(attribute);
+        if (g != null) return MetricsRegistry.read(g);
+        int dot = attribute.lastIndexOf('.');
+        LatencyHistogram t = dot < 0 ? null : registry.getTimers().get(attribute.substring(0, dot));
+        if (t == null) throw new AttributeNotFoundException(attribute);
+        LatencyHistogram.Summary s = t.snapshot().summary();
+        return switch (attribute.substring(dot + 1)) {
+            case "count" -> (double) s.count();
+            case "meanMicros" -> s.meanMicros();
+            case "p50Micros" -> s.p50Micros();
+            case "p90Micros" -> s.p90Micros();
+            case "p99Micros" -> s.p99Micros();
+            case "p999Micros" -> s.p999Micros();
+            case "maxMicros" -> s.maxMicros();
+            default -> throw new AttributeNotFoundException(attribute);
+        };
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+        for (String a : attributes) {
+            try {
+                list.add(new Attribute(a, getAttribute(a)));
+            } catch (AttributeNotFoundException e) {
+                // JMX sözleşmesi: bilinmeyen özellikler listeden çıkarılır
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("No operations on " + OBJECT_NAME);
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        registry.getCounters().keySet().forEach(n -> attributes.add(attribute(n, "long", "Counter")));
+        registry.getGauges().keySet().forEach(n -> attributes.add(attribute(n, "long", "Gauge")));
+        for (String n : registry.getTimers().keySet()) {
+            for (String f : TIMER_FIELDS) attributes.add(attribute(n + "." + f, "double", "Timer"));
+        }
+        return new MBeanInfo(MetricsMBean.class.getName(), "Stock automation metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+
+    private static MBeanAttributeInfo attribute(String name, String type, String description) {
+        return new MBeanAttributeInfo(name, type, description, true, false, false);
+    }
+}
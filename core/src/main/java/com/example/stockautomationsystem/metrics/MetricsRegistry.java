@@ -0,0 +1,84 @@
+package com.example.stockautomationsystem.metrics;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+// Uygulamanın kendi ölçümleri: sayaçlar, anlık değerler (gauge) ve gecikme histogramları (timer).
+// Ölçüm noktaları metriği bir kez alıp (genelde static final alanda) saklar; kaydetme kilit almaz ve
+// nesne üretmez. Adlar "bileşen.işlem" biçimindedir (ör. json.saveData) ve ada göre sıralı raporlanır.
+public final class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> timers = new ConcurrentSkipListMap<>();
+    private MetricsReporter reporter;
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public LatencyHistogram timer(String name) {
+        return timers.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    // Aynı adla yeniden kaydedilen gauge öncekinin yerine geçer (ör. yeniden girişte yeni servis)
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    public Map<String, Counter> getCounters() {
+        return counters;
+    }
+
+    public Map<String, LongSupplier> getGauges() {
+        return gauges;
+    }
+
+    public Map<String, LatencyHistogram> getTimers() {
+        return timers;
+    }
+
+    // Tüm metriklerin o anki değerleri: sayaç ve gauge'lar sayı, timer'lar başlangıçtan beri özet
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        counters.forEach((name, c) -> result.put(name, c.get()));
+        gauges.forEach((name, g) -> result.put(name, read(g)));
+        timers.forEach((name, t) -> result.put(name, t.snapshot().summary()));
+        return result;
+    }
+
+    // JMX'e kaydeder ve -Dstock.metrics.intervalSec (varsayılan 60, 0 kapatır) saniyede bir dir altındaki
+    // metrics.jsonl dosyasına bir satır ekler. Uzun süreli çalışan süreçler (arayüz, API sunucusu) çağırır;
+    // birden fazla çağrı ilkini kullanır.
+    public synchronized void startReporting(Path dir) {
+        if (reporter != null) return;
+        MetricsMBean.register(this);
+        reporter = new MetricsReporter(this, dir.resolve(MetricsReporter.FILE),
+                Long.getLong("stock.metrics.intervalSec", 60));
+        reporter.start();
+    }
+
+    // Arka planda yakalanıp devam edilen hataların ortak yolu: counter sayacı artar (raporda ve JMX'te görünür)
+    // ve hata tek satır olarak stderr'e yazılır
+    public void reportError(String counter, String message, Throwable cause) {
+        counter(counter).increment();
+        System.err.println(cause == null ? message : message + ": " + cause);
+    }
+
+    // Gauge okunurken hata olursa (ör. kapatılmış servis) -1 raporlanır
+    static long read(LongSupplier gauge) {
+        try {
+            return gauge.getAsLong();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
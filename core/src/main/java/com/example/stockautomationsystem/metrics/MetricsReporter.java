@@ -0,0 +1,77 @@
+package com.example.stockautomationsystem.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Her aralıkta metrics.jsonl'e bir JSON satırı ekler: zaman, sayaç ve gauge değerleri ve timer'ların
+// yalnızca o aralıktaki kayıtları (başlangıçtan beri değil), böylece kısa bir takılma ortalamada kaybolmaz.
+// Dosya MAX_BYTES'ı geçince metrics.jsonl.1 olarak kenara alınır; en fazla iki dosya tutulur.
+final class MetricsReporter {
+    static final String FILE = "metrics.jsonl";
+    private static final long MAX_BYTES = 4L * 1024 * 1024;
+
+    private final MetricsRegistry registry;
+    private final Path file;
+    private final long intervalSeconds;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, LatencyHistogram.Snapshot> previous = new HashMap<>();
+    private boolean failed;
+
+    MetricsReporter(MetricsRegistry registry, Path file, long intervalSeconds) {
+        this.registry = registry;
+        this.file = file;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    void start() {
+        if (intervalSeconds <= 0) return;
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::report, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    void report() {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", System.currentTimeMillis());
+        line.put("intervalSec", intervalSeconds);
+        Map<String, Object> values = new LinkedHashMap<>();
+        registry.getCounters().forEach((name, c) -> values.put(name, c.get()));
+        registry.getGauges().forEach((name, g) -> values.put(name, MetricsRegistry.read(g)));
+        line.put("values", values);
+        Map<String, Object> timers = new LinkedHashMap<>();
+        registry.getTimers().forEach((name, t) -> {
+            LatencyHistogram.Snapshot now = t.snapshot();
+            LatencyHistogram.Snapshot before = previous.put(name, now);
+            LatencyHistogram.Snapshot interval = before == null ? now : now.minus(before);
+            if (interval.count() > 0) timers.put(name, interval.summary());
+        });
+        line.put("timers", timers);
+        try {
+            if (Files.exists(file) && Files.size(file) > MAX_BYTES) {
+                Files.move(file, file.resolveSibling(FILE + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.write(file, (mapper.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            failed = false;
+        } catch (IOException e) {
+            // Metrik dosyası yazılamıyor diye uygulama durmamalı; hata bir kez bildirilir
+            if (!failed) System.err.println("Could not write " + file + ": " + e.getMessage());
+            failed = true;
+        }
+    }
+}
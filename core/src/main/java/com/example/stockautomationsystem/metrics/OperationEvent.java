@@ -0,0 +1,23 @@
+package com.example.stockautomationsystem.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Ölçülen her işlem için JFR olayı; -Dstock.metrics.jfr=true ile ve kayıt (recording) açıksa üretilir.
+// JDK Mission Control'de "Stock Automation" altında, diğer JVM olaylarıyla aynı zaman ekseninde görünür.
+@Name("com.example.stockautomationsystem.Operation")
+@Label("Stock Operation")
+@Category("Stock Automation")
+@StackTrace(false)
+public final class OperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
@@ -0,0 +1,193 @@
+package com.example.stockautomationsystem.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+// Zaman damgası epoch milisaniye, işlem enum, kullanıcı intern edilmiş string olarak tutulur;
+// ürün ve miktar ayrı alanlardadır. Açıklama metni gerektiğinde bu alanlardan üretilir.
+// Eski logs.json kayıtları (metin zaman damgası ve hazır açıklama) aynen okunabilir.
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class LogEntry {
+    public enum Action {
+        ADD, UPDATE, DELETE, PURCHASE, IMPORT, RECEIVE, TRANSFER, OTHER;
+
+        // Eski dosyalardaki bilinmeyen işlem adları OTHER olarak okunur
+        @JsonCreator
+        public static Action of(String name) {
+            for (Action a : values()) {
+                if (a.name().equals(name)) return a;
+            }
+            return OTHER;
+        }
+    }
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private long timestamp;
+    private String user;
+    private Action action;
+    private String product;
+    private int quantity;
+    private String from; // TRANSFER kayıtlarında kaynak konum
+    private String to;   // RECEIVE ve TRANSFER kayıtlarında hedef konum
+    // Ürünün işlemden önceki ve sonraki değerleri; ADD'de sadece after, DELETE'te sadece before doludur.
+    // Eski kayıtlarda ve ana depoya dokunmayan konum işlemlerinde ikisi de boştur.
+    private ProductState before;
+    private ProductState after;
+    @JsonIgnore
+    private Product stockSource; // withStockChange() kayıtlarında değerler yazım anında bu üründen okunur
+    @JsonIgnore
+    private int stockDelta;
+    @JsonProperty("details")
+    private String details; // sadece serbest metinli (eski) kayıtlarda dolu
+
+    public LogEntry(String user, Action action, String product, int quantity) {
+        this.timestamp = System.currentTimeMillis();
+        setUser(user);
+        this.action = action;
+        this.product = product;
+        this.quantity = quantity;
+    }
+
+    public LogEntry() {
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @JsonIgnore
+    public String getFormattedTimestamp() {
+        return FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()));
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public ProductState getBefore() {
+        return before;
+    }
+
+    public ProductState getAfter() {
+        return after;
+    }
+
+    @JsonIgnore
+    public String getDetails() {
+        if (details != null || action == null) return details;
+        return switch (action) {
+            case ADD -> "Added new product: " + product;
+            case UPDATE -> "Updated " + product + " info.";
+            case DELETE -> "Removed product: " + product;
+            case PURCHASE -> "Bought " + quantity + " units of " + product;
+            case IMPORT -> "Imported " + quantity + " products from " + product;
+            case RECEIVE -> "Received " + quantity + " units of " + product + " at " + to;
+            case TRANSFER -> "Moved " + quantity + " units of " + product + " from " + from + " to " + to;
+            case OTHER -> product;
+        };
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    // Yeni kayıtlar sayı, eski kayıtlar "yyyy-MM-dd HH:mm:ss" metni taşır
+    @JsonSetter("timestamp")
+    private void readTimestamp(Object value) {
+        if (value instanceof Number n) {
+            timestamp = n.longValue();
+        } else if (value != null) {
+            timestamp = LocalDateTime.parse(value.toString(), FORMAT)
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+
+    // Aynı kullanıcının milyonlarca kaydı tek bir String örneğini paylaşır
+    public void setUser(String user) {
+        this.user = user == null ? null : user.intern();
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    public void setProduct(String product) {
+        this.product = product;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public void setBefore(ProductState before) {
+        this.before = before;
+    }
+
+    public void setAfter(ProductState after) {
+        this.after = after;
+    }
+
+    // Zincirleme kullanım için: new LogEntry(...).withChange(önce, sonra)
+    public LogEntry withChange(ProductState before, ProductState after) {
+        this.before = before;
+        this.after = after;
+        return this;
+    }
+
+    // Stok değişikliği: önce/sonra değerleri kayıt oluşturulduğunda değil, yazıcı thread'inde log deposuna
+    // eklenirken ürünün o anki stoğundan okunur (JournalRecord.stockOf gibi). Böylece aynı ürünün sonraki
+    // kaydı hiçbir zaman daha eski bir değer taşımaz. delta: işlem öncesi stok eksi işlem sonrası stok.
+    public LogEntry withStockChange(Product p, int delta) {
+        this.stockSource = p;
+        this.stockDelta = delta;
+        return this;
+    }
+
+    public void materialize() {
+        if (stockSource == null) return;
+        after = ProductState.of(stockSource);
+        before = after.withStock(after.stock() + stockDelta);
+        stockSource = null;
+    }
+
+    public void setDetails(String details) {
+        this.details = details;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.stockautomationsystem.model;
+
+import com.example.stockautomationsystem.exception.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+public class Product extends BaseProduct implements Stockable, Loggable {
+    // Eldeki stok (üst 32 bit) ve rezerve edilmiş miktar (alt 32 bit) tek bir long'da tutulur;
+    // böylece ikisi birlikte tek bir CAS ile kilitsiz ve tutarlı şekilde güncellenir
+    private volatile long stock;
+    private String code; // generateProductCode() sonucu; ad değişince sıfırlanır
+
+    private static final VarHandle STOCK;
+
+    static {
+        try {
+            STOCK = MethodHandles.lookup().findVarHandle(Product.class, "stock", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public Product() {
+    }
+
+    public Product(String name, String category, double price, int stockQuantity) {
+        this.name = name;
+        this.category = category;
+        this.price = price;
+        this.stock = pack(stockQuantity, 0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public int getStockQuantity() {
+        return onHand(stock);
+    }
+
+    @JsonIgnore
+    public int getReservedQuantity() {
+        return reserved(stock);
+    }
+
+    @JsonIgnore
+    public int getAvailableQuantity() {
+        long s = stock;
+        return onHand(s) - reserved(s);
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        this.code = null;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public void setStockQuantity(int stockQuantity) {
+        long s;
+        do {
+            s = stock;
+        } while (!STOCK.compareAndSet(this, s, pack(stockQuantity, reserved(s))));
+    }
+
+    @Override
+    public void reduceStock(int quantity) {
+        long s;
+        do {
+            s = stock;
+            int available = onHand(s) - reserved(s);
+            if (quantity > available) {
+                throw new InsufficientStockException(this.name, quantity, available);
+            }
+        } while (!STOCK.compareAndSet(this, s, pack(onHand(s) - quantity, reserved(s))));
+    }
+
+    // Depoya mal girişi ya da başka konumdan transfer; rezervasyonlar korunur
+    public void addStock(int quantity) {
+        long s;
+        do {
+            s = stock;
+        } while (!STOCK.compareAndSet(this, s, pack(onHand(s) + quantity, reserved(s))));
+    }
+
+    @Override
+    public boolean hasEnoughStock(int quantity) {
+        return getAvailableQuantity() >= quantity;
+    }
+
+    // Stoktan düşmeden miktarı ayırır; başka bir alım bu miktarı kullanamaz
+    public void reserveStock(int quantity) {
+        long s;
+        do {
+            s = stock;
+            int available = onHand(s) - reserved(s);
+            if (quantity > available) {
+                throw new InsufficientStockException(this.name, quantity, available);
+            }
+        } while (!STOCK.compareAndSet(this, s, pack(onHand(s), reserved(s) + quantity)));
+    }
+
+    // Ayrılmış miktar satılmış sayılır ve eldeki stoktan düşülür
+    public void commitReservation(int quantity) {
+        long s;
+        do {
+            s = stock;
+        } while (!STOCK.compareAndSet(this, s, pack(onHand(s) - quantity, reserved(s) - quantity)));
+    }
+
+    public void releaseReservation(int quantity) {
+        long s;
+        do {
+            s = stock;
+        } while (!STOCK.compareAndSet(this, s, pack(onHand(s), reserved(s) - quantity)));
+    }
+
+    private static long pack(int onHand, int reserved) {
+        return ((long) onHand << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int onHand(long s) {
+        return (int) (s >> 32);
+    }
+
+    private static int reserved(long s) {
+        return (int) s;
+    }
+
+    @Override
+    public String generateProductCode() {
+        if (code == null) code = "PRD-" + name.hashCode();
+        return code;
+    }
+
+    @Override
+    @JsonIgnore
+    public String getLogDetails() {
+        return String.format("Ürün: %s | Kat: %s | Fiyat: %.2f | Stok: %d", name, category, price, getStockQuantity());
+    }
+}
\ No newline at end of file
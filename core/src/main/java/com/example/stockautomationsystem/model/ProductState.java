@@ -0,0 +1,13 @@
+package com.example.stockautomationsystem.model;
+
+// Bir ürünün belirli bir andaki değerleri. Denetim kayıtlarında değişiklik öncesi/sonrası olarak
+// ve geçmiş sorgularının sonucunda kullanılır; Product'ın aksine değişmez.
+public record ProductState(String name, String category, double price, int stock) {
+    public static ProductState of(Product p) {
+        return new ProductState(p.getName(), p.getCategory(), p.getPrice(), p.getStockQuantity());
+    }
+
+    public ProductState withStock(int stock) {
+        return new ProductState(name, category, price, stock);
+    }
+}
@@ -2,23 +2,28 @@ package com.example.stockautomationsystem.model;
 
 public class User {
     private String username;
-    private String password;
+    // Parola kendisi değil, PasswordHasher ile üretilmiş tuzlu özet saklanır
+    private String passwordHash;
     private boolean isAdmin;
 
     public User(){
     }
 
-    public User(String username, String password, boolean isAdmin) {
+    public User(String username, String passwordHash, boolean isAdmin) {
         this.username = username;
-        this.password = password;
+        this.passwordHash = passwordHash;
         this.isAdmin = isAdmin;
     }
 
     public String getUsername() {
         return username;
     }
-    public String getPassword() {
-        return password;
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
     }
 
     public boolean isAdmin() {
@@ -28,4 +33,4 @@ public class User {
     public void setAdmin(boolean admin) {
         isAdmin = admin;
     }
-}
\ No newline at end of file
+}
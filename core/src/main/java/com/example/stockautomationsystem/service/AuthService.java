@@ -0,0 +1,187 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.AuthenticationException;
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.exception.InvalidProductException;
+import com.example.stockautomationsystem.exception.UserAlreadyExistsException;
+import com.example.stockautomationsystem.model.User;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Kullanıcı kaydı ve girişi. Kullanıcılar UserStore'da, parolalar PBKDF2 özeti olarak saklanır.
+// Dosya boşsa admin/admin varsayılan yönetici olarak oluşturulur.
+// Özet hesaplamak bilerek yavaştır; arayüz *Async metotlarını kullanır, özetler ayrı thread'lerde hesaplanır.
+public class AuthService {
+    public record Account(String username, String password, boolean admin) {
+    }
+
+    public record ProvisionResult(int created, int skipped, List<String> errors) {
+    }
+
+    private final UserStore store;
+    private final PasswordHasher hasher;
+    private final ExecutorService hashers;
+    private boolean loaded;
+    private String unknownUserHash;
+
+    public AuthService(UserStore store, PasswordHasher hasher) {
+        this.store = store;
+        this.hasher = hasher;
+        this.hashers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, "password-hasher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public AuthService(JsonService jsonService) {
+        this(UserStore.forDataDir(jsonService), PasswordHasher.fromSystemProperties());
+    }
+
+    public User register(String username, String password)
+            throws InvalidProductException, UserAlreadyExistsException {
+        String user = username == null ? "" : username.trim();
+        String pass = password == null ? "" : password.trim();
+        if (user.isEmpty() || pass.isEmpty()) {
+            // Not: InvalidProduct yerine daha genel bir InvalidInputException da yazılabilir
+            throw new InvalidProductException("Username or Password cannot be empty!");
+        }
+        ensureLoaded();
+        // Özet hesaplanmadan önce ucuz kontrol; asıl kontrol ekleme sırasında
+        if (store.find(user) != null) throw new UserAlreadyExistsException(user);
+        User created = new User(user, hasher.hash(pass), false);
+        if (!store.add(created)) throw new UserAlreadyExistsException(user);
+        store.save();
+        return created;
+    }
+
+    public User authenticate(String username, String password) throws AuthenticationException {
+        String user = username == null ? "" : username.trim();
+        String pass = password == null ? "" : password.trim();
+        if (user.isEmpty() || pass.isEmpty()) {
+            throw new AuthenticationException("Username or Password cannot be empty!");
+        }
+        ensureLoaded();
+        User u = store.find(user);
+        // Olmayan kullanıcıda da özet hesaplanır; yanıt süresinden kullanıcının var olup olmadığı anlaşılmasın
+        String hash = u != null ? u.getPasswordHash() : unknownUserHash();
+        if (!hasher.verify(pass, hash) || u == null) {
+            throw new AuthenticationException("Invalid username or password!");
+        }
+        if (hasher.needsRehash(hash)) {
+            u.setPasswordHash(hasher.hash(pass));
+            store.save();
+        }
+        return u;
+    }
+
+    public CompletableFuture<User> registerAsync(String username, String password) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return register(username, password);
+            } catch (InvalidProductException e) {
+                throw new CompletionException(e);
+            }
+        }, hashers);
+    }
+
+    public CompletableFuture<User> authenticateAsync(String username, String password) {
+        return CompletableFuture.supplyAsync(() -> authenticate(username, password), hashers);
+    }
+
+    // Toplu hesap açma: özetler tüm çekirdeklerde paralel hesaplanır, dosya en sonda bir kez yazılır.
+    // Geçersiz ve zaten var olan hesaplar atlanır ve raporlanır.
+    public ProvisionResult provision(List<Account> accounts) {
+        ensureLoaded();
+        List<String> errors = new ArrayList<>();
+        List<Account> valid = new ArrayList<>(accounts.size());
+        Set<String> seen = new HashSet<>();
+        for (Account a : accounts) {
+            String user = a.username() == null ? "" : a.username().trim();
+            String pass = a.password() == null ? "" : a.password().trim();
+            if (user.isEmpty() || pass.isEmpty()) {
+                errors.add("Skipped account with empty username or password: " + user);
+            } else if (store.find(user) != null || !seen.add(UserStore.normalize(user))) {
+                errors.add("User already exists: " + user);
+            } else {
+                valid.add(new Account(user, pass, a.admin()));
+            }
+        }
+
+        List<CompletableFuture<User>> hashed = new ArrayList<>(valid.size());
+        for (Account a : valid) {
+            hashed.add(CompletableFuture.supplyAsync(
+                    () -> new User(a.username(), hasher.hash(a.password()), a.admin()), hashers));
+        }
+        int created = 0;
+        for (CompletableFuture<User> f : hashed) {
+            User u = f.join();
+            if (store.add(u)) created++;
+            else errors.add("User already exists: " + u.getUsername());
+        }
+        if (created > 0) store.save();
+        return new ProvisionResult(created, accounts.size() - created, errors);
+    }
+
+    // Satır başına: kullaniciAdi,parola[,admin]. Boş satırlar ve # ile başlayanlar atlanır;
+    // ilk satır "username" ile başlıyorsa başlık sayılır.
+    public ProvisionResult provisionFromCsv(Path file) {
+        List<Account> accounts = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+                if (lineNo == 1 && trimmed.toLowerCase().startsWith("username")) continue;
+                String[] parts = trimmed.split(",", -1);
+                if (parts.length < 2 || parts.length > 3) {
+                    errors.add("line " + lineNo + ": expected username,password[,admin]");
+                    continue;
+                }
+                boolean admin = parts.length == 3 && Boolean.parseBoolean(parts[2].trim());
+                accounts.add(new Account(parts[0], parts[1], admin));
+            }
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to read " + file + ".", e);
+        }
+        int unparsable = errors.size();
+        ProvisionResult result = provision(accounts);
+        errors.addAll(result.errors());
+        return new ProvisionResult(result.created(), result.skipped() + unparsable, errors);
+    }
+
+    public int getUserCount() {
+        ensureLoaded();
+        return store.size();
+    }
+
+    private synchronized void ensureLoaded() {
+        if (loaded) return;
+        store.load();
+        if (store.size() == 0) {
+            store.add(new User("admin", hasher.hash("admin"), true));
+            store.save();
+        }
+        loaded = true;
+    }
+
+    private synchronized String unknownUserHash() {
+        if (unknownUserHash == null) unknownUserHash = hasher.hash("unknown-user");
+        return unknownUserHash;
+    }
+}
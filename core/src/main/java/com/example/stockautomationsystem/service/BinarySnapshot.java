@@ -0,0 +1,194 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.model.Product;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+// Ürün snapshot'ı için kompakt ikili format. Dosya düzeni:
+//   başlık     : magic, versiyon, ürün sayısı, kategori sayısı, string tablosunun konumu
+//   kategoriler: her kategori için string tablosunda (konum, uzunluk) - sözlük kodlaması
+//   satırlar   : ürün başına sabit genişlikte (ad konumu, ad uzunluğu, kategori no, stok, fiyat)
+//   string tab.: UTF-8 adlar ve kategoriler arka arkaya
+// Dosya belleğe eşlenerek (mmap) okunur; adlar sadece istendiğinde çözülür.
+public final class BinarySnapshot {
+    private static final int MAGIC = 0x53544B53; // "STKS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int CATEGORY_BYTES = 8;
+    private static final int ROW_BYTES = 24;
+    private static final int NO_CATEGORY = -1;
+
+    private final ByteBuffer buf;
+    private final int count;
+    private final int rowsOffset;
+    private final int stringsOffset;
+    private final String[] categories;
+
+    private BinarySnapshot(ByteBuffer buf) {
+        this.buf = buf;
+        if (buf.limit() < HEADER_BYTES || buf.getInt(0) != MAGIC) {
+            throw new IllegalStateException("not an inventory snapshot");
+        }
+        if (buf.getInt(4) != VERSION) {
+            throw new IllegalStateException("unsupported snapshot version " + buf.getInt(4));
+        }
+        count = buf.getInt(8);
+        int categoryCount = buf.getInt(12);
+        long strings = buf.getLong(16);
+        rowsOffset = HEADER_BYTES + categoryCount * CATEGORY_BYTES;
+        if (count < 0 || categoryCount < 0 || strings != rowsOffset + (long) count * ROW_BYTES || strings > buf.limit()) {
+            throw new IllegalStateException("truncated snapshot");
+        }
+        stringsOffset = (int) strings;
+
+        // Kategori sözlüğü küçüktür; tamamı açılışta çözülür
+        categories = new String[categoryCount];
+        for (int i = 0; i < categoryCount; i++) {
+            int at = HEADER_BYTES + i * CATEGORY_BYTES;
+            categories[i] = string(buf.getInt(at), buf.getInt(at + 4));
+        }
+    }
+
+    public static BinarySnapshot open(Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Eşlenen bellek kanal kapandıktan sonra da geçerlidir
+            MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return new BinarySnapshot(mapped);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to open binary snapshot " + file + ".", e);
+        } catch (IllegalStateException e) {
+            throw new DataPersistenceException("Failed to read " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Geçici dosya, checksum ve atomik taşıma SnapshotFiles'tadır; burada sadece içerik yazılır
+    public static void writeTo(OutputStream stream, List<Product> products) throws IOException {
+        Map<String, Integer> categoryIds = new LinkedHashMap<>();
+        List<byte[]> names = new ArrayList<>(products.size());
+        for (Product p : products) {
+            names.add(p.getName().getBytes(StandardCharsets.UTF_8));
+            if (p.getCategory() != null) categoryIds.putIfAbsent(p.getCategory(), categoryIds.size());
+        }
+        List<byte[]> categoryBytes = new ArrayList<>(categoryIds.size());
+        categoryIds.keySet().forEach(c -> categoryBytes.add(c.getBytes(StandardCharsets.UTF_8)));
+
+        long stringsOffset = HEADER_BYTES + (long) categoryIds.size() * CATEGORY_BYTES + (long) products.size() * ROW_BYTES;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(products.size());
+        out.writeInt(categoryIds.size());
+        out.writeLong(stringsOffset);
+
+        int offset = 0;
+        for (byte[] c : categoryBytes) {
+            out.writeInt(offset);
+            out.writeInt(c.length);
+            offset += c.length;
+        }
+        for (int i = 0; i < products.size(); i++) {
+            Product p = products.get(i);
+            out.writeInt(offset);
+            out.writeInt(names.get(i).length);
+            out.writeInt(p.getCategory() == null ? NO_CATEGORY : categoryIds.get(p.getCategory()));
+            out.writeInt(p.getStockQuantity());
+            out.writeDouble(p.getPrice());
+            offset += names.get(i).length;
+        }
+        for (byte[] c : categoryBytes) out.write(c);
+        for (byte[] n : names) out.write(n);
+        out.flush();
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public String name(int i) {
+        int row = row(i);
+        return string(buf.getInt(row), buf.getInt(row + 4));
+    }
+
+    public String category(int i) {
+        int id = buf.getInt(row(i) + 8);
+        return id == NO_CATEGORY ? null : categories[id];
+    }
+
+    public int stock(int i) {
+        return buf.getInt(row(i) + 12);
+    }
+
+    public double price(int i) {
+        return buf.getDouble(row(i) + 16);
+    }
+
+    public Product product(int i) {
+        return new Product(name(i), category(i), price(i), stock(i));
+    }
+
+    // JsonService.streamData ile aynı sözleşme: ürünler parça parça verilir, ilerleme byte olarak bildirilir.
+    // Parçalar satırların görünümüdür; bir satırın ürünü (ve adı) o satıra ilk erişildiğinde oluşturulur.
+    // Parça, chunks'a verildiği thread'de tüketilmelidir.
+    public void stream(int chunkSize, Consumer<List<Product>> chunks, JsonService.ProgressListener progress) {
+        for (int from = 0; from < count; from += chunkSize) {
+            int to = Math.min(count, from + chunkSize);
+            chunks.accept(new Rows(from, to));
+            if (progress != null && to < count) progress.onProgress(row(to - 1) + ROW_BYTES, buf.limit());
+        }
+        if (progress != null) progress.onProgress(buf.limit(), buf.limit());
+    }
+
+    // Aynı satır tekrar istenirse aynı Product döner
+    private final class Rows extends AbstractList<Product> implements RandomAccess {
+        private final int from;
+        private final Product[] built;
+
+        Rows(int from, int to) {
+            this.from = from;
+            this.built = new Product[to - from];
+        }
+
+        @Override
+        public Product get(int i) {
+            Product p = built[i];
+            if (p == null) built[i] = p = product(from + i);
+            return p;
+        }
+
+        @Override
+        public int size() {
+            return built.length;
+        }
+    }
+
+    private int row(int i) {
+        if (i < 0 || i >= count) throw new IndexOutOfBoundsException(i);
+        return rowsOffset + i * ROW_BYTES;
+    }
+
+    private String string(int offset, int length) {
+        if (offset < 0 || length < 0 || (long) stringsOffset + offset + length > buf.limit()) {
+            throw new IllegalStateException("string table entry out of bounds");
+        }
+        byte[] bytes = new byte[length];
+        buf.get(stringsOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
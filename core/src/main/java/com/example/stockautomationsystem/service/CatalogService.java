@@ -0,0 +1,323 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.exception.InvalidProductException;
+import com.example.stockautomationsystem.model.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+// Tedarikçi katalogları gibi büyük dosyalar için toplu aktarım (CSV ya da JSON, uzantıya göre).
+// Dosya akış halinde okunur; kayıtlar CHUNK_SIZE'lik parçalar halinde tüm çekirdeklerde InventoryService.validate
+// kurallarıyla doğrulanır ve repository'ye toplu eklenir/güncellenir. Hatalı kayıtlar satır numarasıyla raporlanır.
+// Ürün başına journal kaydı yazılmaz; kalıcılık, aktarım sonunda InventoryService'in yazdığı tek snapshot'tır.
+public class CatalogService {
+    public enum Format {
+        CSV, JSON;
+
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".json")) return JSON;
+            if (name.endsWith(".csv") || name.endsWith(".txt")) return CSV;
+            throw new IllegalArgumentException("Unsupported catalog format (use .csv or .json): " + file);
+        }
+    }
+
+    public record Reject(long line, String message) {
+    }
+
+    // rejects en fazla MAX_REPORTED_REJECTS kayıt taşır; rejected toplam sayıdır
+    public record ImportResult(int added, int updated, int rejected, List<Reject> rejects) {
+    }
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int MAX_REPORTED_REJECTS = 1000;
+    private static final String[] CSV_COLUMNS = {"name", "category", "price", "stock"};
+
+    // Dosyadan okunmuş, henüz doğrulanmamış kayıt
+    private record Row(long line, String name, String category, String price, String stock, String error) {
+    }
+
+    private static final MinimalPrettyPrinter ONE_PER_LINE = new MinimalPrettyPrinter() {
+        @Override
+        public void beforeArrayValues(JsonGenerator g) throws IOException {
+            g.writeRaw('\n');
+        }
+
+        @Override
+        public void writeArrayValueSeparator(JsonGenerator g) throws IOException {
+            g.writeRaw(",\n");
+        }
+
+        @Override
+        public void writeEndArray(JsonGenerator g, int nrOfValues) throws IOException {
+            g.writeRaw(nrOfValues == 0 ? "]" : "\n]");
+        }
+    };
+
+    private final InventoryRepository repository;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public CatalogService(InventoryRepository repository) {
+        this.repository = repository;
+    }
+
+    public ImportResult importFile(Path file, JsonService.ProgressListener progress) {
+        Importer importer = new Importer();
+        long total = file.toFile().length();
+        try {
+            if (Format.of(file) == Format.CSV) readCsv(file, total, importer, progress);
+            else readJson(file, total, importer, progress);
+        } catch (JsonProcessingException e) {
+            throw new DataPersistenceException("Failed to parse " + file + " at line "
+                    + e.getLocation().getLineNr() + ": " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to read " + file + ".", e);
+        }
+        importer.flush();
+        if (progress != null) progress.onProgress(total, total);
+        return new ImportResult(importer.added, importer.updated, importer.rejected, importer.rejects);
+    }
+
+    // Geçici dosyaya yazılıp yerine taşınır; yarım kalan bir dışa aktarım eski dosyayı bozmaz
+    public void exportFile(Path file, List<Product> products) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (Format.of(file) == Format.CSV) writeCsv(tmp, products);
+            else writeJson(tmp, products);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to export catalog to " + file + ".", e);
+        }
+    }
+
+    // İlk veri satırı "name" ile başlıyorsa başlık sayılır ve sütunlar adlarına göre eşlenir (stockQuantity de olur);
+    // başlık yoksa sıra name,category,price,stock'tur. Boş satırlar ve # ile başlayanlar atlanır.
+    private void readCsv(Path file, long total, Importer importer, JsonService.ProgressListener progress)
+            throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int[] columns = {0, 1, 2, 3};
+            String line;
+            long lineNo = 0, bytes = 0;
+            boolean first = true;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                bytes += line.length() + 1; // yaklaşık; ilerleme göstergesi için yeterli
+                if (line.isBlank() || line.startsWith("#")) continue;
+                List<String> fields;
+                try {
+                    fields = splitCsv(line);
+                } catch (IllegalArgumentException e) {
+                    importer.accept(new Row(lineNo, null, null, null, null, e.getMessage()));
+                    continue;
+                }
+                if (first) {
+                    first = false;
+                    if (fields.get(0).trim().equalsIgnoreCase("name")) {
+                        columns = headerColumns(file, lineNo, fields);
+                        continue;
+                    }
+                }
+                importer.accept(csvRow(lineNo, fields, columns));
+                if (importer.pending.isEmpty() && progress != null) progress.onProgress(Math.min(bytes, total), total);
+            }
+        }
+    }
+
+    // Eksik sütunlu başlık tüm dosyayı geçersiz kilar; satır bazında reddedilmez
+    private static int[] headerColumns(Path file, long line, List<String> header) {
+        int[] columns = new int[CSV_COLUMNS.length];
+        for (int c = 0; c < CSV_COLUMNS.length; c++) {
+            columns[c] = -1;
+            for (int i = 0; i < header.size(); i++) {
+                String h = header.get(i).trim().toLowerCase(Locale.ROOT);
+                if (h.equals(CSV_COLUMNS[c]) || (c == 3 && h.equals("stockquantity"))) columns[c] = i;
+            }
+        }
+        if (columns[0] < 0 || columns[2] < 0 || columns[3] < 0) {
+            throw new DataPersistenceException("Failed to parse " + file + " at line " + line
+                    + ": CSV header must contain name, price and stock columns", null);
+        }
+        return columns;
+    }
+
+    private static Row csvRow(long line, List<String> fields, int[] columns) {
+        String[] values = new String[CSV_COLUMNS.length];
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c] < 0) continue;
+            if (columns[c] >= fields.size()) {
+                return new Row(line, null, null, null, null,
+                        "expected " + (columns[c] + 1) + " columns, found " + fields.size());
+            }
+            values[c] = fields.get(columns[c]).trim();
+        }
+        return new Row(line, values[0], values[1], values[2], values[3], null);
+    }
+
+    // Ürün nesnelerinden oluşan JSON dizisi (inventory.json ve export-json biçimi)
+    private void readJson(Path file, long total, Importer importer, JsonService.ProgressListener progress)
+            throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new DataPersistenceException("Failed to parse " + file + ": expected a JSON array", null);
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                long line = parser.currentTokenLocation().getLineNr();
+                JsonNode node = mapper.readTree(parser);
+                if (!node.isObject()) {
+                    importer.accept(new Row(line, null, null, null, null, "expected a product object"));
+                    continue;
+                }
+                importer.accept(new Row(line, text(node, "name"), text(node, "category"), text(node, "price"),
+                        text(node, "stockQuantity"), null));
+                if (importer.pending.isEmpty() && progress != null) {
+                    progress.onProgress(parser.currentLocation().getByteOffset(), total);
+                }
+            }
+            if (token == null) throw new DataPersistenceException("Failed to parse " + file + ": unexpected end", null);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return v == null || v.isNull() ? null : v.asText();
+    }
+
+    private void writeCsv(Path file, List<Product> products) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("name,category,price,stock\n");
+            StringBuilder sb = new StringBuilder(128);
+            for (Product p : products) {
+                sb.setLength(0);
+                appendCsv(sb, p.getName()).append(',');
+                appendCsv(sb, p.getCategory()).append(',');
+                sb.append(p.getPrice()).append(',').append(p.getStockQuantity()).append('\n');
+                out.append(sb);
+            }
+        }
+    }
+
+    // Her ürün kendi satırında; büyük kataloglarda girintili çıktı dosyayı gereksiz büyütür
+    private void writeJson(Path file, List<Product> products) throws IOException {
+        try (OutputStream os = Files.newOutputStream(file);
+             JsonGenerator gen = mapper.getFactory().createGenerator(os)) {
+            gen.setPrettyPrinter(ONE_PER_LINE);
+            gen.writeStartArray();
+            for (Product p : products) {
+                gen.writeStartObject();
+                gen.writeStringField("name", p.getName());
+                gen.writeStringField("category", p.getCategory());
+                gen.writeNumberField("price", p.getPrice());
+                gen.writeNumberField("stockQuantity", p.getStockQuantity());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    private static StringBuilder appendCsv(StringBuilder sb, String value) {
+        if (value == null) return sb;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) return sb.append(value);
+        return sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    // Virgülle ayrılmış alanlar; çift tırnak içindeki virgüller korunur, "" tek tırnak karakteri olarak okunur
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("unterminated quote");
+        fields.add(current.toString());
+        return fields;
+    }
+
+    // Okunan kayıtları parçalar halinde toplar; her parça paralel doğrulanır ve tek seferde repository'ye verilir
+    private final class Importer {
+        final List<Row> pending = new ArrayList<>(CHUNK_SIZE);
+        final List<Reject> rejects = new ArrayList<>();
+        int added, updated, rejected;
+
+        void accept(Row row) {
+            pending.add(row);
+            if (pending.size() == CHUNK_SIZE) flush();
+        }
+
+        void flush() {
+            if (pending.isEmpty()) return;
+            Object[] validated = new Object[pending.size()];
+            IntStream.range(0, pending.size()).parallel().forEach(i -> validated[i] = validate(pending.get(i)));
+
+            List<Product> products = new ArrayList<>(validated.length);
+            List<Row> rows = new ArrayList<>(validated.length);
+            for (int i = 0; i < validated.length; i++) {
+                if (validated[i] instanceof Product p) {
+                    products.add(p);
+                    rows.add(pending.get(i));
+                } else {
+                    reject((Reject) validated[i]);
+                }
+            }
+            InventoryRepository.UpsertResult result = repository.upsertAll(products,
+                    (e, i) -> reject(new Reject(rows.get(i).line(), e.getMessage())));
+            added += result.added();
+            updated += result.updated();
+            pending.clear();
+        }
+
+        // Ürün ya da Reject döner; paralel çağrılır, paylaşılan duruma dokunmaz
+        private Object validate(Row r) {
+            if (r.error() != null) return new Reject(r.line(), r.error());
+            try {
+                InventoryService.validate(r.name(), r.price(), r.stock());
+                String category = r.category() == null || r.category().isBlank() ? null : r.category();
+                return new Product(r.name().trim(), category, Double.parseDouble(r.price()),
+                        Integer.parseInt(r.stock()));
+            } catch (InvalidProductException e) {
+                return new Reject(r.line(), e.getMessage());
+            }
+        }
+
+        private void reject(Reject r) {
+            rejected++;
+            if (rejects.size() < MAX_REPORTED_REJECTS) rejects.add(r);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Kategori -> ürün sayısı, toplam stok ve stok değeri. Repository dinleyicisi olarak her değişiklikte
+// sadece ilgili kategorinin sayaçları güncellenir; kategori listesi için ürünler yeniden taranmaz.
+// Ürün sayısı sıfıra düşen kategori listeden çıkar (varsayılan kategoriler hep listede kalır).
+// Fiyat ve stoktan gelen değer kuruş cinsinden long olarak toplanır, çıkarmalarda yuvarlama hatası birikmez.
+public class CategoryIndex implements InventoryRepository.Listener {
+    public static final List<String> DEFAULT_CATEGORIES = List.of("Electronics", "Grocery", "Home", "Automotive");
+
+    // Kategori listesine ekleme/çıkarma bildirimleri; indeksin kilidi altında, değişikliği yapan thread'den gelir
+    public interface Listener {
+        void categoryAdded(String category);
+
+        void categoryRemoved(String category);
+    }
+
+    public record Summary(String category, int products, long units, double stockValue) {
+    }
+
+    // Ürünün indekse son eklendiği andaki değerleri; güncellemede eski katkı bunlarla geri alınır
+    private record Contribution(String category, long priceCents, int stock) {
+    }
+
+    private static final class Totals {
+        int products;
+        long units;
+        long valueCents;
+    }
+
+    private final Set<String> pinned;
+    private final TreeMap<String, Totals> byCategory = new TreeMap<>();
+    private final Map<Product, Contribution> contributions = new HashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public CategoryIndex(Collection<String> pinnedCategories) {
+        this.pinned = new HashSet<>(pinnedCategories);
+        for (String c : pinnedCategories) byCategory.put(c, new Totals());
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // Alfabetik sırada tüm kategoriler
+    public synchronized List<String> getCategories() {
+        return new ArrayList<>(byCategory.keySet());
+    }
+
+    public synchronized Summary summary(String category) {
+        Totals t = byCategory.get(category);
+        return t == null ? null : toSummary(category, t);
+    }
+
+    public synchronized List<Summary> summaries() {
+        List<Summary> result = new ArrayList<>(byCategory.size());
+        byCategory.forEach((c, t) -> result.add(toSummary(c, t)));
+        return result;
+    }
+
+    @Override
+    public synchronized void productAdded(Product p) {
+        add(p, contributionOf(p));
+    }
+
+    @Override
+    public synchronized void productUpdated(Product p) {
+        Contribution old = contributions.get(p);
+        Contribution now = contributionOf(p);
+        if (now.equals(old)) return;
+        if (old != null && old.category() != null && old.category().equals(now.category())) {
+            // Kategori aynı; liste değişmez, sadece sayaçlar kaydırılır
+            Totals t = byCategory.get(now.category());
+            t.units += now.stock() - old.stock();
+            t.valueCents += now.priceCents() * now.stock() - old.priceCents() * old.stock();
+            contributions.put(p, now);
+            return;
+        }
+        remove(p);
+        add(p, now);
+    }
+
+    @Override
+    public synchronized void productRemoved(Product p) {
+        remove(p);
+    }
+
+    // Alım ve replay'de sadece stok değişir; herhangi bir thread'den, ürün silindikten sonra da gelebilir
+    @Override
+    public synchronized void stockChanged(Product p) {
+        if (contributions.containsKey(p)) productUpdated(p);
+    }
+
+    private void add(Product p, Contribution c) {
+        if (contributions.putIfAbsent(p, c) != null) return;
+        if (c.category() == null) return;
+        Totals t = byCategory.get(c.category());
+        if (t == null) {
+            t = new Totals();
+            byCategory.put(c.category(), t);
+            listeners.forEach(l -> l.categoryAdded(c.category()));
+        }
+        t.products++;
+        t.units += c.stock();
+        t.valueCents += c.priceCents() * c.stock();
+    }
+
+    private void remove(Product p) {
+        Contribution c = contributions.remove(p);
+        if (c == null || c.category() == null) return;
+        Totals t = byCategory.get(c.category());
+        if (t == null) return;
+        t.products--;
+        t.units -= c.stock();
+        t.valueCents -= c.priceCents() * c.stock();
+        if (t.products == 0 && !pinned.contains(c.category())) {
+            byCategory.remove(c.category());
+            listeners.forEach(l -> l.categoryRemoved(c.category()));
+        }
+    }
+
+    private static Contribution contributionOf(Product p) {
+        return new Contribution(p.getCategory(), Math.round(p.getPrice() * 100), p.getStockQuantity());
+    }
+
+    private static Summary toSummary(String category, Totals t) {
+        return new Summary(category, t.products, t.units, t.valueCents / 100.0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Uygulama içi olay yolu. publish() olayı sabit boyutlu bir diziye (ArrayBlockingQueue) koyup hemen döner;
+// aboneler tek bir arka plan thread'inde çağrılır, böylece yayınlayan (ör. alım) thread'i beklemez.
+// Kuyruk dolarsa olay atılır ve sayılır; yayınlayan asla bloklanmaz.
+public class EventBus implements AutoCloseable {
+    private record Subscription(Class<?> type, Consumer<Object> handler) {
+    }
+
+    private final BlockingQueue<Object> queue;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public EventBus(int capacity) {
+        queue = new ArrayBlockingQueue<>(capacity);
+        dispatcher = new Thread(this::run, "event-bus");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    // type'ın alt tiplerindeki olaylar da handler'a iletilir
+    @SuppressWarnings("unchecked")
+    public <E> void subscribe(Class<E> type, Consumer<? super E> handler) {
+        subscriptions.add(new Subscription(type, (Consumer<Object>) handler));
+    }
+
+    public void publish(Object event) {
+        if (queue.offer(event)) published.increment();
+        else dropped.increment();
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            Object event;
+            try {
+                event = queue.take();
+            } catch (InterruptedException e) {
+                continue;
+            }
+            for (Subscription s : subscriptions) {
+                if (!s.type.isInstance(event)) continue;
+                try {
+                    s.handler.accept(event);
+                } catch (RuntimeException e) {
+                    // Hatalı bir abone diğer abonelerin olaylarını engellememeli
+                    MetricsRegistry.global().reportError("events.listenerErrors",
+                            "Event listener failed on " + event.getClass().getSimpleName(), e);
+                }
+            }
+        }
+    }
+}
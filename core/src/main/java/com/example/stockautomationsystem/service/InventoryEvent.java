@@ -0,0 +1,50 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.Product;
+
+import java.util.List;
+
+// Olay yolunda yayınlanan envanter olayları
+public sealed interface InventoryEvent {
+    Product product();
+
+    // Alım, rezervasyon onayı veya journal replay sonrası stok miktarı değişti
+    record StockChanged(Product product, int quantity) implements InventoryEvent {
+    }
+
+    // Ürün eklendi veya düzenlendi (ad, kategori, fiyat ya da stok)
+    record ProductChanged(Product product) implements InventoryEvent {
+    }
+
+    record ProductRemoved(Product product) implements InventoryEvent {
+    }
+
+    // Repository bildirimlerini olay yoluna aktaran dinleyici. Açılıştaki toplu yükleme olay üretmez.
+    static InventoryRepository.Listener publishTo(EventBus bus) {
+        return new InventoryRepository.Listener() {
+            @Override
+            public void productAdded(Product p) {
+                bus.publish(new ProductChanged(p));
+            }
+
+            @Override
+            public void productUpdated(Product p) {
+                bus.publish(new ProductChanged(p));
+            }
+
+            @Override
+            public void productRemoved(Product p) {
+                bus.publish(new ProductRemoved(p));
+            }
+
+            @Override
+            public void productsLoaded(List<Product> products) {
+            }
+
+            @Override
+            public void stockChanged(Product p) {
+                bus.publish(new StockChanged(p, p.getStockQuantity()));
+            }
+        };
+    }
+}
@@ -0,0 +1,449 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.metrics.LatencyHistogram;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.model.ProductState;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Denetim kayıtlarından geçmiş bir andaki envanteri yeniden kurar. Yazıcı thread'i her checkpointEvery
+// kayıtta bir ve her katalog aktarımından sonra tüm ürünlerin ikili bir kopyasını (checkpoint) history/ altına
+// yazar. Checkpoint'ler alındıkları andaki log konumuyla (LogStore.position) anahtarlanır ve sıralanır; saat
+// sadece sorgulanan anı bulmak için kaydedilir, geri alınsa da sıra bozulmaz. T anındaki durum, saati T'den
+// önce olan en yeni checkpoint'in üzerine ondan sonraki kayıtların "after" değerleri yazılma sırasıyla
+// uygulanarak bulunur. İki checkpoint arasındaki kayıtlar ilk sorguda log deposundan konum aralığıyla bir kez
+// okunup ayrıştırılır ve önbellekte tutulur; son aralığa yeni kayıtlar yazıldıkça eklenir.
+// Değerler fark değil mutlak olduğu için checkpoint'e zaten girmiş bir değişikliğin tekrar uygulanması sonucu
+// bozmaz. Stok değişikliklerinin değerleri yazıcı thread'inde log sırasıyla okunur (LogEntry.withStockChange);
+// eş zamanlı alımlarda da aynı ürünün sonraki kaydı hiçbir zaman daha eski bir stok taşımaz.
+public class InventoryHistory implements PersistenceExecutor.LogListener {
+    private static final String HISTORY_DIR = "history";
+    private static final String PREFIX = "checkpoint-";
+    private static final String SUFFIX = ".snap";
+    private static final int CACHED_CHECKPOINTS = 4;
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LatencyHistogram QUERY_TIME = MetricsRegistry.global().timer("history.query");
+    private static final LatencyHistogram CHECKPOINT_TIME = MetricsRegistry.global().timer("history.checkpoint");
+
+    private final Path dir;
+    private final int checkpointEvery;
+    private final int keep;
+    // Log konumuna göre
+    private final ConcurrentSkipListMap<Long, Checkpoint> checkpoints = new ConcurrentSkipListMap<>();
+    private final Map<Long, BinarySnapshot> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BinarySnapshot> eldest) {
+            return size() > CACHED_CHECKPOINTS;
+        }
+    };
+    // Kapanmış aralıkların değişiklikleri, aralığın başladığı checkpoint'e göre; toplam cachedChanges kayıtla sınırlı
+    private final Map<Long, List<Change>> changes = new LinkedHashMap<>(16, 0.75f, true);
+    private final int cachedChanges;
+    private int cachedCount;
+    // Son checkpoint'ten liveEnd konumuna kadarki değişiklikler; ilk sorguya kadar okunmaz (null)
+    private final Object liveLock = new Object();
+    private List<Change> live;
+    private long liveEnd;
+
+    private LogStore logStore;
+    private Supplier<List<Product>> state;
+    private int sinceCheckpoint; // sadece yazıcı thread'i
+
+    public InventoryHistory(Path dir, int checkpointEvery, int keep, int cachedChanges) {
+        this.dir = dir;
+        this.checkpointEvery = Math.max(1, checkpointEvery);
+        this.keep = Math.max(1, keep);
+        this.cachedChanges = cachedChanges;
+    }
+
+    public static InventoryHistory fromSystemProperties(JsonService jsonService) {
+        return new InventoryHistory(
+                InventoryJournal.stockDir("stock.history.dir", jsonService, HISTORY_DIR),
+                Integer.getInteger("stock.history.checkpointEvery", 5000),
+                Integer.getInteger("stock.history.checkpoints", 100),
+                Integer.getInteger("stock.history.cachedChanges", 200_000));
+    }
+
+    // Ürünler yüklendikten sonra, değişiklikler başlamadan önce çağrılmalıdır. Hiç checkpoint yoksa
+    // o anki durum ilk checkpoint olur; daha eski kayıtlarda yapısal değerler olmadığı için geçmiş oradan başlar.
+    public void open(LogStore logStore, Supplier<List<Product>> state) {
+        this.logStore = logStore;
+        this.state = state;
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                files.forEach(f -> {
+                    Checkpoint c = Checkpoint.parse(f);
+                    if (c != null) checkpoints.put(c.position(), c);
+                });
+            }
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to open inventory history in " + dir + ".", e);
+        }
+        if (checkpoints.isEmpty()) checkpoint();
+    }
+
+    // Yazıcı thread'inde, loglar eklendikten sonra çağrılır. Checkpoint yazılamazsa kayıtlar yine de
+    // diske gitmiştir; hata sadece raporlanır ve bir sonraki kayıtta tekrar denenir.
+    @Override
+    public void logged(List<LogEntry> logs, boolean checkpoint) {
+        synchronized (liveLock) {
+            // Henüz okunmadıysa bu kayıtlar da ilk sorguda log deposundan okunur. Kayıtlar az önce eklendiği için
+            // [end - logs.size(), end) konumlarındadır; ilk sorgu bunların bir kısmını zaten okumuş olabilir.
+            if (live != null) {
+                long end = logStore.position();
+                for (int i = (int) Math.max(0, liveEnd - (end - logs.size())); i < logs.size(); i++) {
+                    Change.of(logs.get(i), live);
+                }
+                liveEnd = Math.max(liveEnd, end);
+            }
+        }
+        sinceCheckpoint += logs.size();
+        if (!checkpoint && sinceCheckpoint < checkpointEvery) return;
+        try {
+            checkpoint();
+        } catch (DataPersistenceException e) {
+            MetricsRegistry.global().reportError("history.errors", "Inventory history checkpoint skipped", e);
+        }
+    }
+
+    // Log konumu durum okunmadan önce alınır; o konumdan önceki her değişiklik kopyadadır. Araya kayıt
+    // girmediyse aynı konumdaki önceki checkpoint'in yerine geçer.
+    public void checkpoint() {
+        long start = System.nanoTime();
+        long position = logStore.position();
+        Map.Entry<Long, Checkpoint> last = checkpoints.lastEntry();
+        write(position, System.currentTimeMillis(), state.get());
+        synchronized (liveLock) {
+            // Kapanan aralığın okunmuş değişiklikleri önbelleğe geçer; yeni aralık boş başlar
+            if (last != null && last.getKey() < position && live != null && liveEnd == position) {
+                synchronized (changes) {
+                    cacheChanges(last.getKey(), live);
+                }
+            }
+            live = new ArrayList<>();
+            liveEnd = position;
+        }
+        sinceCheckpoint = 0;
+        prune();
+        CHECKPOINT_TIME.recordSince(start);
+    }
+
+    // Checkpoint'lerin alındığı anlar (epoch ms), log sırasıyla
+    public List<Long> getCheckpoints() {
+        List<Long> times = new ArrayList<>(checkpoints.size());
+        for (Checkpoint c : checkpoints.values()) times.add(c.time());
+        return times;
+    }
+
+    // timestamp (epoch ms) anındaki envanter. İlk checkpoint'ten önceki bir an için IllegalArgumentException.
+    public View at(long timestamp) {
+        long start = System.nanoTime();
+        while (true) {
+            Checkpoint floor = floor(timestamp);
+            if (floor == null) {
+                throw new IllegalArgumentException(checkpoints.isEmpty()
+                        ? "No inventory history recorded yet"
+                        : "Inventory history starts at " + format(earliest()));
+            }
+            BinarySnapshot base = snapshot(floor);
+            if (base == null) continue; // bozuk checkpoint dizinden çıkarıldı; bir öncekine bakılır
+            View view = new View(timestamp, floor.time(), base);
+            // Checkpoint'ten önce loglananlar zaten kopyadadır
+            for (Change c : changesAfter(floor.position())) {
+                if (c.timestamp() <= timestamp) view.apply(c);
+            }
+            QUERY_TIME.recordSince(start);
+            return view;
+        }
+    }
+
+    // Saati timestamp'ten sonra olmayan en yeni (log sırasında en son) checkpoint. En fazla keep tane olduğu
+    // için doğrusal tarama yeterlidir.
+    private Checkpoint floor(long timestamp) {
+        for (Checkpoint c : checkpoints.descendingMap().values()) {
+            if (c.time() <= timestamp) return c;
+        }
+        return null;
+    }
+
+    private long earliest() {
+        long min = Long.MAX_VALUE;
+        for (Checkpoint c : checkpoints.values()) min = Math.min(min, c.time());
+        return min;
+    }
+
+    // Tek ürünün timestamp anındaki değerleri; o an yoksa null
+    public ProductState productAt(String name, long timestamp) {
+        return at(timestamp).product(name);
+    }
+
+    // checkpoint konumundan bir sonrakine kadar (son aralıkta şimdiye kadar) yazılan değişiklikler, yazılma
+    // sırasıyla. Dönen liste değiştirilmez; son aralığın kopyası döner.
+    private List<Change> changesAfter(long checkpoint) {
+        Long next = checkpoints.higherKey(checkpoint);
+        if (next == null) {
+            synchronized (liveLock) {
+                if (checkpoints.higherKey(checkpoint) == null) {
+                    if (live == null) {
+                        liveEnd = logStore.position();
+                        live = read(checkpoint, liveEnd);
+                    }
+                    return new ArrayList<>(live);
+                }
+            }
+            next = checkpoints.higherKey(checkpoint);
+        }
+        synchronized (changes) {
+            List<Change> cached = changes.get(checkpoint);
+            if (cached == null) {
+                cached = read(checkpoint, next);
+                cacheChanges(checkpoint, cached);
+            }
+            return cached;
+        }
+    }
+
+    // changes kilidi tutulurken çağrılır; en uzun süredir kullanılmayan aralıklar atılır
+    private void cacheChanges(long checkpoint, List<Change> list) {
+        List<Change> old = changes.put(checkpoint, list);
+        cachedCount += list.size() - (old == null ? 0 : old.size());
+        for (Iterator<List<Change>> it = changes.values().iterator(); cachedCount > cachedChanges && it.hasNext(); ) {
+            List<Change> eldest = it.next();
+            if (eldest == list) continue;
+            cachedCount -= eldest.size();
+            it.remove();
+        }
+    }
+
+    // Konumu [from, to) aralığındaki kayıtlar
+    private List<Change> read(long from, long to) {
+        List<LogEntry> entries = logStore.readRange(from, to);
+        List<Change> result = new ArrayList<>(entries.size());
+        for (LogEntry e : entries) Change.of(e, result);
+        return result;
+    }
+
+    // "yyyy-MM-dd HH:mm:ss", ISO "yyyy-MM-ddTHH:mm[:ss]" (yerel saat) ya da epoch milisaniye
+    public static long parseTime(String text) {
+        String s = text.trim();
+        if (!s.isEmpty() && s.chars().allMatch(Character::isDigit)) return Long.parseLong(s);
+        try {
+            LocalDateTime t = s.indexOf('T') > 0 ? LocalDateTime.parse(s) : LocalDateTime.parse(s, FORMAT);
+            return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Not a time: " + text + " (use yyyy-MM-dd HH:mm:ss)");
+        }
+    }
+
+    public static String format(long timestamp) {
+        return FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()));
+    }
+
+    // Satırlar normalize edilmiş ada göre sıralı yazılır; tek ürün ikili aramayla, adlar çözülmeden bulunur
+    private void write(long position, long time, List<Product> products) {
+        String[] keys = new String[products.size()];
+        Integer[] order = new Integer[products.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = InventoryRepository.normalize(products.get(i).getName());
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> keys[i]));
+        List<Product> sorted = new ArrayList<>(products.size());
+        for (Integer i : order) sorted.add(products.get(i));
+
+        Path file = dir.resolve(PREFIX + position + "-" + time + SUFFIX);
+        Path tmp = dir.resolve(file.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                BinarySnapshot.writeTo(out, sorted);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to write inventory history checkpoint.", e);
+        }
+        Checkpoint replaced = checkpoints.put(position, new Checkpoint(position, time, file));
+        if (replaced != null) {
+            synchronized (cache) {
+                cache.remove(position);
+            }
+            delete(replaced.file());
+        }
+    }
+
+    // En yeni keep checkpoint kalır; daha eski anlar artık sorgulanamaz
+    private void prune() {
+        while (checkpoints.size() > keep) {
+            Map.Entry<Long, Checkpoint> oldest = checkpoints.pollFirstEntry();
+            synchronized (cache) {
+                cache.remove(oldest.getKey());
+            }
+            synchronized (changes) {
+                List<Change> dropped = changes.remove(oldest.getKey());
+                if (dropped != null) cachedCount -= dropped.size();
+            }
+            delete(oldest.getValue().file());
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Eşlenmiş dosya (Windows) silinemeyebilir; bir sonraki temizlikte dizinde yoksa sorun değil
+        }
+    }
+
+    private BinarySnapshot snapshot(Checkpoint c) {
+        synchronized (cache) {
+            BinarySnapshot cached = cache.get(c.position());
+            if (cached != null) return cached;
+            try {
+                BinarySnapshot s = BinarySnapshot.open(c.file());
+                cache.put(c.position(), s);
+                return s;
+            } catch (DataPersistenceException e) {
+                // Yarıda kalmış ya da silinmiş checkpoint atlanır
+                if (!(e.getCause() instanceof NoSuchFileException)) {
+                    MetricsRegistry.global().reportError("history.errors",
+                            "Skipped inventory history checkpoint " + c.file().getFileName(), e);
+                }
+                checkpoints.remove(c.position(), c);
+                return null;
+            }
+        }
+    }
+
+    // Dosya adı: checkpoint-<log konumu>-<epoch ms>.snap
+    private record Checkpoint(long position, long time, Path file) {
+        static Checkpoint parse(Path f) {
+            String n = f.getFileName().toString();
+            if (!n.startsWith(PREFIX) || !n.endsWith(SUFFIX)) return null;
+            String[] parts = n.substring(PREFIX.length(), n.length() - SUFFIX.length()).split("-");
+            if (parts.length != 2) return null; // geçici ya da eski biçimdeki dosya
+            try {
+                return new Checkpoint(Long.parseLong(parts[0]), Long.parseLong(parts[1]), f);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    // Bir kaydın yapısal değerleri; anahtarlar normalize edilmiş adlardır. Yapısal değeri olmayan kayıtlar
+    // (eski kayıtlar, IMPORT, ana depoya dokunmayan konum işlemleri) listeye eklenmez.
+    private record Change(long timestamp, String removed, String key, ProductState after) {
+        static void of(LogEntry e, List<Change> into) {
+            ProductState before = e.getBefore();
+            ProductState after = e.getAfter();
+            if (before == null && after == null) return;
+            String key = after == null ? null : InventoryRepository.normalize(after.name());
+            String removed = before == null ? null : InventoryRepository.normalize(before.name());
+            into.add(new Change(e.getTimestamp(), removed == null || removed.equals(key) ? null : removed, key, after));
+        }
+    }
+
+    // Bir checkpoint ile üzerine uygulanan kayıtlar. Değişen ürünler küçük bir haritada tutulur (null: silinmiş);
+    // diğerleri checkpoint dosyasından istendikçe okunur.
+    public static final class View {
+        private final long timestamp;
+        private final long checkpoint;
+        private final BinarySnapshot base;
+        private final Map<String, ProductState> changed = new HashMap<>();
+        private int replayed;
+
+        private View(long timestamp, long checkpoint, BinarySnapshot base) {
+            this.timestamp = timestamp;
+            this.checkpoint = checkpoint;
+            this.base = base;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public long getCheckpoint() {
+            return checkpoint;
+        }
+
+        // Checkpoint üzerine uygulanan kayıt sayısı
+        public int getReplayed() {
+            return replayed;
+        }
+
+        public ProductState product(String name) {
+            String key = InventoryRepository.normalize(name);
+            if (changed.containsKey(key)) return changed.get(key);
+            int i = find(key);
+            return i < 0 ? null : state(i);
+        }
+
+        // Ada göre (büyük/küçük harf duyarsız) sıralı tüm ürünler. Checkpoint zaten sıralı olduğu için
+        // değişenler ayrıca sıralanıp tek geçişte araya katılır.
+        public List<ProductState> products() {
+            List<Map.Entry<String, ProductState>> extra = new ArrayList<>(changed.entrySet());
+            extra.sort(Map.Entry.comparingByKey());
+            List<ProductState> result = new ArrayList<>(base.size() + extra.size());
+            int j = 0;
+            for (int i = 0; i < base.size(); i++) {
+                String name = base.name(i);
+                String key = InventoryRepository.normalize(name);
+                for (; j < extra.size() && extra.get(j).getKey().compareTo(key) < 0; j++) {
+                    if (extra.get(j).getValue() != null) result.add(extra.get(j).getValue());
+                }
+                if (!changed.containsKey(key)) {
+                    result.add(new ProductState(name, base.category(i), base.price(i), base.stock(i)));
+                }
+            }
+            for (; j < extra.size(); j++) {
+                if (extra.get(j).getValue() != null) result.add(extra.get(j).getValue());
+            }
+            return result;
+        }
+
+        private void apply(Change c) {
+            if (c.removed() != null) changed.put(c.removed(), null);
+            if (c.key() != null) changed.put(c.key(), c.after());
+            replayed++;
+        }
+
+        private int find(String key) {
+            int lo = 0, hi = base.size() - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = InventoryRepository.normalize(base.name(mid)).compareTo(key);
+                if (cmp < 0) lo = mid + 1;
+                else if (cmp > 0) hi = mid - 1;
+                else return mid;
+            }
+            return -1;
+        }
+
+        private ProductState state(int i) {
+            return new ProductState(base.name(i), base.category(i), base.price(i), base.stock(i));
+        }
+    }
+}
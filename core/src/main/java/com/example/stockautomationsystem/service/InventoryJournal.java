@@ -0,0 +1,377 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Her ekleme/güncelleme/silme/satın alma işlemini inventory.json'u baştan yazmak yerine
+// segment dosyalarına tek satırlık kayıt olarak ekler. Arka plandaki compactor journal'ı
+// periyodik olarak inventory.json snapshot'ına katlar.
+public class InventoryJournal implements AutoCloseable {
+    public enum FsyncPolicy { EVERY_WRITE, GROUPED, INTERVAL }
+
+    private static final String JOURNAL_DIR = "inventory-journal";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int SNAPSHOT_CHUNK = 1000;
+
+    private final JsonService jsonService;
+    private final Path dir;
+    private final FsyncPolicy fsyncPolicy;
+    private final int groupSize;
+    private final long segmentBytes;
+    private final int compactEvery;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> daemon(r, "journal-compactor"));
+    private final ScheduledExecutorService syncer;
+    private final List<Supplier<Runnable>> companions = new CopyOnWriteArrayList<>();
+    // Arka plan hataları bir sonraki append/flush'ta fırlatılır. Başarısız fsync'ten sonra sayfa önbelleğindeki
+    // veriye güvenilemez, o yüzden kalıcıdır; kompaksiyon hatası bir kez bildirilir, segmentler silinmediği
+    // için veri kaybı yoktur ve sonraki kompaksiyon yeniden dener.
+    private final AtomicReference<Throwable> compactionFailure = new AtomicReference<>();
+    private IOException syncFailure;
+
+    private FileChannel channel;
+    private long segmentId;
+    private long nextSeq = 1;
+    private int unsynced;
+    private int recordsSinceSnapshot;
+    private boolean closed;
+
+    public InventoryJournal(JsonService jsonService, Path dir, FsyncPolicy fsyncPolicy,
+                            int groupSize, long intervalMillis, long segmentBytes, int compactEvery) {
+        this.jsonService = jsonService;
+        this.dir = dir;
+        this.fsyncPolicy = fsyncPolicy;
+        this.groupSize = Math.max(1, groupSize);
+        this.segmentBytes = segmentBytes;
+        this.compactEvery = compactEvery;
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            syncer = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "journal-fsync"));
+            syncer.scheduleWithFixedDelay(this::syncQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    // -Dstock.journal.fsync=EVERY_WRITE|GROUPED|INTERVAL vb. ile ayarlanabilir
+    public static InventoryJournal fromSystemProperties(JsonService jsonService) {
+        return new InventoryJournal(
+                jsonService,
+                stockDir("stock.journal.dir", jsonService, JOURNAL_DIR),
+                FsyncPolicy.valueOf(System.getProperty("stock.journal.fsync", FsyncPolicy.GROUPED.name())),
+                Integer.getInteger("stock.journal.groupSize", 32),
+                Long.getLong("stock.journal.intervalMs", 200L),
+                Long.getLong("stock.journal.segmentBytes", 4L * 1024 * 1024),
+                Integer.getInteger("stock.journal.compactEvery", 10_000));
+    }
+
+    // Son snapshot'ı yükler ve journal'ın kuyruğunu üzerine oynatır.
+    public synchronized List<Product> open() {
+        Map<String, Product> state = new LinkedHashMap<>();
+        open(chunk -> chunk.forEach(p -> state.put(p.getName(), p)), r -> r.applyTo(state), null);
+        return new ArrayList<>(state.values());
+    }
+
+    // Akan (streaming) yükleme: snapshot'taki ürünler parça parça snapshotChunks'a verilir, ardından
+    // journal kayıtları sırayla replay'e iletilir. Bellekte aynı anda tüm snapshot tutulmaz.
+    public synchronized void open(Consumer<List<Product>> snapshotChunks, Consumer<JournalRecord> replay,
+                                  JsonService.ProgressListener progress) {
+        SnapshotFiles.Generation loaded = jsonService.streamData(SNAPSHOT_CHUNK, snapshotChunks, progress);
+        // Eski kuşaklara geri dönülebilmesi için saklanan segmentler okunan snapshot'a zaten katlanmıştır
+        long firstSegment = loaded == null ? 0 : loaded.journalSegment();
+
+        try {
+            Files.createDirectories(dir);
+            List<Path> segments = listSegments();
+            for (int i = 0; i < segments.size(); i++) {
+                if (segmentId(segments.get(i)) < firstSegment) continue;
+                recordsSinceSnapshot += replay(segments.get(i), replay, i == segments.size() - 1);
+            }
+            segmentId = segments.isEmpty() ? 1 : segmentId(segments.get(segments.size() - 1));
+            openSegment(segmentId);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to open inventory journal.", e);
+        }
+    }
+
+    // Ürün snapshot'ı ile birlikte yazılan ek durum (ör. konum stokları). Supplier durumu yazıcı thread'inde
+    // ürün listesiyle aynı anda kopyalar; dönen iş compactor thread'inde, segmentler silinmeden önce çalışır.
+    public void addCompanion(Supplier<Runnable> capture) {
+        companions.add(capture);
+    }
+
+    public synchronized void append(JournalRecord record) {
+        append(List.of(record));
+    }
+
+    public synchronized void append(List<JournalRecord> records) {
+        if (closed) throw new IllegalStateException("Journal is closed");
+        checkBackgroundFailure();
+        try {
+            StringBuilder sb = new StringBuilder();
+            for (JournalRecord r : records) {
+                r.setSeq(nextSeq++);
+                r.materialize();
+                sb.append(mapper.writeValueAsString(r)).append('\n');
+            }
+            ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) channel.write(buf);
+
+            unsynced += records.size();
+            recordsSinceSnapshot += records.size();
+            if (fsyncPolicy == FsyncPolicy.EVERY_WRITE
+                    || (fsyncPolicy == FsyncPolicy.GROUPED && unsynced >= groupSize)) {
+                sync();
+            }
+            if (channel.size() >= segmentBytes) {
+                roll();
+            }
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to append to inventory journal.", e);
+        }
+    }
+
+    public synchronized void flush() {
+        checkBackgroundFailure();
+        try {
+            sync();
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to sync inventory journal.", e);
+        }
+    }
+
+    public synchronized boolean compactionDue() {
+        return recordsSinceSnapshot >= compactEvery;
+    }
+
+    // state, o ana kadar eklenen tüm kayıtların etkisini içermelidir; daha yeni değişiklikleri de
+    // içermesi sorun değildir, çünkü sonraki kayıtlar mutlak durum taşır.
+    // Aktif segment burada kapatılır; snapshot yazımı ve eski segmentlerin silinmesi arka planda yapılır.
+    public synchronized void compact(List<Product> state) {
+        try {
+            sync();
+            roll();
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to roll inventory journal.", e);
+        }
+        recordsSinceSnapshot = 0;
+        long sealedUpTo = segmentId;
+        List<Runnable> extra = captureCompanions();
+        compactor.execute(() -> writeSnapshot(state, extra, sealedUpTo));
+    }
+
+    // compact gibidir, ancak snapshot yazılana kadar bekler ve hatayı fırlatır. Journal'a kaydı yazılmayan
+    // toplu değişiklikler (katalog aktarımı) ancak bu snapshot ile kalıcı olur. Snapshot'lar compactor
+    // thread'inde sırayla yazıldığı için daha eski bir kompaksiyon bunun üzerine yazamaz.
+    public void checkpoint(List<Product> state) {
+        long sealedUpTo;
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("Journal is closed");
+            try {
+                sync();
+                roll();
+            } catch (IOException e) {
+                throw new DataPersistenceException("Failed to roll inventory journal.", e);
+            }
+            recordsSinceSnapshot = 0;
+            sealedUpTo = segmentId;
+        }
+        List<Runnable> extra = captureCompanions();
+        Future<?> written = compactor.submit(() -> {
+            snapshot(state, extra, sealedUpTo);
+            return null;
+        });
+        try {
+            written.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new DataPersistenceException("Failed to write inventory snapshot.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataPersistenceException("Interrupted while writing inventory snapshot.", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        if (syncer != null) syncer.shutdownNow();
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+            if (channel != null) {
+                sync();
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to close inventory journal.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Runnable> captureCompanions() {
+        List<Runnable> captured = new ArrayList<>(companions.size());
+        for (Supplier<Runnable> c : companions) captured.add(c.get());
+        return captured;
+    }
+
+    private void writeSnapshot(List<Product> state, List<Runnable> extra, long sealedUpTo) {
+        try {
+            snapshot(state, extra, sealedUpTo);
+        } catch (Exception e) {
+            compactionFailure.set(e);
+        }
+    }
+
+    private void checkBackgroundFailure() {
+        if (syncFailure != null) {
+            throw new DataPersistenceException("Inventory journal fsync failed; later writes cannot be made durable.",
+                    syncFailure);
+        }
+        Throwable failed = compactionFailure.getAndSet(null);
+        if (failed != null) throw new DataPersistenceException("Failed to write inventory snapshot.", failed);
+    }
+
+    private void snapshot(List<Product> state, List<Runnable> extra, long sealedUpTo) throws IOException {
+        jsonService.saveData(state, sealedUpTo);
+        extra.forEach(Runnable::run);
+        // Snapshot yazıldıktan sonra, saklanan en eski kuşağa da katlanmış segmentler silinebilir; daha yenileri
+        // o kuşağa geri dönülürse tekrar oynatılmak üzere kalır.
+        // Silme yarıda kalırsa kayıtlar mutlak durum taşıdığı için tekrar oynatmak zararsızdır.
+        long retained = Math.min(sealedUpTo, jsonService.retainedJournalSegment());
+        for (Path segment : listSegments()) {
+            if (segmentId(segment) < retained) Files.deleteIfExists(segment);
+        }
+    }
+
+    // Yazım sırasında çökmeden kalan yarım kayıt sadece son segmentin son satırı olabilir; o kesilip atılır.
+    // Ortadaki bozuk bir satır ise sonrasındaki geçerli kayıtları kaybetmemek için kurtarmayı durdurur.
+    private int replay(Path segment, Consumer<JournalRecord> replay, boolean last) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        int count = 0;
+        int start = 0;
+        while (start < bytes.length) {
+            int end = indexOf(bytes, (byte) '\n', start);
+            boolean tail = end < 0 || end == bytes.length - 1;
+            JournalRecord r = null;
+            IOException error = null;
+            if (end >= 0) {
+                try {
+                    r = mapper.readValue(bytes, start, end - start, JournalRecord.class);
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+            if (r == null) {
+                if (!last || !tail) {
+                    throw new DataPersistenceException("Corrupt inventory journal record in "
+                            + segment.getFileName() + " at byte " + start + ".", error);
+                }
+                try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    ch.truncate(start);
+                }
+                break;
+            }
+            replay.accept(r);
+            nextSeq = Math.max(nextSeq, r.getSeq() + 1);
+            count++;
+            start = end + 1;
+        }
+        return count;
+    }
+
+    private static int indexOf(byte[] bytes, byte b, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == b) return i;
+        }
+        return -1;
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        openSegment(++segmentId);
+    }
+
+    private void openSegment(long id) throws IOException {
+        channel = FileChannel.open(dir.resolve(segmentName(id)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        unsynced = 0;
+    }
+
+    private synchronized void syncQuietly() {
+        try {
+            if (!closed && syncFailure == null) sync();
+        } catch (IOException ignored) {
+            // syncFailure'a kaydedildi, bir sonraki append/flush fırlatır
+        }
+    }
+
+    private void sync() throws IOException {
+        if (unsynced > 0 && channel.isOpen()) {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                syncFailure = e;
+                throw e;
+            }
+            unsynced = 0;
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String segmentName(long id) {
+        return String.format("%s%010d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX);
+    }
+
+    private static long segmentId(Path segment) {
+        String n = segment.getFileName().toString();
+        return Long.parseLong(n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // Özel dizin verilmemişse veri dizini altındaki varsayılan dizin kullanılır
+    static Path stockDir(String property, JsonService jsonService, String defaultName) {
+        String dir = System.getProperty(property);
+        return dir != null ? Path.of(dir) : jsonService.resolve(defaultName);
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.InvalidProductException;
+import com.example.stockautomationsystem.model.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ObjIntConsumer;
+
+// Ürünlerin bellekteki tek kaynağı. Kod ve ad üzerinden O(1) arama, kategori bazlı ikincil indeks
+// ve düşük stok sorgulari için stok miktarına göre sıralı indeks tutar. Benzersiz anahtar küçük harfe
+// çevrilmiş addır; ürün kodu adın hashCode'undan türediği için farklı adlar aynı kodu paylaşabilir.
+// Ürün alanları sadece bu sınıf üzerinden değiştirilmelidir, aksi halde indeksler bozulur.
+// Stok değişiklikleri (StockEngine) kilit almadan bildirilir; stok indeksi sorgudan önce toplu güncellenir.
+public class InventoryRepository {
+    public interface Listener {
+        void productAdded(Product p);
+        void productUpdated(Product p);
+        void productRemoved(Product p);
+
+        // Yükleme sırasında gelen her parça için bir kez çağrılır
+        default void productsLoaded(List<Product> products) {
+            products.forEach(this::productAdded);
+        }
+
+        // Sadece stok miktarı değiştiğinde (alım, replay) çağrılır; herhangi bir thread'den gelebilir
+        default void stockChanged(Product p) {
+            productUpdated(p);
+        }
+    }
+
+    public record UpsertResult(int added, int updated) {
+    }
+
+    private final Map<String, Product> byName = new LinkedHashMap<>();
+    private final Map<String, Set<Product>> byCode = new HashMap<>();
+    private final Map<String, Set<Product>> byCategory = new HashMap<>();
+    private final TreeMap<Integer, Set<Product>> byStock = new TreeMap<>();
+    private final Map<Product, Integer> indexedStock = new HashMap<>();
+    private final Set<Product> dirtyStock = ConcurrentHashMap.newKeySet(); // katalog boyutuyla sınırlı
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // Yükleme sırasında parça parça çağrılabilir; dinleyicilere parça başına tek bildirim gider.
+    // Aynı adlı kayıtlarda journal'daki gibi sonuncusu geçerlidir.
+    public synchronized void loadAll(Collection<Product> products) throws InvalidProductException {
+        List<Product> loaded = new ArrayList<>(products.size());
+        try {
+            for (Product p : products) {
+                Product existing = byName.get(normalize(p.getName()));
+                if (existing != null) {
+                    unindex(existing);
+                    if (!loaded.remove(existing)) listeners.forEach(l -> l.productRemoved(existing));
+                }
+                checkUnique(p.getName(), null);
+                index(p);
+                loaded.add(p);
+            }
+        } finally {
+            if (!loaded.isEmpty()) listeners.forEach(l -> l.productsLoaded(loaded));
+        }
+    }
+
+    // Toplu katalog aktarımı: aynı adlı ürün varsa alanları güncellenir, yoksa eklenir. Yeni ürünler için
+    // dinleyicilere parça başına tek bir productsLoaded bildirimi gider. Reddedilen ürünün listedeki sırası
+    // rejected'a verilir; parçanın geri kalanı yine uygulanır.
+    public synchronized UpsertResult upsertAll(List<Product> products, ObjIntConsumer<InvalidProductException> rejected) {
+        List<Product> added = new ArrayList<>();
+        Set<Product> addedHere = new HashSet<>();
+        int updated = 0;
+        try {
+            for (int i = 0; i < products.size(); i++) {
+                Product p = products.get(i);
+                Product existing = byName.get(normalize(p.getName()));
+                try {
+                    checkUnique(p.getName(), existing);
+                } catch (InvalidProductException e) {
+                    rejected.accept(e, i);
+                    continue;
+                }
+                if (existing == null) {
+                    index(p);
+                    added.add(p);
+                    addedHere.add(p);
+                    continue;
+                }
+                unindex(existing);
+                existing.setName(p.getName());
+                existing.setCategory(p.getCategory());
+                existing.setPrice(p.getPrice());
+                existing.setStockQuantity(p.getStockQuantity());
+                index(existing);
+                updated++;
+                // Bu parçada eklenen ürün zaten son haliyle productsLoaded'da bildirilecek
+                if (!addedHere.contains(existing)) listeners.forEach(l -> l.productUpdated(existing));
+            }
+        } finally {
+            if (!added.isEmpty()) listeners.forEach(l -> l.productsLoaded(added));
+        }
+        return new UpsertResult(added.size(), updated);
+    }
+
+    // Journal kaydını bellekteki duruma uygular (açılışta replay). Kayıtlar mutlak durum taşıdığı için
+    // çakışan ad varsa sonraki kayıt kazanır.
+    public synchronized void apply(JournalRecord r) {
+        switch (r.getOp()) {
+            case PUT -> {
+                Product p = byName.get(normalize(r.getKey()));
+                Product other = byName.get(normalize(r.getName()));
+                if (other != null && other != p) remove(other);
+                if (p == null) {
+                    p = new Product(r.getName(), r.getCategory(), r.getPrice(), r.getStock());
+                    index(p);
+                    Product added = p;
+                    listeners.forEach(l -> l.productAdded(added));
+                } else {
+                    unindex(p);
+                    p.setName(r.getName());
+                    p.setCategory(r.getCategory());
+                    p.setPrice(r.getPrice());
+                    p.setStockQuantity(r.getStock());
+                    index(p);
+                    Product updated = p;
+                    listeners.forEach(l -> l.productUpdated(updated));
+                }
+            }
+            case DELETE -> {
+                Product p = byName.get(normalize(r.getKey()));
+                if (p != null) remove(p);
+            }
+            case STOCK -> {
+                Product p = byName.get(normalize(r.getKey()));
+                if (p != null) {
+                    p.setStockQuantity(r.getStock());
+                    stockChanged(p);
+                }
+            }
+            case BATCH -> r.getRecords().forEach(this::apply);
+        }
+    }
+
+    public synchronized void add(Product p) throws InvalidProductException {
+        checkUnique(p.getName(), null);
+        index(p);
+        listeners.forEach(l -> l.productAdded(p));
+    }
+
+    public synchronized void update(Product p, String name, String category, double price, int stockQuantity)
+            throws InvalidProductException {
+        checkUnique(name, p);
+        unindex(p);
+        p.setName(name);
+        p.setCategory(category);
+        p.setPrice(price);
+        p.setStockQuantity(stockQuantity);
+        index(p);
+        listeners.forEach(l -> l.productUpdated(p));
+    }
+
+    // Stok yetersizse Product.reduceStock'un fırlattığı InsufficientStockException aynen iletilir
+    public void reduceStock(Product p, int quantity) {
+        p.reduceStock(quantity);
+        stockChanged(p);
+    }
+
+    // Ürünün stoğu atomik olarak değiştikten sonra çağrılır; herhangi bir thread'den kilitsiz çağrılabilir
+    public void stockChanged(Product p) {
+        dirtyStock.add(p);
+        listeners.forEach(l -> l.stockChanged(p));
+    }
+
+    public synchronized boolean remove(Product p) {
+        if (byName.get(normalize(p.getName())) != p) return false;
+        unindex(p);
+        listeners.forEach(l -> l.productRemoved(p));
+        return true;
+    }
+
+    // Kod benzersiz değildir; aynı koda düşen tüm ürünler döner
+    public synchronized List<Product> findByCode(String code) {
+        Set<Product> set = byCode.get(code);
+        return set == null ? List.of() : new ArrayList<>(set);
+    }
+
+    public synchronized Product findByName(String name) {
+        return name == null ? null : byName.get(normalize(name));
+    }
+
+    public synchronized List<Product> findByCategory(String category) {
+        Set<Product> set = byCategory.get(category);
+        return set == null ? List.of() : new ArrayList<>(set);
+    }
+
+    // Stok miktarı threshold'un altında olan ürünler, en azdan en çoğa
+    public synchronized List<Product> findLowStock(int threshold) {
+        drainDirtyStock();
+        List<Product> result = new ArrayList<>();
+        for (Set<Product> bucket : byStock.headMap(threshold, false).values()) {
+            result.addAll(bucket);
+        }
+        return result;
+    }
+
+    public synchronized List<Product> findAll() {
+        return new ArrayList<>(byName.values());
+    }
+
+    public synchronized int size() {
+        return byName.size();
+    }
+
+    public static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void checkUnique(String name, Product self) throws InvalidProductException {
+        Product existing = byName.get(normalize(name));
+        if (existing != null && existing != self) {
+            throw new InvalidProductException("A product named '" + name + "' already exists!");
+        }
+    }
+
+    private void index(Product p) {
+        addTo(byCode, p.generateProductCode(), p);
+        byName.put(normalize(p.getName()), p);
+        addTo(byCategory, p.getCategory(), p);
+        int stock = p.getStockQuantity();
+        indexedStock.put(p, stock);
+        addTo(byStock, stock, p);
+    }
+
+    private void unindex(Product p) {
+        removeFrom(byCode, p.generateProductCode(), p);
+        byName.remove(normalize(p.getName()));
+        removeFrom(byCategory, p.getCategory(), p);
+        Integer stock = indexedStock.remove(p);
+        if (stock != null) removeFrom(byStock, stock, p);
+    }
+
+    // Stok indeksini, indekslendiği andaki değerden güncel değere taşır
+    private void drainDirtyStock() {
+        for (Iterator<Product> it = dirtyStock.iterator(); it.hasNext(); ) {
+            Product p = it.next();
+            it.remove();
+            Integer old = indexedStock.get(p);
+            if (old == null) continue; // bu arada silinmiş
+            int now = p.getStockQuantity();
+            if (old == now) continue;
+            removeFrom(byStock, old, p);
+            addTo(byStock, now, p);
+            indexedStock.put(p, now);
+        }
+    }
+
+    private static <K> void addTo(Map<K, Set<Product>> index, K key, Product p) {
+        index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(p);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Product>> index, K key, Product p) {
+        Set<Product> set = index.get(key);
+        if (set == null) return;
+        set.remove(p);
+        if (set.isEmpty()) index.remove(key);
+    }
+}
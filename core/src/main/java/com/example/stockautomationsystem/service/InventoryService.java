@@ -0,0 +1,359 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.exception.InvalidProductException;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.model.ProductState;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+// Envanterin iş mantığı: yükleme, doğrulama, ekleme/güncelleme/silme/alım, loglama ve kalıcılık.
+// JavaFX'e bağlı değildir; arayüz, komut satırı aracı ve toplu işler aynı servisi kullanır.
+public class InventoryService implements AutoCloseable {
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    // -Dstock.persistence=snapshot eski davranışa (her işlemde tüm dosyayı yazmaya) döner
+    private static final boolean JOURNAL_MODE = !"snapshot".equals(System.getProperty("stock.persistence"));
+
+    private final JsonService jsonService;
+    private final InventoryRepository repository = new InventoryRepository();
+    private final StockEngine stockEngine = new StockEngine(repository);
+    private final SalesAnalytics analytics = SalesAnalytics.fromSystemProperties();
+    private final EventBus eventBus = new EventBus(65_536);
+    private final SearchIndex searchIndex = new SearchIndex();
+    private final CategoryIndex categoryIndex = new CategoryIndex(CategoryIndex.DEFAULT_CATEGORIES);
+    private final CatalogService catalog = new CatalogService(repository);
+    private final ThresholdWatcher thresholdWatcher;
+    private final LocationStore locations;
+
+    private LogStore logStore;
+    private InventoryHistory history;
+    private PersistenceExecutor persistence;
+    private OrderService orderService;
+    private LogQuery salesQuery;
+    private CompletableFuture<Void> salesHistory;
+    private volatile boolean closed;
+
+    public InventoryService(JsonService jsonService, ThresholdWatcher.Rules alertRules) {
+        this.jsonService = jsonService;
+        repository.addListener(analytics);
+        repository.addListener(searchIndex);
+        repository.addListener(categoryIndex);
+        locations = LocationStore.forDataDir(repository, jsonService);
+        repository.addListener(locations);
+        // Stok değişiklikleri olay yoluna aktarılır; eşik kuralları tabloyu taramadan uyarı üretir
+        repository.addListener(InventoryEvent.publishTo(eventBus));
+        thresholdWatcher = new ThresholdWatcher(eventBus, alertRules);
+    }
+
+    // Snapshot ve journal parça parça repository'ye yüklenir; dinleyiciler her parçada haberdar edilir,
+    // bu yüzden arayüz ilk parçayla dolmaya başlar. Arka plan thread'inden çağrılabilir.
+    // Dosya okunamazsa DataPersistenceException fırlatılır ve servis salt okunur kalır.
+    // Loglar burada okunmaz: satış geçmişi loadSalesHistory ile, log listesi ve geçmiş sorgulari ilk
+    // kullanımda log deposundan okunur.
+    public void open(JsonService.ProgressListener progress, Consumer<InvalidProductException> invalid) {
+        long start = System.nanoTime();
+        InventoryJournal journal = JOURNAL_MODE ? InventoryJournal.fromSystemProperties(jsonService) : null;
+        Consumer<List<Product>> load = chunk -> {
+            try {
+                repository.loadAll(chunk);
+            } catch (InvalidProductException e) {
+                invalid.accept(e);
+            }
+        };
+        LogStore logs;
+        InventoryHistory timeline = InventoryHistory.fromSystemProperties(jsonService);
+        try {
+            locations.load();
+            if (journal != null) journal.open(load, this::replay, progress);
+            else jsonService.streamData(LOAD_CHUNK_SIZE, load, progress);
+            logs = LogStore.fromSystemProperties(jsonService);
+            logs.open();
+        } catch (DataPersistenceException e) {
+            if (journal != null) journal.close();
+            throw e;
+        }
+        try {
+            timeline.open(logs, repository::findAll);
+        } catch (DataPersistenceException e) {
+            if (journal != null) journal.close();
+            logs.close();
+            throw e;
+        }
+        thresholdWatcher.checkAll(repository.findAll());
+
+        synchronized (this) {
+            if (closed) {
+                // Yükleme sürerken kapatıldı (ör. çıkış yapıldı)
+                if (journal != null) journal.close();
+                logs.close();
+                return;
+            }
+            logStore = logs;
+            history = timeline;
+            // Bu andan sonraki alımlar zaten analitiğe işlenir. Sorgu şu anki log konumunda kesilir; yazıcı
+            // henüz olmadığı için arada log eklenemez. Kayıtlar sorgu çalıştırılınca okunur.
+            salesQuery = logs.query(SalesAnalytics.backfillFilter(System.currentTimeMillis()));
+            persistence = new PersistenceExecutor(jsonService, journal, logStore, repository::findAll,
+                    Long.getLong("stock.persistence.coalesceMs", 5L));
+            persistence.addCompanion(locations::capture, locations::save);
+            persistence.addLogListener(history);
+            orderService = new OrderService(repository, stockEngine, persistence, analytics);
+        }
+        registerGauges(MetricsRegistry.global());
+        MetricsRegistry.global().timer("inventory.open").recordSince(start);
+    }
+
+    // Göstergeler okundukları anda hesaplanır; aynı adla yeniden açılan servis öncekinin yerine geçer
+    private void registerGauges(MetricsRegistry metrics) {
+        PersistenceExecutor executor = persistence;
+        LogStore logs = logStore;
+        InventoryHistory timeline = history;
+        metrics.gauge("inventory.products", repository::size);
+        metrics.gauge("logs.entries", logs::size);
+        metrics.gauge("persistence.queueDepth", executor::getQueueDepth);
+        metrics.gauge("persistence.submitted", executor::getSubmittedCount);
+        metrics.gauge("persistence.batches", executor::getBatchCount);
+        // Gauge'lar tam sayıdır; 250, yazım başına ortalama 2,5 gönderim demektir
+        metrics.gauge("persistence.coalescingPercent", () -> Math.round(executor.getCoalescingRatio() * 100));
+        metrics.gauge("events.published", eventBus::getPublishedCount);
+        metrics.gauge("events.dropped", eventBus::getDroppedCount);
+        metrics.gauge("events.queueDepth", eventBus::getQueueDepth);
+        metrics.gauge("stock.committed", stockEngine::getCommittedCount);
+        metrics.gauge("stock.rejected", stockEngine::getRejectedCount);
+        metrics.gauge("history.checkpoints", () -> timeline.getCheckpoints().size());
+    }
+
+    public synchronized boolean isOpen() {
+        return persistence != null;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // Son 30 günün alımları log deposundan arka planda bir kez okunur (büyük log depolarında saniyeler
+    // sürebilir); sonraki çağrılar aynı future'ı döner. Satış hızı, kaç gün yeteceği ve yeniden sipariş
+    // noktası bu tamamlanana kadar yalnızca açılıştan sonraki alımlara dayanır.
+    public synchronized CompletableFuture<Void> loadSalesHistory() {
+        requireOpen();
+        if (salesHistory == null) {
+            LogQuery query = salesQuery;
+            long start = System.nanoTime();
+            salesHistory = CompletableFuture.runAsync(() -> {
+                analytics.backfill(query, repository);
+                MetricsRegistry.global().timer("analytics.backfill").recordSince(start);
+            });
+        }
+        return salesHistory;
+    }
+
+    public static void validate(String name, String price, String stock) throws InvalidProductException {
+        if (name == null || name.trim().isEmpty()) throw new InvalidProductException("Name is required!");
+        try {
+            if (Double.parseDouble(price) < 0) throw new InvalidProductException("Price cannot be negative!");
+            if (Integer.parseInt(stock) < 0) throw new InvalidProductException("Stock cannot be negative!");
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new InvalidProductException("Price and Stock must be numeric!");
+        }
+    }
+
+    // Bellekteki durum hemen güncellenir. Dönen future'lar kayıt journal'a yazıldığında tamamlanır; sürecin
+    // çökmesine dayanıklıdır, diske zorlama ise stock.journal.fsync politikasına göre sonradan olur.
+    // Siparişler (purchase, placeOrder) fsync'ten sonra tamamlanır.
+    public CompletableFuture<Void> addProduct(String user, Product p) throws InvalidProductException {
+        requireOpen();
+        repository.add(p);
+        return persist(JournalRecord.put(p.getName(), p), new LogEntry(user, LogEntry.Action.ADD, p.getName(), 0)
+                .withChange(null, ProductState.of(p)));
+    }
+
+    public CompletableFuture<Void> updateProduct(String user, Product p, String name, String category,
+                                                 double price, int stockQuantity) throws InvalidProductException {
+        requireOpen();
+        String oldName = p.getName();
+        ProductState before = ProductState.of(p);
+        repository.update(p, name, category, price, stockQuantity);
+        return persist(JournalRecord.put(oldName, p), new LogEntry(user, LogEntry.Action.UPDATE, oldName, 0)
+                .withChange(before, ProductState.of(p)));
+    }
+
+    public CompletableFuture<Void> deleteProduct(String user, Product p) {
+        requireOpen();
+        if (!repository.remove(p)) return CompletableFuture.completedFuture(null);
+        return persist(JournalRecord.delete(p.getName()), new LogEntry(user, LogEntry.Action.DELETE, p.getName(), 0)
+                .withChange(ProductState.of(p), null));
+    }
+
+    // Stok yetersizse InsufficientStockException fırlatılır
+    public CompletableFuture<Void> purchase(String user, Product p, int quantity) {
+        return placeOrder(user, List.of(new OrderService.OrderLine(p, quantity)));
+    }
+
+    // Kalemlerin hepsi ya da hiçbiri uygulanır
+    public CompletableFuture<Void> placeOrder(String user, List<OrderService.OrderLine> lines) {
+        requireOpen();
+        return orderService.placeOrder(user, lines);
+    }
+
+    // Dosyayı okuyup diske zorlanana kadar bekler; arka plan thread'inden çağrılmalıdır
+    public OrderService.ReplayResult replayTillExport(Path file, String user) {
+        requireOpen();
+        return orderService.replayTillExport(file, user);
+    }
+
+    // Toplu katalog aktarımı (CSV ya da JSON). Ürünler parça parça eklenir/güncellenir, sonunda tek bir
+    // snapshot yazılır ve tek bir IMPORT logu düşülür. Snapshot diske yazılana kadar bekler; arka plan
+    // thread'inden çağrılmalıdır.
+    public CatalogService.ImportResult importCatalog(String user, Path file, JsonService.ProgressListener progress) {
+        requireOpen();
+        CatalogService.ImportResult result = catalog.importFile(file, progress);
+        int changed = result.added() + result.updated();
+        if (changed > 0) {
+            // Yeni ürünler olay üretmeden eklendiği için eşikler burada bir kez kontrol edilir
+            thresholdWatcher.checkAll(repository.findAll());
+            LogEntry log = new LogEntry(user, LogEntry.Action.IMPORT, file.getFileName().toString(), changed);
+            try {
+                persistence.checkpoint(log).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw e;
+            }
+        }
+        return result;
+    }
+
+    // Tüm ürünleri dosya uzantısına göre CSV ya da JSON olarak akış halinde yazar
+    public int exportCatalog(Path file) {
+        List<Product> products = repository.findAll();
+        catalog.exportFile(file, products);
+        return products.size();
+    }
+
+    // Konum kaydı journal'a yazılır; konum zaten varsa false döner
+    public boolean addLocation(String location) {
+        requireOpen();
+        if (!locations.addLocation(location)) return false;
+        persist(JournalRecord.locationStockOf(locations.canonicalName(location), null, null), null);
+        return true;
+    }
+
+    // Tedarikçiden gelen mal; Main'e alınan stok ürünün kendi stok alanına eklenir
+    public CompletableFuture<Void> receiveStock(String user, String location, Product p, int quantity) {
+        requireOpen();
+        String name = locations.canonicalName(location);
+        locations.receive(name, p, quantity);
+        LogEntry log = new LogEntry(user, LogEntry.Action.RECEIVE, p.getName(), quantity);
+        log.setTo(name);
+        if (name.equals(LocationStore.MAIN)) log.withStockChange(p, -quantity);
+        return persist(stockRecord(name, p), log);
+    }
+
+    // İki konumun yeni miktarları tek bir BATCH kaydı olarak yazılır; replay'de de ya ikisi ya hiçbiri uygulanır.
+    // Kaynakta yeterli stok yoksa InsufficientStockException fırlatılır ve hiçbir şey değişmez.
+    public CompletableFuture<Void> transferStock(String user, Product p, String from, String to, int quantity) {
+        requireOpen();
+        String source = locations.canonicalName(from);
+        String target = locations.canonicalName(to);
+        locations.transfer(p, source, target, quantity);
+        LogEntry log = new LogEntry(user, LogEntry.Action.TRANSFER, p.getName(), quantity);
+        log.setFrom(source);
+        log.setTo(target);
+        if (source.equals(LocationStore.MAIN)) log.withStockChange(p, quantity);
+        else if (target.equals(LocationStore.MAIN)) log.withStockChange(p, -quantity);
+        return persist(JournalRecord.batch(List.of(stockRecord(source, p), stockRecord(target, p))), log);
+    }
+
+    public CompletableFuture<Void> flush() {
+        requireOpen();
+        return persistence.flush();
+    }
+
+    public JsonService getJsonService() {
+        return jsonService;
+    }
+
+    public InventoryRepository getRepository() {
+        return repository;
+    }
+
+    public StockEngine getStockEngine() {
+        return stockEngine;
+    }
+
+    public SalesAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    public ThresholdWatcher getThresholdWatcher() {
+        return thresholdWatcher;
+    }
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public CategoryIndex getCategoryIndex() {
+        return categoryIndex;
+    }
+
+    public LocationStore getLocationStore() {
+        return locations;
+    }
+
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    public synchronized LogStore getLogStore() {
+        requireOpen();
+        return logStore;
+    }
+
+    public synchronized InventoryHistory getHistory() {
+        requireOpen();
+        return history;
+    }
+
+    public synchronized OrderService getOrderService() {
+        requireOpen();
+        return orderService;
+    }
+
+    // Bekleyen tüm yazımları diske boşaltır; yükleme henüz bitmediyse yüklenen kaynakları bırakır
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        eventBus.close();
+        if (persistence != null) persistence.close();
+    }
+
+    private CompletableFuture<Void> persist(JournalRecord record, LogEntry log) {
+        return persistence.submit(record, log);
+    }
+
+    private JournalRecord stockRecord(String location, Product p) {
+        if (location.equals(LocationStore.MAIN)) return JournalRecord.stockOf(p);
+        return JournalRecord.locationStockOf(location, p, () -> locations.stockAt(location, p));
+    }
+
+    // Konum kayıtları LocationStore'a, diğerleri repository'ye gider
+    private void replay(JournalRecord r) {
+        switch (r.getOp()) {
+            case LOCATION -> locations.apply(r);
+            case BATCH -> r.getRecords().forEach(this::replay);
+            default -> repository.apply(r);
+        }
+    }
+
+    private synchronized void requireOpen() {
+        if (closed) throw new IllegalStateException("Inventory service is closed");
+        if (persistence == null) throw new IllegalStateException("Inventory is still loading");
+    }
+}
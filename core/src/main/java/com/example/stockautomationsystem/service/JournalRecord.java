@@ -0,0 +1,181 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+// Journal dosyasına eklenen tek bir değişiklik kaydı.
+// Kayıtlar mutlak durum taşır (artış/azalış değil), bu yüzden tekrar oynatılmaları güvenlidir.
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class JournalRecord {
+    public enum Op { PUT, DELETE, STOCK, LOCATION, BATCH }
+
+    private long seq;
+    private Op op;
+    private String key;
+    private String name;
+    private String category;
+    private Double price;
+    private Integer stock;
+    private String location;
+    private List<JournalRecord> records;
+    private Product source; // stockOf() kayıtlarında değer yazım anında bu üründen okunur
+    private IntSupplier lazyStock; // locationStockOf() kayıtlarında değer yazım anında buradan okunur
+
+    public JournalRecord() {
+    }
+
+    private JournalRecord(Op op, String key) {
+        this.op = op;
+        this.key = key;
+    }
+
+    // key: ürünün değişiklikten önceki adı (yeni ürünlerde kendi adı)
+    public static JournalRecord put(String key, Product p) {
+        JournalRecord r = new JournalRecord(Op.PUT, key);
+        r.name = p.getName();
+        r.category = p.getCategory();
+        r.price = p.getPrice();
+        r.stock = p.getStockQuantity();
+        return r;
+    }
+
+    public static JournalRecord delete(String key) {
+        return new JournalRecord(Op.DELETE, key);
+    }
+
+    public static JournalRecord stock(String key, int stockQuantity) {
+        JournalRecord r = new JournalRecord(Op.STOCK, key);
+        r.stock = stockQuantity;
+        return r;
+    }
+
+    // Stok değeri kayıt oluşturulduğunda değil, journal'a yazılırken okunur. Farklı thread'lerden
+    // gelen alımlarda son yazılan kayıt her zaman en güncel değeri taşır.
+    public static JournalRecord stockOf(Product p) {
+        JournalRecord r = new JournalRecord(Op.STOCK, p.getName());
+        r.source = p;
+        return r;
+    }
+
+    // Ana konum (Main) dışındaki bir konumdaki stok; key null ise sadece konumun var olduğunu kaydeder.
+    // stockOf gibi değer journal'a yazılırken okunur.
+    public static JournalRecord locationStockOf(String location, Product p, IntSupplier stock) {
+        JournalRecord r = new JournalRecord(Op.LOCATION, p == null ? null : p.getName());
+        r.location = location;
+        r.lazyStock = stock;
+        return r;
+    }
+
+    // Tek satıra yazıldığı için ya hepsi ya hiçbiri geri oynatılır (yarım satır okunurken atılır)
+    public static JournalRecord batch(List<JournalRecord> records) {
+        JournalRecord r = new JournalRecord(Op.BATCH, null);
+        r.records = records;
+        return r;
+    }
+
+    void materialize() {
+        if (source != null) {
+            stock = source.getStockQuantity();
+            source = null;
+        }
+        if (lazyStock != null) {
+            stock = lazyStock.getAsInt();
+            lazyStock = null;
+        }
+        if (records != null) records.forEach(JournalRecord::materialize);
+    }
+
+    void applyTo(Map<String, Product> state) {
+        switch (op) {
+            case PUT -> {
+                state.remove(key);
+                state.put(name, new Product(name, category, price, stock));
+            }
+            case DELETE -> state.remove(key);
+            case STOCK -> {
+                Product p = state.get(key);
+                if (p != null) p.setStockQuantity(stock);
+            }
+            case LOCATION -> {
+                // Konum stokları ürün listesinin parçası değildir (LocationStore)
+            }
+            case BATCH -> records.forEach(r -> r.applyTo(state));
+        }
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public Op getOp() {
+        return op;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public List<JournalRecord> getRecords() {
+        return records;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public void setOp(Op op) {
+        this.op = op;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public void setRecords(List<JournalRecord> records) {
+        this.records = records;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.*;
+import com.example.stockautomationsystem.metrics.LatencyHistogram;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.model.LogEntry;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class JsonService {
+    private static final String PRODUCT_FILE = "inventory.json";
+    private static final String LOG_FILE = "logs.json";
+    private static final String BINARY_FILE = "inventory.snap";
+    private static final String ALERT_RULES_FILE = "alert-rules.json";
+
+    private static final int CHUNK_SIZE = 1000;
+
+    // Dosya işlemlerinin süreleri; kaç JsonService örneği olursa olsun aynı histogramlara yazılır
+    private static final LatencyHistogram SAVE_TIME = MetricsRegistry.global().timer("json.saveData");
+    private static final LatencyHistogram LOAD_TIME = MetricsRegistry.global().timer("json.loadData");
+    private static final LatencyHistogram EXPORT_TIME = MetricsRegistry.global().timer("json.exportData");
+    private static final LatencyHistogram SAVE_LOGS_TIME = MetricsRegistry.global().timer("json.saveLogs");
+    private static final LatencyHistogram LOAD_LOGS_TIME = MetricsRegistry.global().timer("json.loadLogs");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path dataDir;
+    private final boolean binarySnapshots;
+    private final SnapshotFiles jsonFiles;
+    private final SnapshotFiles binaryFiles;
+    private long generation = -1; // en son görülen/yazılan snapshot kuşağı; ilk kullanımda dosyalardan okunur
+
+    public interface ProgressListener {
+        void onProgress(long bytesRead, long totalBytes);
+    }
+
+    // Veri dosyaları -Dstock.data.dir dizininde (varsayılan: çalışma dizini) tutulur.
+    // -Dstock.snapshot.format=binary ile snapshot inventory.snap'e ikili formatta yazılır
+    public JsonService() {
+        this(Path.of(System.getProperty("stock.data.dir", "")),
+                "binary".equals(System.getProperty("stock.snapshot.format")));
+    }
+
+    // -Dstock.snapshot.generations kaç snapshot kuşağının saklanacağını belirler
+    public JsonService(Path dataDir, boolean binarySnapshots) {
+        this(dataDir, binarySnapshots, Integer.getInteger("stock.snapshot.generations", 3));
+    }
+
+    public JsonService(Path dataDir, boolean binarySnapshots, int generations) {
+        this.dataDir = dataDir;
+        this.binarySnapshots = binarySnapshots;
+        this.jsonFiles = new SnapshotFiles(resolve(PRODUCT_FILE), generations);
+        this.binaryFiles = new SnapshotFiles(resolve(BINARY_FILE), generations);
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public Path getDataDir() {
+        return dataDir;
+    }
+
+    // Journal ve log segmentleri gibi diğer dosyalar da aynı dizine göre çözülür
+    public Path resolve(String name) {
+        return dataDir.resolve(name);
+    }
+
+    public void saveData(List<Product> products) {
+        saveData(products, 0);
+    }
+
+    // Yeni bir snapshot kuşağı yazar: geçici dosya, checksum'lı .meta dosyası, fsync ve atomik yer değiştirme.
+    // journalSegment, snapshot'a katlanmamış ilk journal segmentidir (journal yoksa 0).
+    public void saveData(List<Product> products, long journalSegment) {
+        SnapshotFiles files = binarySnapshots ? binaryFiles : jsonFiles;
+        SnapshotFiles.Payload payload = binarySnapshots
+                ? out -> BinarySnapshot.writeTo(out, products)
+                : out -> mapper.writeValue(out, products);
+        long start = System.nanoTime();
+        files.write(nextGeneration(), journalSegment, payload);
+        SAVE_TIME.recordSince(start);
+    }
+
+    // Saklanan kuşakların herhangi birine geri dönülebilmesi için silinmemesi gereken ilk journal segmenti
+    public long retainedJournalSegment() {
+        return (binarySnapshots ? binaryFiles : jsonFiles).oldestJournalSegment();
+    }
+
+    // Seçilen snapshot formatından bağımsız olarak JSON yazar (başka sistemlerle veri alışverişi için)
+    public void exportData(File file, List<Product> products) {
+        long start = System.nanoTime();
+        try {
+            mapper.writeValue(file, products);
+            EXPORT_TIME.recordSince(start);
+        } catch (IOException e) {
+            // Alt seviye hatayı yakalayıp daha anlamlı bir hata tipine dönüştürüyoruz
+            throw new DataPersistenceException("Failed to save data to JSON file.", e);
+        }
+    }
+
+    public List<Product> loadData() {
+        List<Product> products = new ArrayList<>();
+        streamData(CHUNK_SIZE, products::addAll, null);
+        return products;
+    }
+
+    // Snapshot'u tamamını belleğe almadan okur; ürünler chunkSize'lık parçalar halinde verilir.
+    // Her formatın checksum'ı tutan en yeni kuşağı bulunur (yarım ya da bozuk dosyalar atlanır), ikisinden
+    // kuşağı daha yeni olan okunur; böylece format değiştirildiğinde ilk açılışta eski dosyadan devam edilir.
+    // Okunan kuşak döner; snapshot yoksa null.
+    public SnapshotFiles.Generation streamData(int chunkSize, Consumer<List<Product>> chunks, ProgressListener progress) {
+        DataPersistenceException jsonFailure = null, binaryFailure = null;
+        SnapshotFiles.Generation json = null, binary = null;
+        try {
+            json = jsonFiles.recover();
+        } catch (DataPersistenceException e) {
+            jsonFailure = e;
+        }
+        try {
+            binary = binaryFiles.recover();
+        } catch (DataPersistenceException e) {
+            binaryFailure = e;
+        }
+        // Bir formatın tüm kuşakları bozuksa diğerine ancak onun kuşağı bozuk olanlar kadar yeniyse geçilir;
+        // daha eski bir kuşaktan açmak, bozuk kuşağa katlanıp journal'dan silinmiş değişiklikleri kaybettirir
+        if (jsonFailure != null && !covers(binary, jsonFiles)) throw jsonFailure;
+        if (binaryFailure != null && !covers(json, binaryFiles)) throw binaryFailure;
+        SnapshotFiles.Generation chosen = newer(json, binary);
+        if (chosen == null) return null;
+        long start = System.nanoTime();
+        synchronized (this) {
+            generation = Math.max(generation, Math.max(jsonFiles.latestGeneration(), binaryFiles.latestGeneration()));
+        }
+        if (chosen == binary) {
+            try {
+                BinarySnapshot.open(binary.file()).stream(chunkSize, chunks, progress);
+            } catch (IllegalStateException | IndexOutOfBoundsException e) {
+                throw new DataPersistenceException("Failed to read " + binary.file() + ": " + e.getMessage(), e);
+            }
+        } else {
+            importData(json.file().toFile(), chunkSize, chunks, progress);
+        }
+        // Parçaları tüketen dinleyicilerin (repository, tablo) süresi de dahildir
+        LOAD_TIME.recordSince(start);
+        return chosen;
+    }
+
+    private static boolean covers(SnapshotFiles.Generation other, SnapshotFiles damaged) {
+        return other != null && other.generation() >= damaged.latestGeneration();
+    }
+
+    // Kuşak numarası büyük olan; ikisi de meta'sız eski dosyaysa değişiklik zamanı yeni olan (eşitlikte ikili)
+    private static SnapshotFiles.Generation newer(SnapshotFiles.Generation json, SnapshotFiles.Generation binary) {
+        if (json == null || binary == null) return json == null ? binary : json;
+        if (json.generation() != binary.generation()) return json.generation() > binary.generation() ? json : binary;
+        return binary.file().toFile().lastModified() >= json.file().toFile().lastModified() ? binary : json;
+    }
+
+    private synchronized long nextGeneration() {
+        if (generation < 0) generation = Math.max(jsonFiles.latestGeneration(), binaryFiles.latestGeneration());
+        return ++generation;
+    }
+
+    // Bozuk dosyada boş liste dönmek yerine satır/sütun/byte konumuyla hata fırlatır
+    public void importData(File file, int chunkSize, Consumer<List<Product>> chunks, ProgressListener progress) {
+        stream(file, Product.class, chunkSize, chunks, progress);
+    }
+
+    // Dosya yoksa varsayılan kurallar (tüm ürünler için tek eşik) kullanılır
+    public ThresholdWatcher.Rules loadAlertRules() {
+        File file = resolve(ALERT_RULES_FILE).toFile();
+        if (!file.exists()) return new ThresholdWatcher.Rules();
+        try {
+            return mapper.readValue(file, ThresholdWatcher.Rules.class);
+        } catch (JsonProcessingException e) {
+            throw new DataPersistenceException(describe(file, e.getLocation(), e.getOriginalMessage()), e);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to read " + file + ".", e);
+        }
+    }
+
+    public void saveLogs(List<LogEntry> logs) {
+        long start = System.nanoTime();
+        try {
+            mapper.writeValue(resolve(LOG_FILE).toFile(), logs);
+            SAVE_LOGS_TIME.recordSince(start);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public List<LogEntry> loadLogs() {
+        List<LogEntry> logs = new ArrayList<>();
+        streamLogs(CHUNK_SIZE, logs::addAll, null);
+        return logs;
+    }
+
+    public void streamLogs(int chunkSize, Consumer<List<LogEntry>> chunks, ProgressListener progress) {
+        long start = System.nanoTime();
+        stream(resolve(LOG_FILE).toFile(), LogEntry.class, chunkSize, chunks, progress);
+        LOAD_LOGS_TIME.recordSince(start);
+    }
+
+    private <T> void stream(File file, Class<T> type, int chunkSize, Consumer<List<T>> chunks, ProgressListener progress) {
+        if (!file.exists()) return;
+        long total = file.length();
+        try (JsonParser parser = mapper.getFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new DataPersistenceException(describe(file, parser.currentLocation(), "expected a JSON array"), null);
+            }
+            List<T> chunk = new ArrayList<>(chunkSize);
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                chunk.add(mapper.readValue(parser, type));
+                if (chunk.size() == chunkSize) {
+                    chunks.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                    if (progress != null) progress.onProgress(parser.currentLocation().getByteOffset(), total);
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new DataPersistenceException(describe(file, parser.currentLocation(), "unexpected " + token), null);
+            }
+            if (!chunk.isEmpty()) chunks.accept(chunk);
+            if (progress != null) progress.onProgress(total, total);
+        } catch (JsonProcessingException e) {
+            throw new DataPersistenceException(describe(file, e.getLocation(), e.getOriginalMessage()), e);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to read " + file + ".", e);
+        }
+    }
+
+    private static String describe(File file, JsonLocation loc, String problem) {
+        if (loc == null) return "Failed to parse " + file + ": " + problem;
+        return String.format("Failed to parse %s at line %d, column %d (byte offset %d): %s",
+                file, loc.getLineNr(), loc.getColumnNr(), loc.getByteOffset(), problem);
+    }
+}
\ No newline at end of file
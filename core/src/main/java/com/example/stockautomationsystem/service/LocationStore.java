@@ -0,0 +1,469 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.exception.InsufficientStockException;
+import com.example.stockautomationsystem.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Depo/mağaza bazında stok. Her konum ayrı bir parçadır (shard): ana konum (Main) ürünün kendi stok alanıdır,
+// böylece kasa, API ve siparişler değişmeden çalışır; diğer konumlar ürün -> miktar tutan kendi haritalarına sahiptir.
+// Farklı konumlardaki değişiklikler birbirini beklemez. Transferler ürünü kaynak ve hedef konumun kendi
+// seqlock'unda işaretler; toplamlar bir ürünün tüm konumlardaki miktarını o konumlarda transfer sürmüyorken okur,
+// böylece taşınan birimler ne iki konumda birden ne de hiçbirinde görünür. Ortak konumu olmayan transferler
+// aynı sürüm sayacına hiç dokunmaz. Toplamlar, düşük stok raporu ve stok değeri ürünler üzerinde paralel
+// (fork-join ortak havuzu) hesaplanır.
+// locations.json sadece Main dışındaki konumları tutar; Main stoğu inventory.json'dadır.
+public class LocationStore implements InventoryRepository.Listener {
+    public static final String MAIN = "Main";
+    private static final String LOCATIONS_FILE = "locations.json";
+    // Konum başına seqlock dilimleri; aynı konumda aynı dilime düşen ürünlerin transferleri birbirini bekler
+    private static final int STRIPES = 256;
+
+    public record LocationSummary(String location, int products, long units, double stockValue) {
+    }
+
+    public record ProductTotal(Product product, int total) {
+    }
+
+    // Dosya biçimi: konum adları ve konum -> ürün adı -> miktar
+    record Snapshot(List<String> locations, Map<String, Map<String, Integer>> stock) {
+    }
+
+    private interface Shard {
+        String name();
+
+        // getLocations sırası; transferler iki konumun seqlock'unu bu sırayla alır
+        int order();
+
+        // Dilim başına sürüm: tek sayı, bu konumda o dilimde bir transferin sürdüğünü gösterir
+        AtomicLongArray versions();
+
+        int get(Product p);
+
+        // Yeterli stok yoksa hiçbir şey değiştirmeden InsufficientStockException fırlatır
+        void take(Product p, int quantity);
+
+        void add(Product p, int quantity);
+    }
+
+    private final InventoryRepository repository;
+    private final Path file;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Shard> shards = new ConcurrentHashMap<>();
+    // locations.json'dan okunmuş ama ürünü henüz yüklenmemiş miktarlar (konum -> ürün adı -> miktar)
+    private final Map<String, Map<String, Integer>> pending = new HashMap<>();
+    private final AtomicInteger order = new AtomicInteger();
+
+    public LocationStore(InventoryRepository repository, Path file) {
+        this.repository = repository;
+        this.file = file;
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        shards.put(normalize(MAIN), new MainShard());
+    }
+
+    public static LocationStore forDataDir(InventoryRepository repository, JsonService jsonService) {
+        return new LocationStore(repository, jsonService.resolve(LOCATIONS_FILE));
+    }
+
+    // Ürünler yüklenmeden önce çağrılmalıdır; miktarlar ürünler geldikçe adlarına göre bağlanır
+    public synchronized void load() {
+        if (!Files.exists(file)) return;
+        try {
+            Snapshot s = mapper.readValue(file.toFile(), Snapshot.class);
+            if (s.locations() != null) s.locations().forEach(this::addLocation);
+            if (s.stock() != null) {
+                s.stock().forEach((location, amounts) -> {
+                    addLocation(location);
+                    Map<String, Integer> byName = pending.computeIfAbsent(normalize(location), k -> new HashMap<>());
+                    amounts.forEach((name, qty) -> byName.put(InventoryRepository.normalize(name), qty));
+                });
+            }
+        } catch (JsonProcessingException e) {
+            throw new DataPersistenceException("Failed to read " + file + ": " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to read " + file + ".", e);
+        }
+    }
+
+    // Durumu o anki haliyle kopyalar; dönen iş daha sonra (ör. compactor thread'inde) dosyaya yazar
+    public Runnable capture() {
+        Snapshot s = snapshot();
+        return () -> write(s);
+    }
+
+    public void save() {
+        write(snapshot());
+    }
+
+    // Main her zaman ilk sırada, diğerleri eklenme sırasında
+    public List<String> getLocations() {
+        List<Shard> list = new ArrayList<>(shards.values());
+        list.sort(Comparator.comparingInt(Shard::order));
+        return list.stream().map(Shard::name).toList();
+    }
+
+    public boolean hasLocation(String location) {
+        return location != null && shards.containsKey(normalize(location));
+    }
+
+    // Konum zaten varsa false döner
+    public boolean addLocation(String location) {
+        if (location == null || location.isBlank()) throw new IllegalArgumentException("Location name is required!");
+        String name = location.trim();
+        return shards.putIfAbsent(normalize(name), new MapShard(name, order.getAndIncrement())) == null;
+    }
+
+    // Ad büyük/küçük harf farkı gözetmeden eşleşir ve kayıtlı yazımıyla döner
+    public String canonicalName(String location) {
+        return shard(location).name();
+    }
+
+    public int stockAt(String location, Product p) {
+        return shard(location).get(p);
+    }
+
+    // Tüm konumlardaki stok
+    public int total(Product p) {
+        int total = 0;
+        for (int qty : quantities(p, List.copyOf(shards.values()))) total += qty;
+        return total;
+    }
+
+    // Konum -> miktar; sadece stok bulunan konumlar
+    public Map<String, Integer> breakdown(Product p) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String location : getLocations()) {
+            int qty = stockAt(location, p);
+            if (qty != 0) result.put(location, qty);
+        }
+        return result;
+    }
+
+    public void receive(String location, Product p, int quantity) {
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive!");
+        shard(location).add(p, quantity);
+        repository.stockChanged(p);
+    }
+
+    // Ya tamamen uygulanır ya hiç: önce kaynaktan düşülür (yetmezse InsufficientStockException, hiçbir şey
+    // değişmez), sonra hedefe eklenir; ekleme başarısız olursa düşülen miktar geri verilir. İki adım ürünün
+    // iki konumdaki seqlock'u altında yapıldığı için toplamlar arada kalan durumu görmez.
+    public void transfer(Product p, String from, String to, int quantity) {
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive!");
+        Shard source = shard(from);
+        Shard target = shard(to);
+        if (source == target) throw new IllegalArgumentException("Source and target locations are the same!");
+        List<Shard> locked = source.order() < target.order() ? List.of(source, target) : List.of(target, source);
+        int stripe = beginWrite(p, locked);
+        try {
+            source.take(p, quantity);
+            try {
+                target.add(p, quantity);
+            } catch (RuntimeException e) {
+                source.add(p, quantity);
+                throw e;
+            }
+        } finally {
+            endWrite(stripe, locked);
+        }
+        repository.stockChanged(p);
+    }
+
+    // Journal replay'i: kayıt mutlak miktar taşır; key null ise sadece konumun varlığını bildirir
+    public void apply(JournalRecord r) {
+        addLocation(r.getLocation());
+        if (r.getKey() == null) return;
+        Product p = repository.findByName(r.getKey());
+        if (p == null || !(shard(r.getLocation()) instanceof MapShard m)) return;
+        m.set(p, r.getStock());
+        repository.stockChanged(p);
+    }
+
+    // Konum başına ürün sayısı, birim ve değer. Ürünler paralel gezilir; her ürünün tüm konumlardaki miktarı
+    // birlikte okunur, bu yüzden toplamlar süren transferlerden etkilenmez.
+    public List<LocationSummary> summaries() {
+        List<Product> products = repository.findAll();
+        List<Shard> list = getLocations().stream().map(this::shard).toList();
+        int n = list.size();
+        // Konum başına 3 değer: stoklu ürün sayısı, birim, kuruş cinsinden değer
+        long[] sums = products.parallelStream().collect(() -> new long[n * 3], (acc, p) -> {
+            int[] qty = quantities(p, list);
+            long cents = cents(p);
+            for (int i = 0; i < n; i++) {
+                if (qty[i] > 0) acc[i * 3]++;
+                acc[i * 3 + 1] += qty[i];
+                acc[i * 3 + 2] += cents * qty[i];
+            }
+        }, (a, b) -> {
+            for (int i = 0; i < a.length; i++) a[i] += b[i];
+        });
+        List<LocationSummary> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(new LocationSummary(list.get(i).name(), (int) sums[i * 3], sums[i * 3 + 1], sums[i * 3 + 2] / 100.0));
+        }
+        return result;
+    }
+
+    // Tüm konumların toplamı
+    public LocationSummary totalSummary() {
+        List<LocationSummary> all = summaries();
+        return new LocationSummary("All locations",
+                (int) repository.findAll().parallelStream().filter(p -> total(p) > 0).count(),
+                all.stream().mapToLong(LocationSummary::units).sum(),
+                all.stream().mapToLong(s -> Math.round(s.stockValue() * 100)).sum() / 100.0);
+    }
+
+    // Tüm konumlardaki toplamı eşiğin altında olan ürünler, toplama göre artan sırada
+    public List<ProductTotal> lowStock(int threshold) {
+        return repository.findAll().parallelStream()
+                .map(p -> new ProductTotal(p, total(p)))
+                .filter(t -> t.total() < threshold)
+                .sorted(Comparator.comparingInt(ProductTotal::total)
+                        .thenComparing(t -> t.product().getName(), String.CASE_INSENSITIVE_ORDER))
+                .toList();
+    }
+
+    @Override
+    public void productAdded(Product p) {
+        claimPending(List.of(p));
+    }
+
+    @Override
+    public void productsLoaded(List<Product> products) {
+        claimPending(products);
+    }
+
+    @Override
+    public void productUpdated(Product p) {
+    }
+
+    // Silinen ürünün stoğu tüm konumlardan düşer; süren bir transfer bitmeden silinmez
+    @Override
+    public void productRemoved(Product p) {
+        List<Shard> locked = getLocations().stream().map(this::shard).toList();
+        int stripe = beginWrite(p, locked);
+        try {
+            for (Shard s : locked) {
+                if (s instanceof MapShard m) m.stock.remove(p);
+            }
+        } finally {
+            endWrite(stripe, locked);
+        }
+    }
+
+    @Override
+    public void stockChanged(Product p) {
+    }
+
+    private synchronized void claimPending(List<Product> products) {
+        if (pending.isEmpty()) return;
+        for (Iterator<Map.Entry<String, Map<String, Integer>>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Map<String, Integer>> e = it.next();
+            MapShard shard = (MapShard) shards.get(e.getKey());
+            for (Product p : products) {
+                Integer qty = e.getValue().remove(InventoryRepository.normalize(p.getName()));
+                if (qty != null) shard.set(p, qty);
+            }
+            if (e.getValue().isEmpty()) it.remove();
+        }
+    }
+
+    private Snapshot snapshot() {
+        List<String> locations = new ArrayList<>();
+        Map<String, Map<String, Integer>> stock = new LinkedHashMap<>();
+        for (String location : getLocations()) {
+            Shard s = shard(location);
+            if (!(s instanceof MapShard m)) continue;
+            locations.add(m.name);
+            Map<String, Integer> amounts = new TreeMap<>();
+            m.stock.forEach((p, qty) -> {
+                if (qty.get() != 0) amounts.put(p.getName(), qty.get());
+            });
+            // Ürünü henüz yüklenmemiş miktarlar kaybolmasın
+            synchronized (this) {
+                Map<String, Integer> unclaimed = pending.get(normalize(location));
+                if (unclaimed != null) unclaimed.forEach(amounts::putIfAbsent);
+            }
+            if (!amounts.isEmpty()) stock.put(m.name, amounts);
+        }
+        return new Snapshot(locations, stock);
+    }
+
+    private void write(Snapshot s) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            mapper.writeValue(tmp.toFile(), s);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to save locations to " + file + ".", e);
+        }
+    }
+
+    // Ürünün dilimini verilen konumların (getLocations sırasıyla) her birinde tek sayıya çevirir; hepsi aynı
+    // sırayla alındığı için iki transfer birbirini kilitleyemez. endWrite ile tekrar çift olur.
+    private int beginWrite(Product p, List<Shard> locked) {
+        int stripe = stripe(p);
+        for (Shard s : locked) {
+            AtomicLongArray versions = s.versions();
+            long version;
+            while ((version = versions.get(stripe)) % 2 != 0 || !versions.compareAndSet(stripe, version, version + 1)) {
+                Thread.onSpinWait(); // bu konumda aynı dilimde başka bir yazım sürüyor; birkaç CAS sürer
+            }
+        }
+        return stripe;
+    }
+
+    private static void endWrite(int stripe, List<Shard> locked) {
+        for (Shard s : locked) s.versions().incrementAndGet(stripe);
+    }
+
+    // Ürünün verilen konumlardaki miktarları; okuma sırasında bu konumlardan birinde aynı dilimde transfer
+    // olduysa tekrarlanır
+    private int[] quantities(Product p, List<Shard> list) {
+        int stripe = stripe(p);
+        int[] result = new int[list.size()];
+        long[] seen = new long[list.size()];
+        retry:
+        while (true) {
+            for (int i = 0; i < seen.length; i++) {
+                seen[i] = list.get(i).versions().get(stripe);
+                if (seen[i] % 2 != 0) {
+                    Thread.onSpinWait();
+                    continue retry;
+                }
+            }
+            for (int i = 0; i < result.length; i++) result[i] = list.get(i).get(p);
+            for (int i = 0; i < seen.length; i++) {
+                if (list.get(i).versions().get(stripe) != seen[i]) {
+                    Thread.onSpinWait();
+                    continue retry;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static int stripe(Product p) {
+        int h = System.identityHashCode(p);
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private Shard shard(String location) {
+        Shard s = location == null ? null : shards.get(normalize(location));
+        if (s == null) throw new IllegalArgumentException("Unknown location: " + location);
+        return s;
+    }
+
+    private static String normalize(String location) {
+        return InventoryRepository.normalize(location);
+    }
+
+    private static long cents(Product p) {
+        return Math.round(p.getPrice() * 100);
+    }
+
+    // Ürünün kendi stok alanı; alımlar rezervasyonlara dokunmadan sadece serbest stoktan düşer
+    private static final class MainShard implements Shard {
+        final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+        @Override
+        public String name() {
+            return MAIN;
+        }
+
+        @Override
+        public int order() {
+            return -1;
+        }
+
+        @Override
+        public AtomicLongArray versions() {
+            return versions;
+        }
+
+        @Override
+        public int get(Product p) {
+            return p.getStockQuantity();
+        }
+
+        @Override
+        public void take(Product p, int quantity) {
+            p.reduceStock(quantity);
+        }
+
+        @Override
+        public void add(Product p, int quantity) {
+            p.addStock(quantity);
+        }
+    }
+
+    private static final class MapShard implements Shard {
+        final String name;
+        final int order;
+        final ConcurrentHashMap<Product, AtomicInteger> stock = new ConcurrentHashMap<>();
+        final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+        MapShard(String name, int order) {
+            this.name = name;
+            this.order = order;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public int order() {
+            return order;
+        }
+
+        @Override
+        public AtomicLongArray versions() {
+            return versions;
+        }
+
+        @Override
+        public int get(Product p) {
+            AtomicInteger qty = stock.get(p);
+            return qty == null ? 0 : qty.get();
+        }
+
+        @Override
+        public void take(Product p, int quantity) {
+            AtomicInteger qty = stock.get(p);
+            int current;
+            do {
+                current = qty == null ? 0 : qty.get();
+                if (quantity > current) throw new InsufficientStockException(p.getName(), quantity, current);
+            } while (!qty.compareAndSet(current, current - quantity));
+        }
+
+        @Override
+        public void add(Product p, int quantity) {
+            stock.computeIfAbsent(p, k -> new AtomicInteger()).addAndGet(quantity);
+        }
+
+        void set(Product p, int quantity) {
+            stock.computeIfAbsent(p, k -> new AtomicInteger()).set(quantity);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.LogEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// LogStore üzerinde filtreli, en yeniden eskiye sayfalanan sorgu. Segment başına eşleşen kayıt sayısı
+// önce indeksteki sayaçlardan bulunur; segment ancak sayaç yetmezse veya sayfa ondan istendiğinde okunur.
+// Bellekte en fazla birkaç segmentin eşleşen kayıtları tutulur.
+public class LogQuery {
+    private static final int CACHED_SEGMENTS = 4;
+
+    // null action/user "hepsi" anlamına gelir; from/to epoch milisaniye ve dahildir
+    public record Filter(LogEntry.Action action, String user, long from, long to) {
+        public static final Filter ALL = new Filter(null, null, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        public boolean matches(LogEntry e) {
+            return (action == null || action == e.getAction())
+                    && (user == null || user.equals(e.getUser()))
+                    && e.getTimestamp() >= from && e.getTimestamp() <= to;
+        }
+    }
+
+    private final LogStore store;
+    private final Filter filter;
+    private final List<LogSegmentInfo> segments;
+    private final int activeCount;
+    private final int[] matches;
+    private final Map<Integer, List<LogEntry>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<LogEntry>> eldest) {
+            return size() > CACHED_SEGMENTS;
+        }
+    };
+
+    LogQuery(LogStore store, Filter filter, List<LogSegmentInfo> segments, int activeCount) {
+        this.store = store;
+        this.filter = filter;
+        this.segments = segments;
+        this.activeCount = activeCount;
+        this.matches = new int[segments.size()];
+        Arrays.fill(matches, -1);
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public synchronized int size() {
+        int total = 0;
+        for (int i = 0; i < segments.size(); i++) total += matchCount(i);
+        return total;
+    }
+
+    // Eşleşen kayıtlar arasında en yeniden offset'ten itibaren en fazla limit kadar kayıt
+    public synchronized List<LogEntry> page(int offset, int limit) {
+        List<LogEntry> page = new ArrayList<>(Math.min(limit, 1024));
+        for (int i = segments.size() - 1; i >= 0 && page.size() < limit; i--) {
+            int m = matchCount(i);
+            if (offset >= m) {
+                offset -= m;
+                continue;
+            }
+            List<LogEntry> entries = matching(i);
+            int end = Math.min(entries.size(), offset + limit - page.size());
+            page.addAll(entries.subList(offset, end));
+            offset = 0;
+        }
+        return page;
+    }
+
+    private int matchCount(int i) {
+        if (matches[i] < 0) {
+            // Aktif segmentin sayaçları sorgudan sonra da değiştiği için her zaman okunarak sayılır
+            int known = i == segments.size() - 1 ? -1 : segments.get(i).countMatching(filter);
+            matches[i] = known >= 0 ? known : matching(i).size();
+        }
+        return matches[i];
+    }
+
+    // Segmentteki eşleşen kayıtlar, en yeniden eskiye
+    private List<LogEntry> matching(int i) {
+        List<LogEntry> cached = cache.get(i);
+        if (cached != null) return cached;
+        LogSegmentInfo s = segments.get(i);
+        int limit = i == segments.size() - 1 ? activeCount : s.getCount();
+        List<LogEntry> result = new ArrayList<>();
+        for (LogEntry e : store.readEntries(s.getId(), limit)) {
+            if (filter.matches(e)) result.add(e);
+        }
+        Collections.reverse(result);
+        matches[i] = result.size();
+        cache.put(i, result);
+        return result;
+    }
+}
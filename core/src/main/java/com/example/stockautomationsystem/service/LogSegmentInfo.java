@@ -0,0 +1,125 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.LogEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Bir log segmentinin indeks kaydı: kaç kayıt tuttuğu, hangi zaman aralığını kapsadığı ve
+// işlem/kullanıcı başına kayıt sayıları. Filtreli sorgular bu sayılarla segmentleri okumadan atlar.
+public class LogSegmentInfo {
+    private long id;
+    private int count;
+    private long bytes;
+    private long openedAt;
+    private long minTimestamp;
+    private long maxTimestamp;
+    private Map<LogEntry.Action, Integer> actions; // eski indeks dosyalarında yoktur (null)
+    private Map<String, Integer> users;
+
+    public LogSegmentInfo() {
+    }
+
+    public LogSegmentInfo(long id, long openedAt) {
+        this.id = id;
+        this.openedAt = openedAt;
+        this.actions = new HashMap<>();
+        this.users = new HashMap<>();
+    }
+
+    void record(LogEntry e, long length) {
+        // Eski dosyalardan aktarılan kayıtlar sıralı olmayabilir; bu yüzden en küçük/en büyük tutulur
+        long ts = e.getTimestamp();
+        if (count == 0 || ts < minTimestamp) minTimestamp = ts;
+        if (count == 0 || ts > maxTimestamp) maxTimestamp = ts;
+        count++;
+        bytes += length;
+        if (e.getAction() != null) actions.merge(e.getAction(), 1, Integer::sum);
+        if (e.getUser() != null) users.merge(e.getUser(), 1, Integer::sum);
+    }
+
+    boolean hasStatistics() {
+        return actions != null && users != null;
+    }
+
+    // Filtreye uyan kayıt sayısı; segment okunmadan bilinemiyorsa -1
+    int countMatching(LogQuery.Filter f) {
+        if (!overlaps(f.from(), f.to())) return 0;
+        if (f.action() != null && !actions.containsKey(f.action())) return 0;
+        if (f.user() != null && !users.containsKey(f.user())) return 0;
+        boolean inRange = minTimestamp >= f.from() && maxTimestamp <= f.to();
+        if (!inRange || (f.action() != null && f.user() != null)) return -1;
+        if (f.action() != null) return actions.get(f.action());
+        if (f.user() != null) return users.get(f.user());
+        return count;
+    }
+
+    // [from, to] aralığı (epoch ms, dahil) ile kesişiyor mu
+    public boolean overlaps(long from, long to) {
+        return count > 0 && minTimestamp <= to && maxTimestamp >= from;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getOpenedAt() {
+        return openedAt;
+    }
+
+    public long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    public long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    public Map<LogEntry.Action, Integer> getActions() {
+        return actions;
+    }
+
+    public Map<String, Integer> getUsers() {
+        return users;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setOpenedAt(long openedAt) {
+        this.openedAt = openedAt;
+    }
+
+    public void setMinTimestamp(long minTimestamp) {
+        this.minTimestamp = minTimestamp;
+    }
+
+    public void setMaxTimestamp(long maxTimestamp) {
+        this.maxTimestamp = maxTimestamp;
+    }
+
+    public void setActions(Map<LogEntry.Action, Integer> actions) {
+        this.actions = actions;
+    }
+
+    public void setUsers(Map<String, Integer> users) {
+        this.users = users;
+    }
+}
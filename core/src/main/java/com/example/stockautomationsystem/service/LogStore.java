@@ -0,0 +1,362 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.metrics.LatencyHistogram;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.LogEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Denetim kayıtlarını (LogEntry) satır başına bir JSON olacak şekilde dönen segment dosyalarına ekler.
+// Her segment için zaman aralığı ve kayıt sayısı tutulur; böylece son kayıtlar tüm geçmiş
+// belleğe alınmadan sayfa sayfa okunabilir.
+public class LogStore implements AutoCloseable {
+    private static final String LOG_DIR = "logs";
+    private static final String INDEX_FILE = "segments.idx";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+    private static final String LEGACY_LOG_FILE = "logs.json";
+    private static final LatencyHistogram APPEND_TIME = MetricsRegistry.global().timer("logs.append");
+    private static final LatencyHistogram READ_TIME = MetricsRegistry.global().timer("logs.read");
+
+    private final JsonService jsonService;
+    private final Path dir;
+    private final long maxSegmentBytes;
+    private final long maxSegmentAgeMillis;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<LogSegmentInfo> segments = new ArrayList<>();
+
+    private FileChannel channel;
+    private LogSegmentInfo active;
+    private boolean closed;
+
+    public LogStore(JsonService jsonService, Path dir, long maxSegmentBytes, long maxSegmentAgeMillis) {
+        this.jsonService = jsonService;
+        this.dir = dir;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.maxSegmentAgeMillis = maxSegmentAgeMillis;
+    }
+
+    public static LogStore fromSystemProperties(JsonService jsonService) {
+        return new LogStore(
+                jsonService,
+                InventoryJournal.stockDir("stock.logs.dir", jsonService, LOG_DIR),
+                Long.getLong("stock.logs.segmentBytes", 1024L * 1024),
+                Long.getLong("stock.logs.segmentAgeMs", 24L * 60 * 60 * 1000));
+    }
+
+    public synchronized void open() {
+        try {
+            Files.createDirectories(dir);
+            Map<Long, LogSegmentInfo> indexed = readIndex();
+            List<Path> files = listSegments();
+            for (int i = 0; i < files.size(); i++) {
+                long id = segmentId(files.get(i));
+                LogSegmentInfo info = indexed.get(id);
+                // Aktif (son) segment, indekste olmayanlar ve sayaçları eksik eski kayıtlar taranarak yeniden hesaplanır
+                boolean last = i == files.size() - 1;
+                if (info == null || !info.hasStatistics() || last) info = scan(files.get(i), id, last);
+                segments.add(info);
+            }
+
+            if (segments.isEmpty()) {
+                openSegment(1);
+                migrateLegacyLogs();
+            } else {
+                active = segments.get(segments.size() - 1);
+                channel = FileChannel.open(segmentPath(active.getId()), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to open log store.", e);
+        }
+    }
+
+    public synchronized void append(LogEntry entry) {
+        append(List.of(entry));
+    }
+
+    public synchronized void append(List<LogEntry> entries) {
+        if (closed) throw new IllegalStateException("Log store is closed");
+        long start = System.nanoTime();
+        try {
+            if (shouldRotate()) roll();
+            StringBuilder sb = new StringBuilder();
+            for (LogEntry e : entries) {
+                String line = mapper.writeValueAsString(e);
+                sb.append(line).append('\n');
+                active.record(e, line.getBytes(StandardCharsets.UTF_8).length + 1);
+            }
+            ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) channel.write(buf);
+            APPEND_TIME.recordSince(start);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to append to log store.", e);
+        }
+    }
+
+    public synchronized void flush() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to sync log store.", e);
+        }
+    }
+
+    public synchronized int size() {
+        int total = 0;
+        for (LogSegmentInfo s : segments) total += s.getCount();
+        return total;
+    }
+
+    // Şimdiye kadar eklenen kayıt sayısı, yani bir sonraki kaydın konumu. Kayıtlar silinmediği için hiç azalmaz
+    // ve saatten bağımsızdır; geçmiş checkpoint'leri ve analitik kesim noktaları bununla işaretlenir.
+    public synchronized long position() {
+        long total = 0;
+        for (LogSegmentInfo s : segments) total += s.getCount();
+        return total;
+    }
+
+    // Konumu [from, to) aralığındaki kayıtlar, eskiden yeniye. Aralığın dışındaki segmentler okunmaz;
+    // dosya okuması yazıcı kilidini tutmaz.
+    public List<LogEntry> readRange(long from, long to) {
+        long start = System.nanoTime();
+        List<LogSegmentInfo> copy;
+        int[] counts;
+        synchronized (this) {
+            copy = new ArrayList<>(segments);
+            counts = new int[copy.size()];
+            for (int i = 0; i < counts.length; i++) counts[i] = copy.get(i).getCount();
+        }
+        List<LogEntry> result = new ArrayList<>();
+        long first = 0; // segmentin ilk kaydının konumu
+        for (int i = 0; i < counts.length && first < to; i++) {
+            long end = first + counts[i];
+            if (end > from) {
+                int lo = (int) Math.max(0, from - first);
+                int hi = (int) Math.min(counts[i], to - first);
+                List<LogEntry> entries = readEntries(copy.get(i).getId(), hi);
+                result.addAll(entries.subList(Math.min(lo, entries.size()), entries.size()));
+            }
+            first = end;
+        }
+        READ_TIME.recordSince(start);
+        return result;
+    }
+
+    // En yeniden eskiye doğru offset'ten itibaren en fazla limit kadar kayıt döner.
+    // Atlanan segmentler dosyadan hiç okunmaz.
+    public synchronized List<LogEntry> readNewest(int offset, int limit) {
+        List<LogEntry> page = new ArrayList<>(Math.min(limit, 1024));
+        try {
+            for (int i = segments.size() - 1; i >= 0 && page.size() < limit; i--) {
+                LogSegmentInfo s = segments.get(i);
+                if (offset >= s.getCount()) {
+                    offset -= s.getCount();
+                    continue;
+                }
+                List<String> lines = readLines(s);
+                for (int j = lines.size() - 1 - offset; j >= 0 && page.size() < limit; j--) {
+                    page.add(mapper.readValue(lines.get(j), LogEntry.class));
+                }
+                offset = 0;
+            }
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to read log store.", e);
+        }
+        return page;
+    }
+
+    // [from, to] aralığındaki (epoch ms, dahil) kayıtları en yeniden eskiye döner
+    public synchronized List<LogEntry> readBetween(long from, long to, int limit) {
+        long start = System.nanoTime();
+        List<LogEntry> result = new ArrayList<>();
+        try {
+            for (int i = segments.size() - 1; i >= 0 && result.size() < limit; i--) {
+                LogSegmentInfo s = segments.get(i);
+                if (!s.overlaps(from, to)) continue;
+                List<String> lines = readLines(s);
+                for (int j = lines.size() - 1; j >= 0 && result.size() < limit; j--) {
+                    LogEntry e = mapper.readValue(lines.get(j), LogEntry.class);
+                    if (e.getTimestamp() >= from && e.getTimestamp() <= to) {
+                        result.add(e);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to read log store.", e);
+        }
+        READ_TIME.recordSince(start);
+        return result;
+    }
+
+    // Sorgu, çağrıldığı andaki kayıtlarla sınırlıdır; sonradan eklenenler sayfaları kaydırmaz
+    public synchronized LogQuery query(LogQuery.Filter filter) {
+        return new LogQuery(this, filter, new ArrayList<>(segments), active == null ? 0 : active.getCount());
+    }
+
+    public synchronized List<LogSegmentInfo> segments() {
+        return new ArrayList<>(segments);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            channel.force(false);
+            channel.close();
+            writeIndex();
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to close log store.", e);
+        }
+    }
+
+    private boolean shouldRotate() {
+        if (active.getCount() == 0) return false;
+        return active.getBytes() >= maxSegmentBytes
+                || System.currentTimeMillis() - active.getOpenedAt() >= maxSegmentAgeMillis;
+    }
+
+    private void roll() throws IOException {
+        channel.force(false);
+        channel.close();
+        openSegment(active.getId() + 1);
+        // Kapanan segmentin bilgisi artık değişmeyeceği için indekse yazılır
+        writeIndex();
+    }
+
+    private void openSegment(long id) throws IOException {
+        active = new LogSegmentInfo(id, System.currentTimeMillis());
+        segments.add(active);
+        channel = FileChannel.open(segmentPath(id),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // Eski tek parça logs.json varsa ilk açılışta segmentlere aktarılır; dosyanın kendisine dokunulmaz.
+    private void migrateLegacyLogs() {
+        if (!jsonService.resolve(LEGACY_LOG_FILE).toFile().exists()) return;
+        // Dosya parça parça okunur; bellekte aynı anda en fazla bir parça tutulur
+        jsonService.streamLogs(1000, this::append, null);
+    }
+
+    // Ekleme sırasında çökmeden kalan yarım kayıt sadece aktif segmentin son satırı olabilir; o kesilip atılır
+    // (InventoryJournal.replay gibi). Başka yerdeki bozuk satır sonraki kayıtları kaybetmemek için açılışı durdurur.
+    private LogSegmentInfo scan(Path file, long id, boolean last) throws IOException {
+        LogSegmentInfo info = new LogSegmentInfo(id, Files.getLastModifiedTime(file).toMillis());
+        byte[] bytes = Files.readAllBytes(file);
+        int start = 0;
+        while (start < bytes.length) {
+            int end = indexOf(bytes, (byte) '\n', start);
+            boolean tail = end < 0 || end == bytes.length - 1;
+            int length = (end < 0 ? bytes.length : end) - start;
+            String line = new String(bytes, start, length, StandardCharsets.UTF_8);
+            LogEntry e = null;
+            IOException error = null;
+            if (end >= 0) {
+                if (line.isBlank()) {
+                    start = end + 1;
+                    continue;
+                }
+                try {
+                    e = mapper.readValue(line, LogEntry.class);
+                } catch (IOException ex) {
+                    error = ex;
+                }
+            }
+            if (e == null) {
+                if (!last || !tail) {
+                    throw new DataPersistenceException("Corrupt log record in " + file.getFileName()
+                            + " at byte " + start + ".", error);
+                }
+                try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    ch.truncate(start);
+                }
+                break;
+            }
+            info.record(e, length + 1);
+            start = end + 1;
+        }
+        return info;
+    }
+
+    private static int indexOf(byte[] bytes, byte b, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == b) return i;
+        }
+        return -1;
+    }
+
+    // Segmentin ilk limit satırı; dosya okuması yazıcı kilidini tutmaz
+    List<LogEntry> readEntries(long segmentId, int limit) {
+        try (Stream<String> lines = Files.lines(segmentPath(segmentId), StandardCharsets.UTF_8)) {
+            List<LogEntry> entries = new ArrayList<>(limit);
+            for (Iterator<String> it = lines.filter(l -> !l.isBlank()).limit(limit).iterator(); it.hasNext(); ) {
+                entries.add(mapper.readValue(it.next(), LogEntry.class));
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to read log segment " + segmentId + ".", e);
+        }
+    }
+
+    private List<String> readLines(LogSegmentInfo s) throws IOException {
+        List<String> lines = Files.readAllLines(segmentPath(s.getId()), StandardCharsets.UTF_8);
+        lines.removeIf(String::isBlank);
+        return lines;
+    }
+
+    private Map<Long, LogSegmentInfo> readIndex() throws IOException {
+        Map<Long, LogSegmentInfo> map = new HashMap<>();
+        Path index = dir.resolve(INDEX_FILE);
+        if (Files.exists(index)) {
+            try {
+                List<LogSegmentInfo> list = mapper.readValue(index.toFile(), new TypeReference<List<LogSegmentInfo>>() {});
+                for (LogSegmentInfo s : list) map.put(s.getId(), s);
+            } catch (JsonProcessingException e) {
+                // Eski biçimdeki indeks: tüm segmentler taranarak yeniden oluşturulur
+                map.clear();
+            }
+        }
+        return map;
+    }
+
+    private void writeIndex() throws IOException {
+        Path tmp = dir.resolve(INDEX_FILE + ".tmp");
+        mapper.writeValue(tmp.toFile(), segments);
+        Files.move(tmp, dir.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return dir.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentId(Path segment) {
+        String n = segment.getFileName().toString();
+        return Long.parseLong(n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.exception.InsufficientStockException;
+import com.example.stockautomationsystem.metrics.Counter;
+import com.example.stockautomationsystem.metrics.LatencyHistogram;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Birden fazla kalemden oluşan siparişleri ya tamamen ya hiç uygular.
+// Bir siparişin tüm stok değişiklikleri journal'a tek bir kayıt olarak, logları da tek seferde yazılır.
+public class OrderService {
+    public record OrderLine(Product product, int quantity) {
+    }
+
+    public record ReplayResult(int applied, int rejected, List<String> errors) {
+    }
+
+    // Bellekteki uygulama süresi; diske yazma persistence.* metriklerindedir
+    private static final LatencyHistogram ORDER_TIME = MetricsRegistry.global().timer("orders.place");
+    private static final Counter REJECTED = MetricsRegistry.global().counter("orders.rejected");
+
+    private final InventoryRepository repository;
+    private final StockEngine stockEngine;
+    private final PersistenceExecutor persistence;
+    private final SalesAnalytics analytics;
+
+    public OrderService(InventoryRepository repository, StockEngine stockEngine, PersistenceExecutor persistence,
+                        SalesAnalytics analytics) {
+        this.repository = repository;
+        this.stockEngine = stockEngine;
+        this.persistence = persistence;
+        this.analytics = analytics;
+    }
+
+    // Kalemlerden biri bile karşılanamazsa InsufficientStockException fırlatılır ve hiçbir stok değişmez.
+    // Dönen future sipariş diske zorlandığında (fsync) tamamlanır; aynı grupta gelen siparişler tek fsync'i paylaşır.
+    public CompletableFuture<Void> placeOrder(String user, List<OrderLine> lines) {
+        if (lines.isEmpty()) throw new IllegalArgumentException("Order has no line items.");
+        long start = System.nanoTime();
+
+        // Aynı ürün birden fazla satırda geçerse miktarlar birleştirilir
+        Map<Product, Integer> merged = new LinkedHashMap<>();
+        for (OrderLine line : lines) {
+            if (line.quantity() <= 0) throw new IllegalArgumentException("Quantity must be greater than 0.");
+            merged.merge(line.product(), line.quantity(), Integer::sum);
+        }
+
+        for (Map.Entry<Product, Integer> e : merged.entrySet()) {
+            Product p = e.getKey();
+            if (!p.hasEnoughStock(e.getValue())) {
+                REJECTED.increment();
+                throw new InsufficientStockException(p.getName(), e.getValue(), p.getAvailableQuantity());
+            }
+        }
+
+        // On kontrol ile rezervasyon arasında başka bir alım araya girebilir; o durumda ayrılanlar geri verilir
+        List<StockEngine.Reservation> reservations = new ArrayList<>(merged.size());
+        try {
+            for (Map.Entry<Product, Integer> e : merged.entrySet()) {
+                reservations.add(stockEngine.reserve(e.getKey(), e.getValue()));
+            }
+        } catch (RuntimeException e) {
+            reservations.forEach(StockEngine.Reservation::release);
+            REJECTED.increment();
+            throw e;
+        }
+
+        List<JournalRecord> records = new ArrayList<>(reservations.size());
+        List<LogEntry> logs = new ArrayList<>(reservations.size());
+        for (StockEngine.Reservation r : reservations) {
+            r.commit();
+            records.add(JournalRecord.stockOf(r.getProduct()));
+            LogEntry log = new LogEntry(user, LogEntry.Action.PURCHASE, r.getProduct().getName(), r.getQuantity())
+                    .withStockChange(r.getProduct(), r.getQuantity());
+            logs.add(log);
+            analytics.recordSale(r.getProduct(), r.getQuantity(), log.getTimestamp());
+        }
+        CompletableFuture<Void> written = persistence.submitDurable(List.of(JournalRecord.batch(records)), logs);
+        ORDER_TIME.recordSince(start);
+        return written;
+    }
+
+    // Kasa dışa aktarım dosyasını (satır başına: siparisNo,urunAdi,miktar) sipariş sipariş uygular.
+    // Karşılanamayan siparişler atlanır ve raporlanır; sonunda tüm yazımlar tek seferde diske zorlanır.
+    public ReplayResult replayTillExport(Path file, String user) {
+        int applied = 0;
+        List<String> errors = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String currentOrder = null;
+            List<OrderLine> lines = new ArrayList<>();
+            int lineNo = 0;
+            String row;
+            while ((row = reader.readLine()) != null) {
+                lineNo++;
+                if (row.isBlank() || row.startsWith("#")) continue;
+                String[] cols = row.split(",");
+                if (cols.length != 3) {
+                    errors.add("Line " + lineNo + ": expected orderId,productName,quantity");
+                    continue;
+                }
+                if (currentOrder != null && !currentOrder.equals(cols[0].trim())) {
+                    applied += apply(currentOrder, lines, user, errors);
+                    lines = new ArrayList<>();
+                }
+                currentOrder = cols[0].trim();
+                Product p = repository.findByName(cols[1]);
+                try {
+                    if (p == null) throw new IllegalArgumentException("unknown product '" + cols[1].trim() + "'");
+                    lines.add(new OrderLine(p, Integer.parseInt(cols[2].trim())));
+                } catch (IllegalArgumentException e) {
+                    errors.add("Line " + lineNo + ": " + e.getMessage());
+                    lines.add(null); // siparişin tamamı reddedilecek
+                }
+            }
+            if (currentOrder != null) applied += apply(currentOrder, lines, user, errors);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to read till export.", e);
+        }
+        persistence.flush().join();
+        return new ReplayResult(applied, countRejected(errors), errors);
+    }
+
+    private int apply(String orderId, List<OrderLine> lines, String user, List<String> errors) {
+        if (lines.contains(null)) {
+            errors.add("Order " + orderId + ": rejected because of invalid lines");
+            return 0;
+        }
+        try {
+            placeOrder(user, lines);
+            return 1;
+        } catch (InsufficientStockException | IllegalArgumentException e) {
+            errors.add("Order " + orderId + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static int countRejected(List<String> errors) {
+        return (int) errors.stream().filter(e -> e.startsWith("Order ")).count();
+    }
+}
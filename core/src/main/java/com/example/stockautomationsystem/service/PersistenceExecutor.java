@@ -0,0 +1,280 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.metrics.LatencyHistogram;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Dosya yazımlarını UI thread'inden alıp tek bir arka plan thread'inde yapar.
+// Kısa sürede gelen değişiklikler tek bir yazıma birleştirilir (coalescing). submit'in future'ı kayıtlar
+// journal'a yazıldığında (işletim sistemine teslim edildiğinde) tamamlanır; diske zorlama journal'ın fsync
+// politikasına bağlıdır. submitDurable, flush ve checkpoint ise grubun fsync'i bittiğinde tamamlanır; aynı
+// grupta gelen gönderimler tek bir fsync'i paylaşır (group commit).
+// Bir grup yazılamazsa future'ları hatayla tamamlanır, ancak bellekteki değişiklikler geri alınmaz; bellek ile
+// disk ayrışmasın diye sonraki başarılı grup tüm durumu yeniden yazar (kompaksiyon ya da snapshot). Yazıcı
+// thread'i bir Error (ör. OutOfMemoryError) ile düşerse executor ölü sayılır: kuyruktaki tüm future'lar o
+// hatayla tamamlanır ve yeni gönderimler reddedilir.
+public class PersistenceExecutor implements AutoCloseable {
+    private enum Kind { WRITE, FLUSH, CHECKPOINT, CLOSE }
+
+    // batch: bir grubun diske yazılma süresi; wait: gönderimden diske yazılana kadar geçen süre
+    private static final LatencyHistogram BATCH_TIME = MetricsRegistry.global().timer("persistence.batch");
+    private static final LatencyHistogram WAIT_TIME = MetricsRegistry.global().timer("persistence.wait");
+
+    // Yazıcı thread'inde, bir gruptaki loglar log deposuna eklendikten sonra çağrılır.
+    // checkpoint, grupta tam snapshot (katalog aktarımı) yazıldıysa true'dur.
+    public interface LogListener {
+        void logged(List<LogEntry> logs, boolean checkpoint);
+    }
+
+    private final JsonService jsonService;
+    private final InventoryJournal journal;
+    private final LogStore logStore;
+    private final Supplier<List<Product>> state;
+    private final long coalesceMillis;
+    private final List<Runnable> companions = new CopyOnWriteArrayList<>();
+    private final List<LogListener> logListeners = new CopyOnWriteArrayList<>();
+
+    private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    private final AtomicBoolean closing = new AtomicBoolean();
+    // Yazıcı thread'ini durduran hata; null değilse executor ölüdür
+    private volatile Throwable failure;
+    // Önceki grup yazılamadı; bir sonraki grup tüm durumu yeniden yazar (yalnızca yazıcı thread'inde)
+    private boolean resync;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    // journal null ise eski tam-dosya (snapshot) modu kullanılır. state, o anki ürün listesini döner;
+    // snapshot modunda ve journal kompaksiyonunda yazıcı thread'inde çağrılır.
+    public PersistenceExecutor(JsonService jsonService, InventoryJournal journal, LogStore logStore,
+                               Supplier<List<Product>> state, long coalesceMillis) {
+        this.jsonService = jsonService;
+        this.journal = journal;
+        this.logStore = logStore;
+        this.state = state;
+        this.coalesceMillis = coalesceMillis;
+
+        worker = new Thread(this::run, "persistence-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Ürün dosyasıyla birlikte kalıcı olması gereken ek durum (ör. konum stokları). Journal modunda
+    // journal snapshot'ına eklenir; snapshot modunda her tam dosya yazımının ardından çalıştırılır.
+    public void addCompanion(Supplier<Runnable> capture, Runnable save) {
+        if (journal != null) journal.addCompanion(capture);
+        else companions.add(save);
+    }
+
+    public void addLogListener(LogListener listener) {
+        logListeners.add(listener);
+    }
+
+    public CompletableFuture<Void> submit(JournalRecord record, LogEntry log) {
+        return submit(record == null ? List.of() : List.of(record), log == null ? List.of() : List.of(log));
+    }
+
+    // Kayıtlar, kendilerini üreten bellekteki değişiklik yapıldıktan sonra gönderilmelidir
+    public CompletableFuture<Void> submit(List<JournalRecord> records, List<LogEntry> logs) {
+        return enqueue(new Task(Kind.WRITE, records, logs));
+    }
+
+    // submit gibidir, ancak future kayıtlar diske zorlandıktan sonra tamamlanır (siparişler)
+    public CompletableFuture<Void> submitDurable(List<JournalRecord> records, List<LogEntry> logs) {
+        Task task = new Task(Kind.WRITE, records, logs);
+        task.durable = true;
+        return enqueue(task);
+    }
+
+    // Bu çağrıdan önce gönderilen her şey diske zorlandığında tamamlanır
+    public CompletableFuture<Void> flush() {
+        return enqueue(new Task(Kind.FLUSH, List.of(), List.of()));
+    }
+
+    // Tüm bellekteki durumu tek bir snapshot olarak yazar ve diske zorlar. Journal'a kayıt üretmeyen toplu
+    // değişiklikler (katalog aktarımı) bununla kalıcı olur; future snapshot yazıldığında tamamlanır.
+    public CompletableFuture<Void> checkpoint(LogEntry log) {
+        return enqueue(new Task(Kind.CHECKPOINT, List.of(), log == null ? List.of() : List.of(log)));
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    // Ortalama olarak kaç gönderimin tek bir yazımda birleştirildiği
+    public double getCoalescingRatio() {
+        long b = batches.get();
+        return b == 0 ? 0 : (double) submitted.get() / b;
+    }
+
+    // Uç adımda kapanır: yeni gönderimler reddedilir, kuyruktaki her şey CLOSE görevine kadar yazılıp diske
+    // zorlanır, ardından yazıcı thread'i durur ve dosyalar kapatılır.
+    @Override
+    public void close() {
+        if (!closing.compareAndSet(false, true)) return;
+        Task close = new Task(Kind.CLOSE, List.of(), List.of());
+        queue.add(close);
+        try {
+            // Yazıcı ölmüşse görev işlenmez: ya kuyruktan geri alınır ya da ölürken hatayla tamamlanmıştır
+            if (failure == null || !queue.remove(close)) close.future.join();
+        } finally {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (journal != null) journal.close();
+            logStore.close();
+        }
+    }
+
+    // Görev önce kuyruğa eklenir, sonra kapanma kontrol edilir. Kontrol kapanmayı görmezse CLOSE görevi
+    // bu görevden sonra kuyruğa girer ve görev yazılır; görürse görev kuyruktan geri alınır. Yazıcı onu
+    // CLOSE ile aynı grupta almışsa geri alınamaz, ama o zaman zaten yazılır.
+    // Yazıcının ölmesi de aynı şekilde ele alınır: failure kuyruk boşaltılmadan önce yazılır.
+    private CompletableFuture<Void> enqueue(Task task) {
+        if (closing.get() || failure != null) throw closed();
+        queue.add(task);
+        if ((closing.get() || failure != null) && queue.remove(task)) throw closed();
+        if (task.kind == Kind.WRITE) submitted.incrementAndGet();
+        return task.future;
+    }
+
+    private IllegalStateException closed() {
+        Throwable f = failure;
+        if (f != null) return new IllegalStateException("Persistence writer stopped: " + f, f);
+        return new IllegalStateException("Persistence executor is closed");
+    }
+
+    private void run() {
+        List<Task> batch = new ArrayList<>();
+        boolean stop = false;
+        try {
+            while (!stop) {
+                try {
+                    batch.add(queue.take());
+                    if (coalesceMillis > 0) Thread.sleep(coalesceMillis);
+                } catch (InterruptedException e) {
+                    // Yazıcı yalnızca CLOSE göreviyle durur
+                }
+                queue.drainTo(batch);
+                for (Task t : batch) stop |= t.kind == Kind.CLOSE;
+                if (!batch.isEmpty()) process(batch);
+                batch.clear();
+            }
+        } catch (Throwable e) {
+            failure = e;
+            batch.forEach(t -> t.future.completeExceptionally(e));
+            List<Task> pending = new ArrayList<>();
+            queue.drainTo(pending);
+            pending.forEach(t -> t.future.completeExceptionally(e));
+            System.err.println("Persistence writer stopped: " + e);
+        }
+    }
+
+    private void process(List<Task> batch) {
+        long start = System.nanoTime();
+        batches.incrementAndGet();
+        List<JournalRecord> records = new ArrayList<>();
+        List<LogEntry> logs = new ArrayList<>();
+        boolean flush = false;
+        boolean checkpoint = false;
+        for (Task t : batch) {
+            records.addAll(t.records);
+            logs.addAll(t.logs);
+            flush |= t.kind != Kind.WRITE || t.durable;
+            checkpoint |= t.kind == Kind.CHECKPOINT;
+        }
+
+        try {
+            writeRecords(records);
+            if (resync) {
+                // Önceki grubun değişiklikleri bellekte uygulanmış durumda; hepsi tek seferde yeniden yazılır
+                if (journal != null) journal.compact(state.get());
+                else if (records.isEmpty()) saveSnapshot();
+                resync = false;
+            }
+            if (checkpoint) {
+                // Snapshot modunda kayıt varsa dosya writeRecords'ta zaten yazıldı
+                if (journal != null) journal.checkpoint(state.get());
+                else if (records.isEmpty()) saveSnapshot();
+            }
+            if (!logs.isEmpty()) {
+                // Stok değerleri log sırasıyla burada okunur; aynı ürünün sonraki kaydı daha eski değer taşıyamaz
+                logs.forEach(LogEntry::materialize);
+                logStore.append(logs);
+            }
+            if (!logs.isEmpty() || checkpoint) {
+                for (LogListener l : logListeners) l.logged(logs, checkpoint);
+            }
+            if (flush) {
+                if (journal != null) journal.flush();
+                logStore.flush();
+            }
+            long end = System.nanoTime();
+            BATCH_TIME.record(end - start);
+            for (Task t : batch) {
+                WAIT_TIME.record(end - t.submittedAt);
+                t.future.complete(null);
+            }
+        } catch (RuntimeException e) {
+            resync = true;
+            batch.forEach(t -> t.future.completeExceptionally(e));
+        }
+    }
+
+    private void writeRecords(List<JournalRecord> records) {
+        if (records.isEmpty()) return;
+        if (journal == null) {
+            // Snapshot modu: gruptaki tüm değişiklikler için dosya bir kez yazılır
+            saveSnapshot();
+            return;
+        }
+        journal.append(records);
+        if (journal.compactionDue()) {
+            // Buraya kadar gönderilen tüm kayıtlar yazıldı; bellekteki durum en az onlar kadar günceldir
+            journal.compact(state.get());
+        }
+    }
+
+    private void saveSnapshot() {
+        jsonService.saveData(state.get());
+        companions.forEach(Runnable::run);
+    }
+
+    private static final class Task {
+        final Kind kind;
+        final List<JournalRecord> records;
+        final List<LogEntry> logs;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final long submittedAt = System.nanoTime();
+        boolean durable;
+
+        Task(Kind kind, List<JournalRecord> records, List<LogEntry> logs) {
+            this.kind = kind;
+            this.records = records;
+            this.logs = logs;
+        }
+    }
+}
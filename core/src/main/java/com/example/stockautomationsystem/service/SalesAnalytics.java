@@ -0,0 +1,147 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Alım olaylarından ürün başına satış hızı (son 1, 7 ve 30 gün), stokun kaç gün yeteceği ve
+// önerilen yeniden sipariş noktasını hesaplar. Her ürün için 30 günlük bir halka tampon ve pencere
+// toplamları tutulur; her olay sabit sayıda işlemle işlenir, geçmiş hiç yeniden taranmaz.
+public class SalesAnalytics implements InventoryRepository.Listener {
+    public static final int[] WINDOWS = {1, 7, 30};
+    private static final int DAYS = 30;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final double SERVICE_Z = 1.65; // ~%95 hizmet seviyesi için güvenlik stoku katsayısı
+
+    private final Map<Product, Stats> stats = new ConcurrentHashMap<>();
+    private final double leadTimeDays;
+
+    public SalesAnalytics(double leadTimeDays) {
+        this.leadTimeDays = leadTimeDays;
+    }
+
+    // -Dstock.analytics.leadTimeDays ile tedarik süresi ayarlanabilir (varsayılan 7 gün)
+    public static SalesAnalytics fromSystemProperties() {
+        return new SalesAnalytics(Double.parseDouble(System.getProperty("stock.analytics.leadTimeDays", "7")));
+    }
+
+    public void recordSale(Product p, int quantity, long timestampMillis) {
+        stats.computeIfAbsent(p, k -> new Stats()).add(Math.floorDiv(timestampMillis, DAY_MILLIS), quantity);
+    }
+
+    // Son 30 günün alımları; üst sınır zaman değil, sorgunun açıldığı andaki log konumudur
+    public static LogQuery.Filter backfillFilter(long nowMillis) {
+        return new LogQuery.Filter(LogEntry.Action.PURCHASE, null, nowMillis - DAYS * DAY_MILLIS, Long.MAX_VALUE);
+    }
+
+    // Açılışta backfillFilter ile açılan sorgunun alımları (indeks üzerinden) bir kez okunur. Sorgu, açıldığı
+    // andaki kayıtlarla sınırlı olduğu için ondan sonra recordSale ile işlenen alımlar iki kez sayılmaz.
+    public void backfill(LogQuery q, InventoryRepository repository) {
+        int size = q.size();
+        for (int offset = 0; offset < size; offset += 1000) {
+            for (LogEntry e : q.page(offset, 1000)) {
+                Product p = e.getProduct() == null ? null : repository.findByName(e.getProduct());
+                if (p != null && e.getQuantity() > 0) recordSale(p, e.getQuantity(), e.getTimestamp());
+            }
+        }
+    }
+
+    // Son windowDays günde günlük ortalama satış
+    public double velocity(Product p, int windowDays) {
+        Stats s = stats.get(p);
+        return s == null ? 0 : s.sum(today(), windowDays) / (double) windowDays;
+    }
+
+    // Mevcut stok son 7 günün hızıyla kaç gün yeter; satış yoksa sonsuz
+    public double daysOfCover(Product p) {
+        double v = velocity(p, 7);
+        return v == 0 ? Double.POSITIVE_INFINITY : p.getStockQuantity() / v;
+    }
+
+    // Tedarik süresince beklenen satış + günlük satış dalgalanmasına göre güvenlik stoku
+    public int reorderPoint(Product p) {
+        Stats s = stats.get(p);
+        if (s == null) return 0;
+        double[] meanAndDev = s.meanAndDeviation(today(), DAYS);
+        return (int) Math.ceil(meanAndDev[0] * leadTimeDays + SERVICE_Z * meanAndDev[1] * Math.sqrt(leadTimeDays));
+    }
+
+    @Override
+    public void productAdded(Product p) {
+    }
+
+    @Override
+    public void productUpdated(Product p) {
+    }
+
+    @Override
+    public void productRemoved(Product p) {
+        stats.remove(p);
+    }
+
+    private static long today() {
+        return Math.floorDiv(System.currentTimeMillis(), DAY_MILLIS);
+    }
+
+    // Günlük kovalar ve her pencere için toplam; pencereler gün ilerledikçe kayar
+    private static final class Stats {
+        private final long[] buckets = new long[DAYS];
+        private final long[] sums = new long[WINDOWS.length];
+        private long sumSquares; // 30 günlük pencerede günlük satışların kareleri toplamı
+        private long day = Long.MIN_VALUE;
+
+        synchronized void add(long eventDay, int quantity) {
+            advance(eventDay);
+            if (eventDay <= day - DAYS) return; // 30 günden eski
+            int i = Math.floorMod(eventDay, DAYS);
+            long before = buckets[i];
+            buckets[i] += quantity;
+            sumSquares += buckets[i] * buckets[i] - before * before;
+            for (int w = 0; w < WINDOWS.length; w++) {
+                if (eventDay > day - WINDOWS[w]) sums[w] += quantity;
+            }
+        }
+
+        synchronized long sum(long today, int windowDays) {
+            advance(today);
+            for (int w = 0; w < WINDOWS.length; w++) {
+                if (WINDOWS[w] == windowDays) return sums[w];
+            }
+            throw new IllegalArgumentException("Unsupported window: " + windowDays);
+        }
+
+        synchronized double[] meanAndDeviation(long today, int windowDays) {
+            double mean = sum(today, windowDays) / (double) windowDays;
+            double variance = Math.max(0, sumSquares / (double) windowDays - mean * mean);
+            return new double[]{mean, Math.sqrt(variance)};
+        }
+
+        // Günü ileri alır: pencereden çıkan günler toplamlardan düşülür, en eski kova sıfırlanır.
+        // En fazla 30 adım sürer, bu yüzden olay başına maliyet sabittir.
+        private void advance(long to) {
+            if (day == Long.MIN_VALUE || to - day >= DAYS) {
+                clear();
+                day = to;
+                return;
+            }
+            while (day < to) {
+                day++;
+                for (int w = 0; w < WINDOWS.length; w++) {
+                    sums[w] -= buckets[Math.floorMod(day - WINDOWS[w], DAYS)];
+                }
+                int i = Math.floorMod(day, DAYS);
+                sumSquares -= buckets[i] * buckets[i];
+                buckets[i] = 0;
+            }
+        }
+
+        private void clear() {
+            Arrays.fill(buckets, 0);
+            Arrays.fill(sums, 0);
+            sumSquares = 0;
+        }
+    }
+}
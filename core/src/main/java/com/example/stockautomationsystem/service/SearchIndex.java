@@ -0,0 +1,199 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.metrics.LatencyHistogram;
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+// Ürün adı ve kategorisi üzerinde arama indeksi. Adlar için trigram -> ürün numaraları listesi tutulur;
+// kategoriler az sayıda olduğu için doğrudan kategori -> ürün numaraları olarak indekslenir.
+// Küçük harfe çevrilmiş metinler bir kez hesaplanıp saklanır, sorgu sırasında string üretilmez.
+public class SearchIndex implements InventoryRepository.Listener {
+    private static final LatencyHistogram SEARCH_TIME = MetricsRegistry.global().timer("search.query");
+    private static final int GRAM = 3;
+
+    private record Entry(int id, String name, String category) {
+    }
+
+    private final Map<Product, Entry> entries = new HashMap<>();
+    private final List<Product> byId = new ArrayList<>();
+    private final Map<Long, Posting> nameGrams = new HashMap<>();
+    private final Map<String, Posting> byCategory = new HashMap<>();
+
+    // Kullanıcı sorguyu uzattığında sonuç önceki sonucun alt kümesidir; tekrar hesaplamak yerine daraltılır
+    private String lastQuery;
+    private Set<Product> lastResult;
+    private int freeIds;
+
+    public synchronized void rebuild(Collection<Product> products) {
+        entries.clear();
+        byId.clear();
+        freeIds = 0;
+        nameGrams.clear();
+        byCategory.clear();
+        invalidate();
+        products.forEach(this::index);
+    }
+
+    // Sorguyla adı veya kategorisi eşleşen ürünler; boş sorgu için null (filtre yok)
+    public synchronized Set<Product> search(String query) {
+        if (query == null || query.isEmpty()) return null;
+        long start = System.nanoTime();
+        Set<Product> result = find(query.toLowerCase());
+        SEARCH_TIME.recordSince(start);
+        return result;
+    }
+
+    private Set<Product> find(String q) {
+        if (lastQuery != null && q.contains(lastQuery)) {
+            Set<Product> narrowed = new HashSet<>();
+            for (Product p : lastResult) {
+                Entry e = entries.get(p);
+                if (e != null && (e.name().contains(q) || e.category().contains(q))) narrowed.add(p);
+            }
+            return remember(q, narrowed);
+        }
+
+        Set<Product> result = new HashSet<>();
+        for (Map.Entry<String, Posting> c : byCategory.entrySet()) {
+            if (c.getKey().contains(q)) c.getValue().forEach(id -> result.add(byId.get(id)));
+        }
+
+        if (q.length() < GRAM) {
+            // 1-2 karakterlik sorgular kataloğun büyük kısmına uyar; indeks kümeyi küçültmez,
+            // önbellekteki küçük harfli adlar üzerinde doğrudan tarama yapılır
+            for (Entry e : entries.values()) {
+                if (e.name().contains(q)) result.add(byId.get(e.id()));
+            }
+        } else {
+            Posting candidates = smallestPosting(q);
+            if (candidates != null) {
+                candidates.forEach(id -> {
+                    Product p = byId.get(id);
+                    if (entries.get(p).name().contains(q)) result.add(p);
+                });
+            }
+        }
+        return remember(q, result);
+    }
+
+    @Override
+    public synchronized void productAdded(Product p) {
+        index(p);
+        invalidate();
+    }
+
+    @Override
+    public synchronized void productUpdated(Product p) {
+        Entry old = entries.get(p);
+        if (old != null && old.name().equals(lower(p.getName())) && old.category().equals(lower(p.getCategory()))) {
+            return; // sadece stok/fiyat değişti
+        }
+        unindex(p);
+        index(p);
+        invalidate();
+        compactIfSparse();
+    }
+
+    @Override
+    public synchronized void productRemoved(Product p) {
+        unindex(p);
+        invalidate();
+        compactIfSparse();
+    }
+
+    // Silinen/yeniden numaralanan ürünlerin boş bıraktığı yerler çoğaldığında indeks baştan kurulur
+    private void compactIfSparse() {
+        if (freeIds > 1024 && freeIds > byId.size() / 2) {
+            rebuild(new ArrayList<>(entries.keySet()));
+        }
+    }
+
+    private Posting smallestPosting(String q) {
+        Posting smallest = null;
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            Posting posting = nameGrams.get(gram(q, i));
+            if (posting == null) return null; // bu trigram hiç geçmiyorsa eşleşme olamaz
+            if (smallest == null || posting.size < smallest.size) smallest = posting;
+        }
+        return smallest;
+    }
+
+    private Set<Product> remember(String q, Set<Product> result) {
+        lastQuery = q;
+        lastResult = result;
+        return result;
+    }
+
+    private void invalidate() {
+        lastQuery = null;
+        lastResult = null;
+    }
+
+    private void index(Product p) {
+        // Numaralar hep artarak verilir, böylece posting listeleri sıralı kalır
+        Entry e = new Entry(byId.size(), lower(p.getName()), lower(p.getCategory()));
+        byId.add(p);
+        entries.put(p, e);
+        for (int i = 0; i + GRAM <= e.name().length(); i++) {
+            nameGrams.computeIfAbsent(gram(e.name(), i), k -> new Posting()).add(e.id());
+        }
+        byCategory.computeIfAbsent(e.category(), k -> new Posting()).add(e.id());
+    }
+
+    private void unindex(Product p) {
+        Entry e = entries.remove(p);
+        if (e == null) return;
+        byId.set(e.id(), null);
+        freeIds++;
+        for (int i = 0; i + GRAM <= e.name().length(); i++) {
+            long gram = gram(e.name(), i);
+            Posting posting = nameGrams.get(gram);
+            if (posting != null && posting.remove(e.id()) && posting.size == 0) nameGrams.remove(gram);
+        }
+        Posting cat = byCategory.get(e.category());
+        if (cat != null && cat.remove(e.id()) && cat.size == 0) byCategory.remove(e.category());
+    }
+
+    // Uç karakter tek bir long anahtara paketlenir; sorguda substring üretilmez
+    private static long gram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static String lower(String s) {
+        return s == null ? "" : s.toLowerCase();
+    }
+
+    // Sıralı, büyüyebilen int dizisi
+    private static final class Posting {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) return; // aynı addaki tekrar eden trigram
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        boolean remove(int id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i < 0) return false;
+            System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        void forEach(IntConsumer action) {
+            for (int i = 0; i < size; i++) action.accept(ids[i]);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+// Snapshot dosyasının kuşakları (generation). Dosyanın kendisi sadece içeriği (JSON dizisi ya da ikili snapshot)
+// tutar; başka araçların da okuyabilmesi için JSON geçerli kalır. Her dosyanın yanında tek satırlık bir
+// "<ad>.meta" dosyası bulunur:
+//   stock-snapshot v1 gen=... journal=... bytes=... crc32c=...
+// Yazım: geçici dosya ve meta'sı -> fsync -> mevcut dosya meta'sıyla "<ad>.<gen>" olarak kenara alınır ->
+// geçici dosya ve meta'sı yerine taşınır -> dizin fsync. En fazla keep kuşak tutulur. Açılışta sağlam (boyutu
+// ve CRC'si meta'yla tutan) en yeni kuşak seçilir. İki taşıma arasında kesilen bir yazımda meta'siz kalan
+// dosya, sahibi olmayan bir meta ile eşleştirilir. Hiç meta dosyası yoksa eski sürümün dosyaları kontrolsüz
+// kabul edilir.
+public final class SnapshotFiles {
+    private static final String MAGIC = "stock-snapshot v";
+    private static final int VERSION = 1;
+    private static final String META_FORMAT = MAGIC + "%d gen=%d journal=%d bytes=%d crc32c=%08x\n";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final String META_SUFFIX = ".meta";
+
+    public interface Payload {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    // journalSegment: bu snapshot'a katlanmış son segmentten sonraki ilk segment; açılışta ondan öncekiler atlanır.
+    // Meta'siz eski dosyalarda generation ve journalSegment 0'dir.
+    public record Generation(Path file, long generation, long journalSegment, long payloadBytes, long checksum,
+                             boolean legacy) {
+    }
+
+    // Bir dosya ve onu tarif eden meta; meta dosyanın kendi yan dosyası olmayabilir (yarım kalmış taşıma)
+    private record Candidate(Generation generation, Path meta) {
+    }
+
+    private final Path file;
+    private final int keep;
+
+    public SnapshotFiles(Path file, int keep) {
+        this.file = file;
+        this.keep = Math.max(1, keep);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized Generation write(long generation, long journalSegment, Payload payload) {
+        Path tmp = sibling(TMP_SUFFIX);
+        Generation written;
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32C crc = new CRC32C();
+            CheckedOutputStream out = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(ch), 1 << 16), crc);
+            // Payload akışı kapatsa bile kanal fsync için açık kalmalı
+            payload.writeTo(new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            });
+            out.flush();
+            ch.force(true);
+            written = new Generation(file, generation, journalSegment, ch.position(), crc.getValue(), false);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to write snapshot " + tmp + ".", e);
+        }
+        writeMeta(sidecar(tmp), written);
+        install(tmp);
+        return written;
+    }
+
+    // Sağlam en yeni kuşak; hiç dosya yoksa null. Dosyalar var ama hiçbiri sağlam değilse
+    // DataPersistenceException fırlatılır. Yazım sırasında yarıda kalmış ama tamamlanmış bir geçici dosya
+    // en yeniyse yerine taşınır.
+    public synchronized Generation recover() {
+        List<Path> candidates = candidates();
+        if (candidates.isEmpty()) return null;
+        List<String> problems = new ArrayList<>();
+        for (Candidate c : generations(candidates, problems)) {
+            Generation g = c.generation();
+            String problem = verify(g);
+            if (problem != null) {
+                problems.add(g.file().getFileName() + ": " + problem);
+                continue;
+            }
+            if (!problems.isEmpty()) {
+                System.err.println("Recovered snapshot from " + g.file().getFileName() + ", skipped " + problems);
+            }
+            try {
+                // Taşıma arasında kesilmiş yazımda meta dosyanın yanına alınır
+                if (c.meta() != null && !c.meta().equals(sidecar(g.file()))) {
+                    Files.move(c.meta(), sidecar(g.file()), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                throw new DataPersistenceException("Failed to restore snapshot metadata for " + g.file() + ".", e);
+            }
+            if (g.file().equals(sibling(TMP_SUFFIX))) {
+                install(g.file());
+                return new Generation(file, g.generation(), g.journalSegment(), g.payloadBytes(), g.checksum(), false);
+            }
+            return g;
+        }
+        throw new DataPersistenceException("No valid snapshot for " + file + ": " + problems, null);
+    }
+
+    // Tutulan kuşaklardan herhangi birine geri dönülebilmesi için journal'da saklanması gereken ilk segment
+    public synchronized long oldestJournalSegment() {
+        long oldest = Long.MAX_VALUE;
+        for (Candidate c : generations(candidates(), new ArrayList<>())) {
+            oldest = Math.min(oldest, c.generation().journalSegment());
+        }
+        return oldest == Long.MAX_VALUE ? 0 : oldest;
+    }
+
+    // Mevcut dosyanın ve tutulan kuşakların en büyük generation numarası; bozuk dosyalarınki de sayılır
+    public synchronized long latestGeneration() {
+        long latest = 0;
+        for (Candidate c : generations(candidates(), new ArrayList<>())) {
+            latest = Math.max(latest, c.generation().generation());
+        }
+        return latest;
+    }
+
+    private void writeMeta(Path meta, Generation g) {
+        byte[] line = String.format(META_FORMAT, VERSION, g.generation(), g.journalSegment(), g.payloadBytes(),
+                g.checksum()).getBytes(StandardCharsets.US_ASCII);
+        try (FileChannel ch = FileChannel.open(meta, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(line);
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to write snapshot metadata " + meta + ".", e);
+        }
+    }
+
+    // Önce eski kuşak (dosya, sonra meta) kenara alınır, sonra yenisi (dosya, sonra meta) yerine geçer. Bu sıra
+    // sayesinde kesilen bir yazımda en fazla bir dosya meta'siz ve bir meta sahipsiz kalır.
+    private void install(Path tmp) {
+        Path meta = sidecar(file);
+        try {
+            if (Files.exists(file) || Files.exists(meta)) {
+                // Meta'sı okunamayan dosya en eski kuşak gibi kenara alınır ve ilk temizlikte silinir
+                long generation;
+                try {
+                    generation = Files.exists(meta) ? readMeta(file, meta).generation() : 0;
+                } catch (IOException | IllegalStateException e) {
+                    generation = 0;
+                }
+                Path aside = sibling("." + generation);
+                if (Files.exists(file)) {
+                    Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                if (Files.exists(meta)) {
+                    Files.move(meta, sidecar(aside), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(sidecar(tmp), meta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            prune();
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to replace snapshot " + file + ".", e);
+        }
+    }
+
+    // Eski kuşaklar generation numarasına göre silinir; mevcut dosya ile birlikte keep tane kalır
+    private void prune() throws IOException {
+        List<Path> old = numbered();
+        old.sort(Comparator.comparingLong(this::generationOf).reversed());
+        for (int i = keep - 1; i < old.size(); i++) {
+            Files.deleteIfExists(old.get(i));
+            Files.deleteIfExists(sidecar(old.get(i)));
+        }
+    }
+
+    // Yeniden adlandırmaların kalıcı olması için dizin de fsync edilir; desteklemeyen sistemlerde atlanır
+    private void syncDirectory() {
+        Path dir = file.toAbsolutePath().getParent();
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Windows'ta dizin açılamaz; orada taşıma işlemi zaten kalıcıdır
+        }
+    }
+
+    // Yeniden eskiye: en büyük generation önce; eşitlikte mevcut dosya, sonra geçici dosya. Meta'siz bir dosya
+    // için boyutu tutan sahipsiz meta'lar aday olarak eklenir; hangisinin doğru olduğunu CRC belirler.
+    private List<Candidate> generations(List<Path> candidates, List<String> problems) {
+        List<Candidate> result = new ArrayList<>();
+        List<Path> orphans = new ArrayList<>();
+        boolean anyMeta = false;
+        for (Path meta : metas()) {
+            anyMeta = true;
+            Path owner = meta.resolveSibling(meta.getFileName().toString().substring(0,
+                    meta.getFileName().toString().length() - META_SUFFIX.length()));
+            if (!Files.exists(owner)) orphans.add(meta);
+        }
+        for (Path p : candidates) {
+            Path meta = sidecar(p);
+            try {
+                if (Files.exists(meta)) {
+                    result.add(new Candidate(readMeta(p, meta), meta));
+                } else if (!anyMeta && !p.equals(sibling(TMP_SUFFIX))) {
+                    result.add(new Candidate(new Generation(p, 0, 0, Files.size(p), 0, true), null));
+                } else {
+                    int before = result.size();
+                    long size = Files.size(p);
+                    for (Path orphan : orphans) {
+                        try {
+                            Generation g = readMeta(p, orphan);
+                            if (g.payloadBytes() == size) result.add(new Candidate(g, orphan));
+                        } catch (IllegalStateException e) {
+                            // kendi dosyası için de geçersiz; aşağıda raporlanmaz
+                        }
+                    }
+                    if (result.size() == before) problems.add(p.getFileName() + ": missing " + meta.getFileName());
+                }
+            } catch (IOException | IllegalStateException e) {
+                problems.add(p.getFileName() + ": " + e.getMessage());
+            }
+        }
+        result.sort(Comparator.comparingLong((Candidate c) -> c.generation().generation()).reversed()
+                .thenComparing(c -> !c.generation().file().equals(file)));
+        return result;
+    }
+
+    private List<Path> candidates() {
+        List<Path> result = new ArrayList<>();
+        if (Files.exists(file)) result.add(file);
+        if (Files.exists(sibling(TMP_SUFFIX))) result.add(sibling(TMP_SUFFIX));
+        try {
+            result.addAll(numbered());
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to list snapshots next to " + file + ".", e);
+        }
+        return result;
+    }
+
+    private List<Path> numbered() throws IOException {
+        String prefix = file.getFileName() + ".";
+        return list(n -> n.length() > prefix.length() && n.substring(prefix.length()).chars().allMatch(Character::isDigit));
+    }
+
+    private List<Path> metas() {
+        try {
+            return list(n -> n.endsWith(META_SUFFIX));
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to list snapshots next to " + file + ".", e);
+        }
+    }
+
+    // Dosya adıyla başlayan ve kalanı filtreye uyan kardeş dosyalar
+    private List<Path> list(Predicate<String> filter) throws IOException {
+        String name = file.getFileName().toString();
+        Path dir = file.toAbsolutePath().getParent();
+        try (Stream<Path> files = Files.list(dir)) {
+            return new ArrayList<>(files.filter(f -> {
+                String n = f.getFileName().toString();
+                return n.startsWith(name) && filter.test(n);
+            }).toList());
+        } catch (NoSuchFileException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    private long generationOf(Path numbered) {
+        String n = numbered.getFileName().toString();
+        return Long.parseLong(n.substring(file.getFileName().toString().length() + 1));
+    }
+
+    private Path sibling(String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    private static Path sidecar(Path p) {
+        return p.resolveSibling(p.getFileName() + META_SUFFIX);
+    }
+
+    // p dosyasını meta'daki değerlerle tarif eder; bozuk meta IllegalStateException verir
+    static Generation readMeta(Path p, Path meta) throws IOException {
+        String line = Files.readString(meta, StandardCharsets.US_ASCII);
+        if (!line.startsWith(MAGIC) || !line.endsWith("\n")) throw new IllegalStateException("malformed metadata");
+        try {
+            String[] fields = line.trim().split(" ");
+            // "stock-snapshot", "v1", "gen=...", "journal=...", "bytes=...", "crc32c=..."
+            if (Integer.parseInt(fields[1].substring(1)) != VERSION) {
+                throw new IllegalStateException("unsupported snapshot version " + fields[1]);
+            }
+            return new Generation(p, Long.parseLong(value(fields[2], "gen")), Long.parseLong(value(fields[3], "journal")),
+                    Long.parseLong(value(fields[4], "bytes")), Long.parseLong(value(fields[5], "crc32c"), 16), false);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalStateException("malformed metadata");
+        }
+    }
+
+    private static String value(String field, String name) {
+        if (!field.startsWith(name + "=")) throw new IllegalStateException("malformed metadata");
+        return field.substring(name.length() + 1);
+    }
+
+    // Boyut meta'dakiyle aynı ve CRC tutuyorsa null, yoksa sorunun açıklaması
+    private static String verify(Generation g) {
+        if (g.legacy()) return null;
+        try (FileChannel ch = FileChannel.open(g.file(), StandardOpenOption.READ)) {
+            if (ch.size() != g.payloadBytes()) {
+                return "size " + ch.size() + " does not match metadata (" + g.payloadBytes() + ")";
+            }
+            CRC32C crc = new CRC32C();
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20);
+            long position = 0;
+            int n;
+            while ((n = ch.read(buf, position)) > 0) {
+                position += n;
+                buf.flip();
+                crc.update(buf);
+                buf.clear();
+            }
+            return crc.getValue() == g.checksum() ? null : "checksum mismatch";
+        } catch (IOException e) {
+            return e.toString();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.InsufficientStockException;
+import com.example.stockautomationsystem.model.Product;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Birden fazla kaynaktan (kasalar, toplu aktarım, API) aynı anda gelen alımları yöneten stok motoru.
+// Ayırma/onaylama/bırakma işlemleri ürün başına tek bir CAS ile yapılır; hiçbir kilit alınmaz
+// ve eldeki stoktan fazlası asla satılamaz.
+public class StockEngine {
+    private static final int PENDING = 0;
+    private static final int COMMITTED = 1;
+    private static final int RELEASED = 2;
+
+    private final InventoryRepository repository;
+
+    // Çok thread'li sayaçlarda çekişmeyi azaltmak için LongAdder (şeritlenmiş sayaç) kullanılır
+    private final LongAdder reserved = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public StockEngine(InventoryRepository repository) {
+        this.repository = repository;
+    }
+
+    // Yeterli stok yoksa InsufficientStockException fırlatır
+    public Reservation reserve(Product product, int quantity) {
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be greater than 0.");
+        try {
+            product.reserveStock(quantity);
+        } catch (InsufficientStockException e) {
+            rejected.increment();
+            throw e;
+        }
+        reserved.increment();
+        return new Reservation(product, quantity);
+    }
+
+    // Ayırma ve onaylamanın tek adımda yapıldığı kısa yol
+    public void purchase(Product product, int quantity) {
+        reserve(product, quantity).commit();
+    }
+
+    public long getReservedCount() {
+        return reserved.sum();
+    }
+
+    public long getCommittedCount() {
+        return committed.sum();
+    }
+
+    public long getReleasedCount() {
+        return released.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public final class Reservation {
+        private final Product product;
+        private final int quantity;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private Reservation(Product product, int quantity) {
+            this.product = product;
+            this.quantity = quantity;
+        }
+
+        public Product getProduct() {
+            return product;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void commit() {
+            if (!state.compareAndSet(PENDING, COMMITTED)) {
+                throw new IllegalStateException("Reservation is already " + describe());
+            }
+            product.commitReservation(quantity);
+            committed.increment();
+            repository.stockChanged(product);
+        }
+
+        // Onaylanmamış ayırmayı geri verir; zaten onaylanmış veya bırakılmışsa bir şey yapmaz
+        public boolean release() {
+            if (!state.compareAndSet(PENDING, RELEASED)) return false;
+            product.releaseReservation(quantity);
+            released.increment();
+            return true;
+        }
+
+        private String describe() {
+            return state.get() == COMMITTED ? "committed" : "released";
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.Product;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Stok olaylarını dinleyip ürün stoğu eşik değerinin altına düştüğünde uyarı üretir; tablo taranmaz.
+// Eşik önce ürün kuralına, yoksa kategori kuralına, o da yoksa varsayılan değere bakılarak bulunur.
+// Bir ürün için uyarı, stok tekrar eşiğin üstüne çıkana kadar bir kez verilir. Stok eşiğe geri çıktığında ya da
+// ürün silindiğinde dinleyicilere cleared işaretli bir uyarı daha gider; aktif uyarı sayısı böylece güncel kalır.
+public class ThresholdWatcher {
+    public record Alert(Product product, int quantity, int threshold, boolean cleared) {
+    }
+
+    // alert-rules.json dosyasının içeriği
+    public static class Rules {
+        private int defaultThreshold = 5;
+        private Map<String, Integer> categories = new HashMap<>();
+        private Map<String, Integer> products = new HashMap<>();
+
+        public int getDefaultThreshold() {
+            return defaultThreshold;
+        }
+
+        public Map<String, Integer> getCategories() {
+            return categories;
+        }
+
+        public Map<String, Integer> getProducts() {
+            return products;
+        }
+
+        public void setDefaultThreshold(int defaultThreshold) {
+            this.defaultThreshold = defaultThreshold;
+        }
+
+        public void setCategories(Map<String, Integer> categories) {
+            this.categories = categories;
+        }
+
+        public void setProducts(Map<String, Integer> products) {
+            this.products = products;
+        }
+    }
+
+    private volatile int defaultThreshold;
+    private final Map<String, Integer> categoryThresholds = new ConcurrentHashMap<>();
+    private final Map<String, Integer> productThresholds = new ConcurrentHashMap<>(); // normalize edilmiş ad
+    private final Set<Product> alerted = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<Alert>> listeners = new CopyOnWriteArrayList<>();
+
+    public ThresholdWatcher(EventBus bus, Rules rules) {
+        defaultThreshold = rules.getDefaultThreshold();
+        categoryThresholds.putAll(rules.getCategories());
+        rules.getProducts().forEach(this::setProductThreshold);
+        bus.subscribe(InventoryEvent.class, this::onEvent);
+    }
+
+    public void addListener(Consumer<Alert> listener) {
+        listeners.add(listener);
+    }
+
+    public void setDefaultThreshold(int threshold) {
+        defaultThreshold = threshold;
+    }
+
+    public void setCategoryThreshold(String category, int threshold) {
+        categoryThresholds.put(category, threshold);
+    }
+
+    public void setProductThreshold(String productName, int threshold) {
+        productThresholds.put(InventoryRepository.normalize(productName), threshold);
+    }
+
+    public int thresholdFor(Product p) {
+        Integer t = productThresholds.get(InventoryRepository.normalize(p.getName()));
+        if (t == null && p.getCategory() != null) t = categoryThresholds.get(p.getCategory());
+        return t == null ? defaultThreshold : t;
+    }
+
+    // Şu an eşiğin altında olan ürünler
+    public Set<Product> getActiveAlerts() {
+        return Set.copyOf(alerted);
+    }
+
+    // Açılışta yüklenen ürünler için bir kez çağrılır; sonrası tamamen olaylarla yürür
+    public void checkAll(Collection<Product> products) {
+        products.forEach(this::check);
+    }
+
+    private void onEvent(InventoryEvent event) {
+        if (event instanceof InventoryEvent.ProductRemoved) {
+            clear(event.product(), event.product().getStockQuantity());
+        } else {
+            check(event.product());
+        }
+    }
+
+    private void check(Product p) {
+        int quantity = p.getStockQuantity();
+        int threshold = thresholdFor(p);
+        if (quantity < threshold) {
+            if (alerted.add(p)) publish(new Alert(p, quantity, threshold, false));
+        } else {
+            clear(p, quantity);
+        }
+    }
+
+    private void clear(Product p, int quantity) {
+        if (alerted.remove(p)) publish(new Alert(p, quantity, thresholdFor(p), true));
+    }
+
+    private void publish(Alert alert) {
+        listeners.forEach(l -> l.accept(alert));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Kullanıcılar users.json'da saklanır; bellekte küçük harfe çevrilmiş ada göre hash indeksi tutulur,
+// böylece arama kullanıcı sayısından bağımsızdır. Dosya her kayıtta geçici dosya + taşıma ile yazılır.
+public class UserStore {
+    private static final String USERS_FILE = "users.json";
+
+    private final Path file;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, User> byName = new ConcurrentHashMap<>();
+
+    public UserStore(Path file) {
+        this.file = file;
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public static UserStore forDataDir(JsonService jsonService) {
+        return new UserStore(jsonService.resolve(USERS_FILE));
+    }
+
+    public synchronized void load() {
+        byName.clear();
+        if (!Files.exists(file)) return;
+        try {
+            List<User> users = mapper.readValue(file.toFile(), new TypeReference<List<User>>() {});
+            for (User u : users) byName.put(normalize(u.getUsername()), u);
+        } catch (JsonProcessingException e) {
+            throw new DataPersistenceException("Failed to read " + file + ": " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to read " + file + ".", e);
+        }
+    }
+
+    public User find(String username) {
+        return username == null ? null : byName.get(normalize(username));
+    }
+
+    // Aynı ad (büyük/küçük harf farkı gözetmeden) varsa eklemez ve false döner
+    public boolean add(User user) {
+        return byName.putIfAbsent(normalize(user.getUsername()), user) == null;
+    }
+
+    public int size() {
+        return byName.size();
+    }
+
+    public Collection<User> findAll() {
+        return byName.values();
+    }
+
+    public synchronized void save() {
+        List<User> users = new ArrayList<>(byName.values());
+        users.sort(Comparator.comparing(User::getUsername, String.CASE_INSENSITIVE_ORDER));
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            mapper.writeValue(tmp.toFile(), users);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new DataPersistenceException("Failed to save users to " + file + ".", e);
+        }
+    }
+
+    public static String normalize(String username) {
+        return InventoryRepository.normalize(username);
+    }
+}
@@ -0,0 +1,19 @@
+module com.example.stockautomationsystem.core {
+    requires com.fasterxml.jackson.databind;
+    requires jdk.httpserver;
+    requires java.net.http;
+    requires java.management;
+    requires jdk.jfr;
+
+    // model Jackson tarafından yansıma ile okunur
+    opens com.example.stockautomationsystem.model;
+    opens com.example.stockautomationsystem.service to com.fasterxml.jackson.databind;
+    opens com.example.stockautomationsystem.api to com.fasterxml.jackson.databind;
+    opens com.example.stockautomationsystem.metrics to com.fasterxml.jackson.databind;
+    exports com.example.stockautomationsystem.exception;
+    exports com.example.stockautomationsystem.model;
+    exports com.example.stockautomationsystem.service;
+    exports com.example.stockautomationsystem.cli;
+    exports com.example.stockautomationsystem.api;
+    exports com.example.stockautomationsystem.metrics;
+}
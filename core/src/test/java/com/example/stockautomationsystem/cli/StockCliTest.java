@@ -0,0 +1,74 @@
+package com.example.stockautomationsystem.cli;
+
+import com.example.stockautomationsystem.service.InventoryService;
+import com.example.stockautomationsystem.service.JsonService;
+import com.example.stockautomationsystem.service.ThresholdWatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Komut satırı aracı JavaFX olmadan, arayüzle aynı InventoryService üzerinden çalışır
+class StockCliTest {
+    @TempDir
+    Path dataDir;
+
+    // Hatalı satırlar raporlanıp atlanır, diğerleri uygulanır ve servis yeniden açıldığında diskten okunur
+    @Test
+    void batchAppliesValidLinesAndReportsFailures() throws IOException {
+        Path batch = dataDir.resolve("nightly.txt");
+        Files.writeString(batch, """
+                # gece işi
+                add "Office Chair" Mobilya 120.5 10
+                add Kalem Kırtasiye 2.5 40
+                buy "Office Chair" 3
+                buy Kalem 100
+                delete Silgi
+                """);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        boolean ok;
+        try (InventoryService inventory = open()) {
+            StockCli cli = new StockCli(inventory, "gece", print(out), print(err));
+            ok = cli.run(List.of("batch", batch.toString()));
+        }
+
+        assertFalse(ok);
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("Batch finished: 3 succeeded, 2 failed"), output);
+        String errors = err.toString(StandardCharsets.UTF_8);
+        assertTrue(errors.contains("at line 5: buy Kalem 100"), errors);
+        assertTrue(errors.contains("No product named Silgi"), errors);
+
+        try (InventoryService inventory = open()) {
+            assertEquals(7, inventory.getRepository().findByName("office chair").getStockQuantity());
+            assertEquals(40, inventory.getRepository().findByName("Kalem").getStockQuantity());
+        }
+    }
+
+    @Test
+    void tokenizeKeepsQuotedSpaces() {
+        assertEquals(List.of("buy", "Office Chair", "2"), StockCli.tokenize("buy  \"Office Chair\" 2"));
+    }
+
+    private InventoryService open() {
+        InventoryService inventory = new InventoryService(new JsonService(dataDir, false, 3), new ThresholdWatcher.Rules());
+        inventory.open(null, e -> { });
+        return inventory;
+    }
+
+    private static PrintStream print(ByteArrayOutputStream buffer) {
+        return new PrintStream(buffer, true, StandardCharsets.UTF_8);
+    }
+}
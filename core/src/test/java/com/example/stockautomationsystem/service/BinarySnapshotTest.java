@@ -0,0 +1,91 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinarySnapshotTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void streamsEveryRowInChunks() throws IOException {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            products.add(new Product("Ürün " + i, i % 3 == 0 ? null : "Kategori " + (i % 7), i * 0.5, i));
+        }
+        Path file = dir.resolve("inventory.snap");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            BinarySnapshot.writeTo(out, products);
+        }
+
+        List<Integer> sizes = new ArrayList<>();
+        List<Product> read = new ArrayList<>();
+        BinarySnapshot.open(file).stream(1000, chunk -> {
+            sizes.add(chunk.size());
+            // Aynı satır tekrar okunduğunda aynı ürün döner
+            assertSame(chunk.get(0), chunk.get(0));
+            read.addAll(chunk);
+        }, null);
+
+        assertEquals(List.of(1000, 1000, 500), sizes);
+        assertEquals(products.size(), read.size());
+        for (int i = 0; i < products.size(); i++) {
+            Product expected = products.get(i);
+            Product actual = read.get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getCategory(), actual.getCategory());
+            assertEquals(expected.getPrice(), actual.getPrice());
+            assertEquals(expected.getStockQuantity(), actual.getStockQuantity());
+        }
+        assertNull(read.get(0).getCategory());
+    }
+
+    // Format değiştirildiğinde ilk açılış diğer formatın snapshot'ından devam eder; JSON dışa/içe aktarım
+    // ikili formattayken de çalışır
+    @Test
+    void switchesFormatsAndKeepsJsonExport() {
+        List<Product> products = List.of(new Product("Kalem", "Kırtasiye", 2.5, 30),
+                new Product("Bardak", null, 15.0, 4));
+        new JsonService(dir, false, 3).saveData(products);
+
+        JsonService binary = new JsonService(dir, true, 3);
+        List<Product> fromJson = binary.loadData();
+        assertProducts(products, fromJson);
+        fromJson.get(0).setStockQuantity(29);
+        binary.saveData(fromJson);
+        assertTrue(Files.exists(dir.resolve("inventory.snap")));
+
+        JsonService json = new JsonService(dir, false, 3);
+        List<Product> fromBinary = json.loadData();
+        assertEquals(29, fromBinary.get(0).getStockQuantity());
+
+        Path export = dir.resolve("export.json");
+        binary.exportData(export.toFile(), fromBinary);
+        List<Product> imported = new ArrayList<>();
+        binary.importData(export.toFile(), 1, imported::addAll, null);
+        assertProducts(fromBinary, imported);
+    }
+
+    private static void assertProducts(List<Product> expected, List<Product> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getCategory(), actual.get(i).getCategory());
+            assertEquals(expected.get(i).getPrice(), actual.get(i).getPrice());
+            assertEquals(expected.get(i).getStockQuantity(), actual.get(i).getStockQuantity());
+        }
+    }
+}
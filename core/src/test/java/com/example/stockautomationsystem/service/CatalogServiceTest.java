@@ -0,0 +1,43 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogServiceTest {
+    @TempDir
+    Path dir;
+
+    // Eksik sütunlu başlık ham IllegalArgumentException yerine dosya adı ve satırla raporlanmalı
+    @Test
+    void headerWithoutRequiredColumnsReportsFileAndLine() throws IOException {
+        Path file = dir.resolve("katalog.csv");
+        Files.writeString(file, "# yorum\nname,category\nKalem,Kırtasiye\n");
+
+        DataPersistenceException e = assertThrows(DataPersistenceException.class,
+                () -> new CatalogService(new InventoryRepository()).importFile(file, null));
+        assertTrue(e.getMessage().contains("katalog.csv at line 2"), e.getMessage());
+    }
+
+    // Snapshot dosyası düz JSON olduğundan doğrudan içe aktarılabilir
+    @Test
+    void importsSnapshotWrittenByJsonService() throws Exception {
+        JsonService json = new JsonService(dir, false, 3);
+        InventoryRepository repository = new InventoryRepository();
+        json.saveData(List.of(new Product("Kalem", "Kırtasiye", 2.5, 10)));
+
+        CatalogService.ImportResult result = new CatalogService(repository).importFile(dir.resolve("inventory.json"), null);
+        assertEquals(1, result.added());
+        assertEquals(0, result.rejected());
+    }
+}
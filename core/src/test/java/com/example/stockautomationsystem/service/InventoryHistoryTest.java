@@ -0,0 +1,190 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.LogEntry;
+import com.example.stockautomationsystem.model.Product;
+import com.example.stockautomationsystem.model.ProductState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Geçmiş bir andaki envanterin checkpoint ve log kayıtlarından yeniden kurulması
+class InventoryHistoryTest {
+    @TempDir
+    Path dataDir;
+
+    private LogStore logs;
+    private List<Product> products;
+    private long base;
+
+    @BeforeEach
+    void setUp() {
+        logs = new LogStore(new JsonService(dataDir, false, 3), dataDir.resolve("logs"), 1024 * 1024, Long.MAX_VALUE);
+        logs.open();
+        products = new ArrayList<>(List.of(new Product("Kalem", "Kırtasiye", 2.5, 10)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        logs.close();
+    }
+
+    @Test
+    void replaysChangesUpToRequestedTime() {
+        InventoryHistory history = open();
+        log(history, base + 1000, "Kalem", 10, 8);
+        log(history, base + 2000, "Kalem", 8, 5);
+
+        assertEquals(10, history.productAt("Kalem", base).stock());
+        assertEquals(8, history.productAt("Kalem", base + 1500).stock());
+        assertEquals(5, history.at(base + 2500).product("Kalem").stock());
+        assertThrows(IllegalArgumentException.class, () -> history.at(base - 60_000));
+    }
+
+    @Test
+    void addAndDeleteAreReplayed() {
+        InventoryHistory history = open();
+        ProductState notebook = new ProductState("Defter", "Kırtasiye", 12.0, 20);
+        append(history, entry(base + 1000, LogEntry.Action.ADD, "Defter", null, notebook));
+        append(history, entry(base + 2000, LogEntry.Action.DELETE, "Defter", notebook, null));
+
+        assertNull(history.productAt("Defter", base + 500));
+        assertEquals(notebook, history.productAt("Defter", base + 1500));
+        assertNull(history.productAt("Defter", base + 2500));
+        assertEquals(1, history.at(base + 2500).products().size());
+    }
+
+    // Sıra log konumundan gelir: saat geri alınsa da sonra yazılan kayıt geçerli olur
+    @Test
+    void followsLogOrderWhenClockMovesBackwards() {
+        InventoryHistory history = open();
+        log(history, base + 3000, "Kalem", 10, 7);
+        log(history, base + 2500, "Kalem", 7, 4);
+
+        assertEquals(4, history.productAt("Kalem", base + 5000).stock());
+    }
+
+    @Test
+    void checkpointWithoutNewEntriesReplacesPrevious() {
+        InventoryHistory history = open();
+        history.checkpoint();
+        history.checkpoint();
+        assertEquals(1, history.getCheckpoints().size());
+
+        log(history, base + 1000, "Kalem", 10, 9);
+        history.checkpoint();
+        assertEquals(2, history.getCheckpoints().size());
+    }
+
+    // Yeniden başlatmadan sonra mevcut checkpoint'ler kullanılır ve aralıklar log deposundan okunur
+    @Test
+    void coldReadAfterRestartMatchesLiveHistory() {
+        InventoryHistory history = open();
+        log(history, base + 1000, "Kalem", 10, 8);
+        products.set(0, new Product("Kalem", "Kırtasiye", 2.5, 8));
+        history.logged(List.of(), true);
+        log(history, base + 2000, "Kalem", 8, 3);
+
+        InventoryHistory restarted = new InventoryHistory(dataDir.resolve("history"), 1000, 10, 1000);
+        restarted.open(logs, () -> {
+            throw new AssertionError("existing checkpoints must be reused");
+        });
+        assertEquals(2, restarted.getCheckpoints().size());
+        for (long t : new long[]{base, base + 1500, base + 2500}) {
+            assertEquals(history.productAt("Kalem", t), restarted.productAt("Kalem", t));
+        }
+        assertEquals(3, restarted.productAt("Kalem", base + 2500).stock());
+    }
+
+    // Eş zamanlı siparişlerde log sırası ile kayıtlardaki stok değerleri uyuşmalı: aynı ürünün sonraki kaydı
+    // daha yüksek (eski) bir stok taşımamalı ve geçmişin son hali bellekteki son stokla aynı olmalı
+    @Test
+    void concurrentOrdersKeepHistoryInLogOrder() throws Exception {
+        JsonService json = new JsonService(dataDir, false, 3);
+        InventoryJournal journal = new InventoryJournal(json, dataDir.resolve("inventory-journal"),
+                InventoryJournal.FsyncPolicy.GROUPED, 32, 200, 4L * 1024 * 1024, Integer.MAX_VALUE);
+        journal.open();
+        InventoryRepository repository = new InventoryRepository();
+        List<Product> hot = List.of(new Product("Kalem", "Kırtasiye", 2.5, 100_000),
+                new Product("Defter", "Kırtasiye", 12.0, 100_000));
+        repository.loadAll(hot);
+        PersistenceExecutor persistence = new PersistenceExecutor(json, journal, logs, repository::findAll, 0);
+        InventoryHistory history = new InventoryHistory(dataDir.resolve("history"), 1000, 10, 100_000);
+        history.open(logs, repository::findAll);
+        persistence.addLogListener(history);
+        OrderService orders = new OrderService(repository, new StockEngine(repository), persistence,
+                new SalesAnalytics(7));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 500; i++) {
+                    Product p = hot.get(random.nextInt(hot.size()));
+                    orders.placeOrder("test", List.of(new OrderService.OrderLine(p, 1 + random.nextInt(3))));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+        persistence.flush().join();
+
+        Map<String, Integer> last = new HashMap<>();
+        for (LogEntry e : logs.readRange(0, logs.position())) {
+            int stock = e.getAfter().stock();
+            Integer previous = last.put(e.getProduct(), stock);
+            assertTrue(previous == null || stock <= previous, e.getProduct() + " went from " + previous + " to " + stock);
+            assertEquals(e.getQuantity(), e.getBefore().stock() - stock);
+        }
+        long end = System.currentTimeMillis() + 1000;
+        for (Product p : hot) {
+            assertEquals(p.getStockQuantity(), last.get(p.getName()));
+            assertEquals(p.getStockQuantity(), history.productAt(p.getName(), end).stock());
+        }
+        persistence.close();
+    }
+
+    private InventoryHistory open() {
+        InventoryHistory history = new InventoryHistory(dataDir.resolve("history"), 1000, 10, 1000);
+        history.open(logs, () -> products);
+        // İlk checkpoint'ten sonraki an; sorgular buna göre seçilir
+        base = System.currentTimeMillis();
+        return history;
+    }
+
+    private void log(InventoryHistory history, long timestamp, String name, int before, int after) {
+        ProductState state = new ProductState(name, "Kırtasiye", 2.5, before);
+        append(history, entry(timestamp, LogEntry.Action.PURCHASE, name, state, state.withStock(after)));
+    }
+
+    // PersistenceExecutor'daki gibi: önce log deposuna eklenir, sonra dinleyiciye bildirilir
+    private void append(InventoryHistory history, LogEntry entry) {
+        logs.append(entry);
+        history.logged(List.of(entry), false);
+    }
+
+    private static LogEntry entry(long timestamp, LogEntry.Action action, String name,
+                                  ProductState before, ProductState after) {
+        LogEntry e = new LogEntry("test", action, name, 1).withChange(before, after);
+        e.setTimestamp(timestamp);
+        return e;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Çökme sonrası kurtarma: journal kapatılmadan bırakılır ve aynı dizinden yeniden açılır
+class InventoryJournalTest {
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void replaysRecordsWrittenBeforeCrash() {
+        InventoryJournal journal = open();
+        journal.open();
+        writeThreeRecords(journal);
+
+        Map<String, Product> recovered = byName(open().open());
+        assertEquals(2, recovered.size());
+        assertEquals(5, recovered.get("Kalem").getStockQuantity());
+        assertEquals(20, recovered.get("Defter").getStockQuantity());
+    }
+
+    @Test
+    void dropsTornTailOfLastSegment() throws IOException {
+        InventoryJournal journal = open();
+        journal.open();
+        writeThreeRecords(journal);
+        Path segment = lastSegment();
+        long intact = Files.size(segment);
+        Files.writeString(segment, "{\"seq\":4,\"op\":\"PUT\",\"key\":\"Sil", StandardOpenOption.APPEND);
+
+        InventoryJournal reopened = open();
+        assertEquals(2, reopened.open().size());
+        assertEquals(intact, Files.size(segment));
+
+        // Kesilen kuyruğun yerine yazılan kayıt bir sonraki açılışta okunur
+        reopened.append(JournalRecord.stock("Defter", 7));
+        assertEquals(7, byName(open().open()).get("Defter").getStockQuantity());
+    }
+
+    @Test
+    void corruptRecordBeforeValidOnesFailsRecovery() throws IOException {
+        InventoryJournal journal = open();
+        journal.open();
+        writeThreeRecords(journal);
+        Path segment = lastSegment();
+        List<String> lines = Files.readAllLines(segment, StandardCharsets.UTF_8);
+        lines.add(1, "{bozuk kayit");
+        Files.write(segment, lines, StandardCharsets.UTF_8);
+        long size = Files.size(segment);
+
+        DataPersistenceException e = assertThrows(DataPersistenceException.class, () -> open().open());
+        assertTrue(e.getMessage().contains(segment.getFileName().toString()), e.getMessage());
+        // Sonraki geçerli kayıtlar kesilip atılmamalı
+        assertEquals(size, Files.size(segment));
+    }
+
+    @Test
+    void backgroundCompactionFailureFailsNextFlush() throws Exception {
+        InventoryJournal journal = open();
+        journal.open();
+        writeThreeRecords(journal);
+        // Snapshot'ın geçici dosyası yerine dizin olduğundan arka plandaki yazım başarısız olur
+        Path tmp = dataDir.resolve("inventory.json.tmp");
+        Files.createDirectory(tmp);
+        journal.compact(List.of(new Product("Kalem", "Kırtasiye", 2.5, 5)));
+
+        DataPersistenceException failure = null;
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (failure == null && System.nanoTime() < deadline) {
+            try {
+                journal.flush();
+                Thread.sleep(10);
+            } catch (DataPersistenceException e) {
+                failure = e;
+            }
+        }
+        assertNotNull(failure, "compaction failure was not reported");
+
+        // Segmentler silinmediği için veri kaybı yoktur; hata bir kez bildirilir ve yazım devam eder
+        Files.delete(tmp);
+        journal.append(JournalRecord.stock("Kalem", 3));
+        assertEquals(3, byName(open().open()).get("Kalem").getStockQuantity());
+    }
+
+    private InventoryJournal open() {
+        JsonService json = new JsonService(dataDir, false, 3);
+        return new InventoryJournal(json, dataDir.resolve("inventory-journal"), InventoryJournal.FsyncPolicy.EVERY_WRITE,
+                1, 200, 4L * 1024 * 1024, 10_000);
+    }
+
+    private static void writeThreeRecords(InventoryJournal journal) {
+        Product pencil = new Product("Kalem", "Kırtasiye", 2.5, 10);
+        journal.append(JournalRecord.put("Kalem", pencil));
+        journal.append(JournalRecord.put("Defter", new Product("Defter", "Kırtasiye", 12.0, 20)));
+        journal.append(JournalRecord.stock("Kalem", 5));
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(dataDir.resolve("inventory-journal"))) {
+            return files.sorted().reduce((a, b) -> b).orElseThrow();
+        }
+    }
+
+    private static Map<String, Product> byName(List<Product> products) {
+        return products.stream().collect(Collectors.toMap(Product::getName, Function.identity()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.InvalidProductException;
+import com.example.stockautomationsystem.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryRepositoryTest {
+    // "Aa" ve "BB" aynı hashCode'a, dolayısıyla aynı ürün koduna sahiptir; ikisi de geçerli üründür
+    @Test
+    void productsWithCollidingCodesAreBothKept() throws Exception {
+        InventoryRepository repository = new InventoryRepository();
+        Product aa = new Product("Aa", "Test", 1.0, 1);
+        Product bb = new Product("BB", "Test", 2.0, 2);
+        assertEquals(aa.generateProductCode(), bb.generateProductCode());
+
+        repository.add(aa);
+        repository.add(bb);
+        assertEquals(2, repository.size());
+        assertSame(bb, repository.findByName("bb"));
+        assertEquals(List.of(aa, bb), repository.findByCode(aa.generateProductCode()));
+
+        assertTrue(repository.remove(aa));
+        assertEquals(List.of(bb), repository.findByCode(bb.generateProductCode()));
+        assertSame(bb, repository.findByName("BB"));
+    }
+
+    // Kategori ve stok indeksleri güncelleme, satış ve silmeden sonra ürünün son halini gösterir
+    @Test
+    void indexesFollowUpdatesSalesAndRemovals() throws Exception {
+        InventoryRepository repository = new InventoryRepository();
+        Product kalem = new Product("Kalem", "Kırtasiye", 2.5, 30);
+        Product defter = new Product("Defter", "Kırtasiye", 10.0, 8);
+        Product bardak = new Product("Bardak", "Mutfak", 15.0, 4);
+        repository.loadAll(List.of(kalem, defter, bardak));
+
+        assertEquals(List.of(bardak, defter), repository.findLowStock(10));
+        assertEquals(2, repository.findByCategory("Kırtasiye").size());
+
+        repository.update(defter, "Ajanda", "Ofis", 12.0, 8);
+        assertNull(repository.findByName("Defter"));
+        assertSame(defter, repository.findByName("ajanda"));
+        assertEquals(List.of(kalem), repository.findByCategory("Kırtasiye"));
+        assertEquals(List.of(defter), repository.findByCategory("Ofis"));
+
+        // Satış ürünü kilitsiz olarak işaretler; düşük stok sorgusu bekleyen değişiklikleri önce indekse işler
+        repository.reduceStock(kalem, 27);
+        assertEquals(List.of(kalem, bardak, defter), repository.findLowStock(10));
+
+        assertTrue(repository.remove(bardak));
+        assertEquals(List.of(kalem, defter), repository.findLowStock(10));
+        assertEquals(List.of(), repository.findByCategory("Mutfak"));
+        assertEquals(List.of(), repository.findByCode(bardak.generateProductCode()));
+    }
+
+    @Test
+    void sameNameIgnoringCaseIsRejected() throws Exception {
+        InventoryRepository repository = new InventoryRepository();
+        repository.add(new Product("Kalem", "Kırtasiye", 2.5, 10));
+
+        assertThrows(InvalidProductException.class, () -> repository.add(new Product(" kalem", "Kırtasiye", 3.0, 1)));
+        assertEquals(1, repository.size());
+    }
+}
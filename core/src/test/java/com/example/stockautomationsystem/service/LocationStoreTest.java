@@ -0,0 +1,98 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.InsufficientStockException;
+import com.example.stockautomationsystem.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Konumlar arası transferler sürerken toplamlar taşınan birimleri ne kaybetmeli ne de iki kez saymalı
+class LocationStoreTest {
+    private static final int THREADS = 8;
+    private static final int TRANSFERS = 20_000;
+    private static final List<String> LOCATIONS = List.of(LocationStore.MAIN, "Depo", "Mağaza");
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void totalsStayConstantDuringConcurrentTransfers() throws Exception {
+        InventoryRepository repository = new InventoryRepository();
+        Product product = new Product("Kalem", "Kırtasiye", 2.5, 300);
+        repository.add(product);
+        LocationStore store = new LocationStore(repository, dataDir.resolve("locations.json"));
+        repository.addListener(store);
+        store.addLocation("Depo");
+        store.addLocation("Mağaza");
+        store.receive("Depo", product, 300);
+        store.receive("Mağaza", product, 300);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean inconsistent = new AtomicBoolean();
+        Thread observer = new Thread(() -> {
+            while (running.get()) {
+                if (store.total(product) != 900) inconsistent.set(true);
+                long units = store.summaries().stream().mapToLong(LocationStore.LocationSummary::units).sum();
+                if (units != 900) inconsistent.set(true);
+            }
+        }, "observer");
+        observer.start();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS; i++) {
+                    int from = random.nextInt(LOCATIONS.size());
+                    int to = (from + 1 + random.nextInt(LOCATIONS.size() - 1)) % LOCATIONS.size();
+                    try {
+                        store.transfer(product, LOCATIONS.get(from), LOCATIONS.get(to), 1 + random.nextInt(10));
+                    } catch (InsufficientStockException ignored) {
+                        // kaynak boşalmış olabilir
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+        running.set(false);
+        observer.join();
+
+        assertFalse(inconsistent.get(), "a transfer was observed half-applied");
+        int sum = 0;
+        for (String location : LOCATIONS) sum += store.stockAt(location, product);
+        assertEquals(900, sum);
+    }
+
+    @Test
+    void shortSourceChangesNothing() throws Exception {
+        InventoryRepository repository = new InventoryRepository();
+        Product product = new Product("Defter", "Kırtasiye", 12.0, 5);
+        repository.add(product);
+        LocationStore store = new LocationStore(repository, dataDir.resolve("locations.json"));
+        store.addLocation("Depo");
+
+        assertThrows(InsufficientStockException.class, () -> store.transfer(product, "Depo", LocationStore.MAIN, 1));
+        assertEquals(5, store.total(product));
+        assertEquals(0, store.stockAt("Depo", product));
+    }
+}
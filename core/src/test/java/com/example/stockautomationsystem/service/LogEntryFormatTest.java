@@ -0,0 +1,71 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.LogEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LogEntryFormatTest {
+    @TempDir
+    Path dataDir;
+
+    // Eski logs.json: metin zaman damgası, serbest işlem adı ve hazır açıklama
+    @Test
+    void readsLegacyLogsFile() throws IOException {
+        Files.writeString(dataDir.resolve("logs.json"), """
+                [ {
+                  "timestamp" : "2025-12-20 01:59:25",
+                  "user" : "admin",
+                  "action" : "ADD",
+                  "details" : "Added: Table"
+                }, {
+                  "timestamp" : "2025-12-20 02:03:58",
+                  "user" : "admin",
+                  "action" : "LOGIN",
+                  "details" : "Logged in"
+                } ]
+                """);
+
+        List<LogEntry> logs = new JsonService(dataDir, false, 3).loadLogs();
+
+        assertEquals(2, logs.size());
+        long expected = LocalDateTime.of(2025, 12, 20, 1, 59, 25).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        assertEquals(expected, logs.get(0).getTimestamp());
+        assertEquals("2025-12-20 01:59:25", logs.get(0).getFormattedTimestamp());
+        assertEquals(LogEntry.Action.ADD, logs.get(0).getAction());
+        assertEquals("Added: Table", logs.get(0).getDetails());
+        assertEquals(LogEntry.Action.OTHER, logs.get(1).getAction());
+        assertEquals("Logged in", logs.get(1).getDetails());
+        // Kullanıcı adı intern edilir; aynı kullanıcının kayıtları tek String'i paylaşır
+        assertSame(logs.get(0).getUser(), logs.get(1).getUser());
+    }
+
+    // Yeni kayıtlar sayı zaman damgası ve ayrı alanlarla yazılır; açıklama bu alanlardan üretilir
+    @Test
+    void writesTypedFieldsInsteadOfProse() throws IOException {
+        JsonService json = new JsonService(dataDir, false, 3);
+        LogEntry purchase = new LogEntry("kasa", LogEntry.Action.PURCHASE, "Kalem", 3);
+        json.saveLogs(List.of(purchase));
+
+        String file = Files.readString(dataDir.resolve("logs.json"));
+        assertFalse(file.contains("details"), file);
+        assertFalse(file.contains("\"timestamp\" : \""), file);
+
+        LogEntry read = json.loadLogs().get(0);
+        assertEquals(purchase.getTimestamp(), read.getTimestamp());
+        assertEquals(LogEntry.Action.PURCHASE, read.getAction());
+        assertEquals("Kalem", read.getProduct());
+        assertEquals(3, read.getQuantity());
+        assertEquals("Bought 3 units of Kalem", read.getDetails());
+    }
+}
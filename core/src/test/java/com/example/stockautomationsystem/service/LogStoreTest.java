@@ -0,0 +1,93 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.model.LogEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Log deposu kapatılmadan bırakılır (çökme) ve aynı dizinden yeniden açılır
+class LogStoreTest {
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void dropsTornLastLineOfActiveSegment() throws IOException {
+        LogStore store = open(1024 * 1024);
+        for (int i = 1; i <= 3; i++) store.append(new LogEntry("admin", LogEntry.Action.PURCHASE, "Kalem", i));
+        store.flush();
+        Path segment = lastSegment();
+        long intact = Files.size(segment);
+        Files.writeString(segment, "{\"timestamp\":1,\"user\":\"adm", StandardOpenOption.APPEND);
+
+        LogStore reopened = open(1024 * 1024);
+        assertEquals(3, reopened.size());
+        assertEquals(intact, Files.size(segment));
+
+        // Kesilen satırın yerine yazılan kayıt bir sonraki açılışta okunur
+        reopened.append(new LogEntry("admin", LogEntry.Action.DELETE, "Defter", 0));
+        reopened.close();
+        List<LogEntry> newest = open(1024 * 1024).readNewest(0, 10);
+        assertEquals(4, newest.size());
+        assertEquals("Defter", newest.get(0).getProduct());
+    }
+
+    @Test
+    void corruptLineBeforeValidOnesFailsOpen() throws IOException {
+        LogStore store = open(1024 * 1024);
+        for (int i = 1; i <= 3; i++) store.append(new LogEntry("admin", LogEntry.Action.PURCHASE, "Kalem", i));
+        store.close();
+        Path segment = lastSegment();
+        List<String> lines = Files.readAllLines(segment, StandardCharsets.UTF_8);
+        lines.add(1, "{bozuk kayit");
+        Files.write(segment, lines, StandardCharsets.UTF_8);
+        long size = Files.size(segment);
+
+        DataPersistenceException e = assertThrows(DataPersistenceException.class, () -> open(1024 * 1024));
+        assertTrue(e.getMessage().contains(segment.getFileName().toString()), e.getMessage());
+        assertEquals(size, Files.size(segment));
+    }
+
+    // Küçük segmentlerle birden fazla segmente yayılan filtreli sorgu en yeniden eskiye sayfalanır
+    @Test
+    void queryPagesNewestFirstAcrossSegments() {
+        LogStore store = open(200);
+        for (int i = 0; i < 30; i++) {
+            LogEntry.Action action = i % 3 == 0 ? LogEntry.Action.DELETE : LogEntry.Action.PURCHASE;
+            store.append(new LogEntry("admin", action, "Urun" + i, i));
+        }
+        assertTrue(store.segments().size() > 2);
+
+        LogQuery query = store.query(new LogQuery.Filter(LogEntry.Action.DELETE, null, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(10, query.size());
+        List<LogEntry> first = query.page(0, 4);
+        assertEquals(List.of("Urun27", "Urun24", "Urun21", "Urun18"), first.stream().map(LogEntry::getProduct).toList());
+        List<LogEntry> rest = query.page(8, 4);
+        assertEquals(List.of("Urun3", "Urun0"), rest.stream().map(LogEntry::getProduct).toList());
+        store.close();
+    }
+
+    private LogStore open(long segmentBytes) {
+        LogStore store = new LogStore(new JsonService(dataDir, false, 3), dataDir.resolve("logs"), segmentBytes, Long.MAX_VALUE);
+        store.open();
+        return store;
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(dataDir.resolve("logs"))) {
+            return files.filter(f -> f.getFileName().toString().startsWith("segment-")).sorted()
+                    .reduce((a, b) -> b).orElseThrow();
+        }
+    }
+}
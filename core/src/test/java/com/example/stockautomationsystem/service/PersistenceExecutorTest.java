@@ -0,0 +1,140 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistenceExecutorTest {
+    private static final int THREADS = 8;
+
+    @TempDir
+    Path dataDir;
+
+    // Kapanma sırasında kabul edilen her gönderim yazılmalı ve future'ı tamamlanmalı; kapanmadan sonra
+    // gelenler reddedilmeli, hiçbiri askıda kalmamalı
+    @Test
+    void closeCompletesEveryAcceptedSubmission() throws Exception {
+        JsonService json = new JsonService(dataDir, false, 3);
+        InventoryJournal journal = journal(json);
+        journal.open();
+        LogStore logs = new LogStore(json, dataDir.resolve("logs"), 1024 * 1024, Long.MAX_VALUE);
+        logs.open();
+        PersistenceExecutor executor = new PersistenceExecutor(json, journal, logs, List::of, 1);
+
+        ConcurrentLinkedQueue<CompletableFuture<Void>> accepted = new ConcurrentLinkedQueue<>();
+        CountDownLatch started = new CountDownLatch(THREADS);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; ; i++) {
+                    Product p = new Product("P" + id + "-" + i, "Test", 1.0, i);
+                    try {
+                        accepted.add(executor.submit(JournalRecord.put(p.getName(), p), null));
+                    } catch (IllegalStateException closed) {
+                        return;
+                    }
+                }
+            });
+            thread.start();
+            submitters.add(thread);
+        }
+        started.await();
+        Thread.sleep(50);
+        executor.close();
+        for (Thread thread : submitters) thread.join();
+
+        assertFalse(accepted.isEmpty());
+        for (CompletableFuture<Void> f : accepted) {
+            assertTrue(f.isDone(), "accepted submission was never processed");
+            assertFalse(f.isCompletedExceptionally());
+        }
+        assertThrows(IllegalStateException.class, executor::flush);
+        assertEquals(accepted.size(), journal(json).open().size());
+    }
+
+    // Yazıcı thread'i bir Error ile düşerse işlenen ve kuyrukta bekleyen future'lar o hatayla tamamlanmalı,
+    // sonraki gönderimler reddedilmeli ve close askıda kalmamalı
+    @Test
+    void writerErrorFailsPendingAndLaterSubmissions() throws Exception {
+        JsonService json = new JsonService(dataDir, false, 3);
+        LogStore logs = new LogStore(json, dataDir.resolve("logs"), 1024 * 1024, Long.MAX_VALUE);
+        logs.open();
+        OutOfMemoryError error = new OutOfMemoryError("test");
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Snapshot modu: her yazım state'i okur
+        PersistenceExecutor executor = new PersistenceExecutor(json, null, logs, () -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw error;
+        }, 0);
+
+        Product p = new Product("Kalem", "Test", 1.0, 1);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(executor.submit(JournalRecord.put(p.getName(), p), null));
+        writing.await();
+        futures.add(executor.submitDurable(List.of(JournalRecord.stockOf(p)), List.of()));
+        futures.add(executor.flush());
+        release.countDown();
+
+        for (CompletableFuture<Void> f : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> f.get(10, TimeUnit.SECONDS));
+            assertSame(error, e.getCause());
+        }
+        IllegalStateException rejected = assertThrows(IllegalStateException.class, executor::flush);
+        assertSame(error, rejected.getCause());
+        executor.close();
+    }
+
+    // Yazılamayan grubun değişikliği bellekte kalır; sonraki başarılı grup tüm durumu yeniden yazar
+    @Test
+    void failedBatchIsRewrittenByNextBatch() throws Exception {
+        JsonService json = new JsonService(dataDir, false, 3);
+        InventoryJournal journal = journal(json);
+        journal.open();
+        LogStore logs = new LogStore(json, dataDir.resolve("logs"), 1024 * 1024, Long.MAX_VALUE);
+        logs.open();
+        Product kalem = new Product("Kalem", "Test", 1.0, 7);
+        Product defter = new Product("Defter", "Test", 2.0, 3);
+        PersistenceExecutor executor = new PersistenceExecutor(json, journal, logs, () -> List.of(kalem, defter), 0);
+
+        JournalRecord broken = JournalRecord.locationStockOf("Depo", kalem, () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<Void> failed = executor.submit(List.of(JournalRecord.put(kalem.getName(), kalem), broken), List.of());
+        assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+
+        executor.submit(JournalRecord.put(defter.getName(), defter), null).get(10, TimeUnit.SECONDS);
+        executor.close();
+
+        List<Product> reopened = journal(json).open();
+        assertEquals(List.of("Defter", "Kalem"), reopened.stream().map(Product::getName).sorted().toList());
+        assertEquals(7, reopened.stream().filter(r -> r.getName().equals("Kalem")).findFirst().orElseThrow().getStockQuantity());
+    }
+
+    private InventoryJournal journal(JsonService json) {
+        return new InventoryJournal(json, dataDir.resolve("inventory-journal"), InventoryJournal.FsyncPolicy.GROUPED,
+                32, 200, 4L * 1024 * 1024, Integer.MAX_VALUE);
+    }
+}
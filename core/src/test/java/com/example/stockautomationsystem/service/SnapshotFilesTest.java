@@ -0,0 +1,99 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.DataPersistenceException;
+import com.example.stockautomationsystem.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Kuşaklı snapshot dosyaları: .meta yan dosyası, bozuk kuşaktan geri dönüş ve yarım kalmış yer değiştirme
+class SnapshotFilesTest {
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void snapshotStaysPlainJson() throws IOException {
+        new JsonService(dataDir, false, 3).saveData(List.of(new Product("Kalem", "Kırtasiye", 2.5, 10)));
+
+        Path file = dataDir.resolve("inventory.json");
+        Product[] products = new ObjectMapper().readValue(file.toFile(), Product[].class);
+        assertEquals("Kalem", products[0].getName());
+        assertTrue(Files.readString(dataDir.resolve("inventory.json.meta")).startsWith("stock-snapshot v1 gen=1 "));
+    }
+
+    @Test
+    void damagedNewestGenerationFallsBackToPrevious() throws IOException {
+        JsonService json = new JsonService(dataDir, false, 3);
+        json.saveData(List.of(product(1)));
+        json.saveData(List.of(product(2)));
+        damage(dataDir.resolve("inventory.json"));
+
+        List<Product> loaded = new JsonService(dataDir, false, 3).loadData();
+        assertEquals(1, loaded.get(0).getStockQuantity());
+    }
+
+    // JSON'un tüm kuşakları bozuk; ikili snapshot daha eskiyse sessizce ona dönülmemeli
+    @Test
+    void olderBinaryGenerationDoesNotReplaceDamagedJson() throws IOException {
+        new JsonService(dataDir, true, 1).saveData(List.of(product(1)));
+        new JsonService(dataDir, false, 1).saveData(List.of(product(2)));
+        damage(dataDir.resolve("inventory.json"));
+
+        DataPersistenceException e = assertThrows(DataPersistenceException.class,
+                () -> new JsonService(dataDir, false, 1).loadData());
+        assertTrue(e.getMessage().startsWith("No valid snapshot"), e.getMessage());
+    }
+
+    @Test
+    void newerBinaryGenerationReplacesDamagedJson() throws IOException {
+        new JsonService(dataDir, false, 1).saveData(List.of(product(1)));
+        new JsonService(dataDir, true, 1).saveData(List.of(product(2)));
+        damage(dataDir.resolve("inventory.json"));
+
+        assertEquals(2, new JsonService(dataDir, false, 1).loadData().get(0).getStockQuantity());
+    }
+
+    // Yeni dosya yerine taşınmış ama meta'sı henüz taşınmamışken kesilen yazım
+    @Test
+    void recoversFileSeparatedFromItsMeta() throws IOException {
+        JsonService json = new JsonService(dataDir, false, 3);
+        json.saveData(List.of(product(1)));
+        json.saveData(List.of(product(2)));
+        Path meta = dataDir.resolve("inventory.json.meta");
+        Files.move(meta, dataDir.resolve("inventory.json.tmp.meta"));
+
+        assertEquals(2, new JsonService(dataDir, false, 3).loadData().get(0).getStockQuantity());
+        assertTrue(Files.exists(meta));
+        assertFalse(Files.exists(dataDir.resolve("inventory.json.tmp.meta")));
+    }
+
+    @Test
+    void legacyFileWithoutMetaIsAccepted() throws IOException {
+        new ObjectMapper().writeValue(dataDir.resolve("inventory.json").toFile(), List.of(product(7)));
+
+        JsonService json = new JsonService(dataDir, false, 3);
+        assertEquals(7, json.loadData().get(0).getStockQuantity());
+        json.saveData(List.of(product(8)));
+        assertEquals(8, new JsonService(dataDir, false, 3).loadData().get(0).getStockQuantity());
+    }
+
+    private static Product product(int stock) {
+        return new Product("Kalem", "Kırtasiye", 2.5, stock);
+    }
+
+    private static void damage(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x20;
+        Files.write(file, bytes);
+    }
+}
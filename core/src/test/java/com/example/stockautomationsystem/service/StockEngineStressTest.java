@@ -0,0 +1,132 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.exception.InsufficientStockException;
+import com.example.stockautomationsystem.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Ayni ürün üzerinde çok sayıda thread'in aynı anda ayırma/onaylama/bırakma yaptığı durum.
+// Stok hiçbir anda negatife düşmemeli, eldekinden fazlası satılmamalı ve sayaçlar birbirini tutmalı.
+class StockEngineStressTest {
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 20_000;
+    private static final int INITIAL_STOCK = 50_000;
+
+    @Test
+    void concurrentReserveCommitReleaseNeverOversells() throws Exception {
+        InventoryRepository repository = new InventoryRepository();
+        Product product = new Product("Stres", "Test", 1.0, INITIAL_STOCK);
+        repository.add(product);
+        StockEngine engine = new StockEngine(repository);
+
+        AtomicLong committedUnits = new AtomicLong();
+        AtomicLong releasedUnits = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean invalidSeen = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Yazarlar çalışırken tutarsız bir ara durum görülmemeli
+        Thread observer = new Thread(() -> {
+            while (running.get()) {
+                int onHand = product.getStockQuantity();
+                int reserved = product.getReservedQuantity();
+                int available = product.getAvailableQuantity();
+                if (onHand < 0 || reserved < 0 || available < 0 || onHand > INITIAL_STOCK) invalidSeen.set(true);
+            }
+        }, "observer");
+        observer.start();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    int quantity = 1 + random.nextInt(5);
+                    StockEngine.Reservation reservation;
+                    try {
+                        reservation = engine.reserve(product, quantity);
+                    } catch (InsufficientStockException e) {
+                        continue;
+                    }
+                    if (random.nextInt(3) == 0) {
+                        assertTrue(reservation.release());
+                        releasedUnits.addAndGet(quantity);
+                    } else {
+                        reservation.commit();
+                        committedUnits.addAndGet(quantity);
+                    }
+                    assertFalse(reservation.release());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+        running.set(false);
+        observer.join();
+
+        assertFalse(invalidSeen.get(), "stock was observed in an invalid state");
+        assertEquals(0, product.getReservedQuantity());
+        assertEquals(INITIAL_STOCK - committedUnits.get(), product.getStockQuantity());
+        assertTrue(product.getStockQuantity() >= 0);
+        assertEquals(engine.getReservedCount(), engine.getCommittedCount() + engine.getReleasedCount());
+        assertEquals((long) THREADS * OPERATIONS, engine.getReservedCount() + engine.getRejectedCount());
+    }
+
+    @Test
+    void concurrentPurchasesSellExactlyTheStockOnHand() throws Exception {
+        InventoryRepository repository = new InventoryRepository();
+        int stock = 10_000;
+        Product product = new Product("Son Ürün", "Test", 1.0, stock);
+        repository.add(product);
+        StockEngine engine = new StockEngine(repository);
+
+        AtomicLong sold = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                // Her thread tek başına tüm stoğu tüketmeye yetecek kadar dener
+                for (int i = 0; i < stock; i++) {
+                    int quantity = 1 + random.nextInt(3);
+                    try {
+                        engine.purchase(product, quantity);
+                        sold.addAndGet(quantity);
+                    } catch (InsufficientStockException ignored) {
+                        if (product.getAvailableQuantity() == 0) break;
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(stock, sold.get());
+        assertEquals(0, product.getStockQuantity());
+        assertEquals(0, product.getReservedQuantity());
+        assertEquals(engine.getReservedCount(), engine.getCommittedCount());
+        assertEquals(0, engine.getReleasedCount());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.stockautomationsystem.service;
+
+import com.example.stockautomationsystem.metrics.MetricsRegistry;
+import com.example.stockautomationsystem.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Uyarı hem eşiğin altına düşüldüğünde hem de kalktığında dinleyicilere bildirilmeli
+class ThresholdWatcherTest {
+    @Test
+    void listenersHearWhenAlertClears() throws Exception {
+        try (EventBus bus = new EventBus(64)) {
+            ThresholdWatcher watcher = new ThresholdWatcher(bus, new ThresholdWatcher.Rules());
+            BlockingQueue<ThresholdWatcher.Alert> alerts = new LinkedBlockingQueue<>();
+            watcher.addListener(alerts::add);
+            Product p = new Product("Kalem", "Kırtasiye", 2.5, 10);
+
+            p.setStockQuantity(2);
+            bus.publish(new InventoryEvent.StockChanged(p, 2));
+            ThresholdWatcher.Alert raised = alerts.poll(5, TimeUnit.SECONDS);
+            assertNotNull(raised);
+            assertFalse(raised.cleared());
+            assertEquals(1, watcher.getActiveAlerts().size());
+
+            p.setStockQuantity(20);
+            bus.publish(new InventoryEvent.StockChanged(p, 20));
+            ThresholdWatcher.Alert cleared = alerts.poll(5, TimeUnit.SECONDS);
+            assertNotNull(cleared);
+            assertTrue(cleared.cleared());
+            assertTrue(watcher.getActiveAlerts().isEmpty());
+        }
+    }
+
+    // Hatalı dinleyici olay yolunu durdurmamalı; hata sayaçta görünmeli
+    @Test
+    void failingListenerIsCountedAndOthersStillRun() throws Exception {
+        try (EventBus bus = new EventBus(64)) {
+            long before = MetricsRegistry.global().counter("events.listenerErrors").get();
+            BlockingQueue<Object> seen = new LinkedBlockingQueue<>();
+            bus.subscribe(String.class, e -> {
+                throw new IllegalStateException("boom");
+            });
+            bus.subscribe(String.class, seen::add);
+
+            bus.publish("olay");
+            assertEquals("olay", seen.poll(5, TimeUnit.SECONDS));
+            assertEquals(before + 1, MetricsRegistry.global().counter("events.listenerErrors").get());
+        }
+    }
+}
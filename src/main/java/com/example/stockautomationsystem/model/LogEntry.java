@@ -1,54 +0,0 @@
-package com.example.stockautomationsystem.model;
-
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
-public class LogEntry {
-    private String timestamp;
-    private String user;
-    private String action;
-    private String details;
-
-    public LogEntry(String user, String action, String details) {
-
-        this.timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        this.user = user;
-        this.action = action;
-        this.details = details;
-    }
-
-    public LogEntry() {
-    }
-
-    public String getTimestamp() {
-        return timestamp;
-    }
-
-    public String getUser() {
-        return user;
-    }
-
-    public String getAction() {
-        return action;
-    }
-
-    public String getDetails() {
-        return details;
-    }
-
-    public void setTimestamp(String timestamp) {
-        this.timestamp = timestamp;
-    }
-
-    public void setUser(String user) {
-        this.user = user;
-    }
-
-    public void setAction(String action) {
-        this.action = action;
-    }
-
-    public void setDetails(String details) {
-        this.details = details;
-    }
-}
\ No newline at end of file